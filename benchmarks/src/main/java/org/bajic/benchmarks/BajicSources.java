@@ -0,0 +1,64 @@
+package org.bajic.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Deterministic Bajic sources of a requested size for the benchmarks.
+ * <p>
+ * The synthetic corpus is a uniform mix of every token kind the lexer knows, the realistic one
+ * follows the shape of our report scripts: comments, declarations, assignments with calls, string
+ * and date literals.
+ */
+public final class BajicSources {
+
+    private static final String[] SYNTHETIC_TOKENS = {
+        "a", "total@", "Customer!Amount$", "Count£", "Rateμ", "Pi#", "Locale%",
+        "0", "42", "3.14", "\"text\"", "\"with \"\"quotes\"\"\"", "#10/30/1990#", "#01/02/2003 04:05:06#",
+        "=", "<>", "<", ">", "<=", ">=", "&", "+", "-", "*", "/", "^",
+        "And", "Or", "OrElse", "AndAlso", "In", "BitOr", "BitAnd", "Not",
+        "Dim", "As", "New", "Class", ":=", "=>", ":", ",", ".",
+        "(", ")", "[", "]", "²[", "`[", "{", "}",
+    };
+
+    private BajicSources() {}
+
+    public static int parseSize(String size) {
+        String digits = size.replaceAll("[^0-9]", "");
+        int scale = size.endsWith("MB") ? 1 << 20 : size.endsWith("KB") ? 1 << 10 : 1;
+        return Integer.parseInt(digits) * scale;
+    }
+
+    public static String generate(String corpus, int size) {
+        return switch (corpus) {
+            case "synthetic" -> synthetic(size);
+            case "realistic" -> realistic(size);
+            default -> throw new IllegalArgumentException("unknown corpus " + corpus);
+        };
+    }
+
+    public static String synthetic(int size) {
+        var random = new Random(42);
+        var sb = new StringBuilder(size + 64);
+        while (sb.length() < size) {
+            sb.append(SYNTHETIC_TOKENS[random.nextInt(SYNTHETIC_TOKENS.length)]);
+            sb.append(random.nextInt(8) == 0 ? '\n' : ' ');
+        }
+        return sb.toString();
+    }
+
+    public static String realistic(int size) {
+        var random = new Random(42);
+        var sb = new StringBuilder(size + 256);
+        for (int i = 0; sb.length() < size; i++) {
+            int row = random.nextInt(10_000);
+            sb.append("' totals for row ").append(row).append('\n');
+            sb.append("Dim total").append(i % 16).append("@ As Number\n");
+            sb.append("total").append(i % 16).append("@ := If(Customer!Amount$ > ").append(row)
+                .append(" AndAlso Not Blocked%, Customer!Amount$ * 1.25, 0)\n");
+            sb.append("label@ := \"Row \" & ").append(row).append(" & \" (\"\"net\"\")\"\n");
+            sb.append("due@ := #").append(String.format("%02d/%02d/%04d", 1 + row % 12, 1 + row % 28, 1990 + row % 40))
+                .append("# : items@[").append(i % 64).append("] := New Item(").append(row).append(", Rows{U > 3}.Count)\n");
+        }
+        return sb.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package org.bajic.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.bajic.BajicLanguage;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The AST tier against the bytecode one. {@code warmup} runs the same script in batches from a cold engine, without
+ * JMH warmup, so the per-iteration times trace how fast each tier reaches its peak; {@code residentScripts} keeps
+ * {@value #SCRIPTS} distinct scripts parsed and reports the heap they retain in the {@code retainedBytes} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Fork(value = 5, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class ExecutionTierBenchmark {
+
+    private static final int SCRIPTS = 1_000;
+
+    private static final String SCRIPT =
+        "Dim total@ As Integer : f := (a, b) => a * b + 1 : total@ := f(3, 4) : Len(\"abc\") + total@ * 2 - total@ / 4";
+
+    @Param({ "ast", "bytecode" })
+    public String tier;
+
+    private Context context;
+    private Source source;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Retained {
+        public long retainedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = Context.newBuilder(BajicLanguage.ID)
+            .option("engine.WarnInterpreterOnly", "false")
+            .option("bajic.ExecutionTier", tier)
+            .build();
+        source = Source.create(BajicLanguage.ID, SCRIPT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Measurement(iterations = 50, batchSize = 1_000)
+    public long warmup() {
+        return context.eval(source).asLong();
+    }
+
+    @Benchmark
+    @Measurement(iterations = 1)
+    public Object residentScripts(Retained retained) {
+        var scripts = new ArrayList<Value>(SCRIPTS);
+        long before = usedHeap();
+        for (int i = 0; i < SCRIPTS; i++) {
+            scripts.add(context.parse(Source.create(BajicLanguage.ID, SCRIPT + " + " + i)));
+        }
+        retained.retainedBytes += usedHeap() - before;
+        return scripts;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
\ No newline at end of file
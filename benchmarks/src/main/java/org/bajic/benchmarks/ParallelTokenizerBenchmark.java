@@ -0,0 +1,59 @@
+package org.bajic.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.bajic.compiler.parser.ParallelTokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lexing a multi-MB script on pools of increasing parallelism; {@code threads = 1} is the baseline
+ * the others should divide.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ParallelTokenizerBenchmark {
+
+    @Param({ "8MB", "64MB" })
+    public String size;
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    private String source;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        source = BajicSources.realistic(BajicSources.parseSize(size));
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public TokensBuffer tokenize() {
+        var buffer = new TokensBuffer(0, source.length() / 4);
+        new ParallelTokenizer(source, pool, ParallelTokenizer.DEFAULT_CHUNK_SIZE).tokenize(buffer);
+        return buffer;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package org.bajic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bajic.compiler.parser.NodesBuffer;
+import org.bajic.compiler.parser.Parser;
+import org.bajic.compiler.parser.Tokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing an already lexed script. The {@code nodes} counter gives nodes/s and the {@code bytes}
+ * counter the arena bytes written per second, so bytes/node is their ratio; gc.alloc.rate.norm
+ * shows what the parser allocates besides the arena.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ParserBenchmark {
+
+    @Param({ "64KB", "1MB", "16MB" })
+    public String size;
+
+    private Tokenizer tokenizer;
+    private TokensBuffer tokens;
+    private int nodeCount;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long nodes;
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tokenizer = new Tokenizer(BajicSources.realistic(BajicSources.parseSize(size)));
+        tokens = new TokensBuffer(0, 256);
+        tokenizer.tokenize(tokens);
+        var nodes = new NodesBuffer(tokens.length());
+        new Parser(tokenizer, tokens, nodes).parse();
+        nodeCount = nodes.length();
+    }
+
+    @Benchmark
+    public NodesBuffer parse(Counters counters) {
+        var nodes = new NodesBuffer(nodeCount);
+        new Parser(tokenizer, tokens, nodes).parse();
+        counters.nodes += nodes.length();
+        counters.bytes += (long)nodes.length() * NodesBuffer.BYTES_PER_NODE;
+        return nodes;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package org.bajic.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.bajic.compiler.ProjectCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building a library of realistic scripts chained by Family symbols, on pools of increasing parallelism;
+ * {@code threads = 1} is the baseline {@code fullBuild} should divide. {@code rebuild} edits one script per call
+ * and is expected to stay in the milliseconds whatever the size of the library.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ProjectCompilerBenchmark {
+
+    @Param({ "1000", "5000" })
+    public int files;
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    private Path root;
+    private ForkJoinPool pool;
+    private ProjectCompiler compiler;
+    private long edits;
+
+    private String script(int i, long edit) {
+        return "Shared" + i + "£ := Shared" + (i + 1) % files + "£ + " + edit + "\n" + BajicSources.realistic(4 << 10);
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("bajic-project");
+        for (int i = 0; i < files; i++) {
+            Path file = root.resolve("lib" + i % 32).resolve("script" + i + ProjectCompiler.EXTENSION);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, script(i, 0));
+        }
+        pool = new ForkJoinPool(threads);
+        compiler = new ProjectCompiler(root, pool);
+        compiler.build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public ProjectCompiler.Report fullBuild() {
+        return new ProjectCompiler(root, pool).build();
+    }
+
+    @Benchmark
+    public ProjectCompiler.Report rebuild() {
+        long edit = ++edits;
+        int i = (int)(edit % files);
+        Path file = root.resolve("lib" + i % 32).resolve("script" + i + ProjectCompiler.EXTENSION);
+        try {
+            Files.writeString(file, script(i, edit));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + edit));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compiler.rebuild();
+    }
+}
\ No newline at end of file
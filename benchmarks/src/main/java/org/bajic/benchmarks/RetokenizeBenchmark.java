@@ -0,0 +1,72 @@
+package org.bajic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bajic.compiler.parser.Tokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One keystroke in the middle of a 50k-line script, typed then deleted again, against a full re-scan
+ * of the same script.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class RetokenizeBenchmark {
+
+    private static final int LINES = 50_000;
+
+    private String source;
+    private String typed;
+    private int at;
+    private Tokenizer tokenizer;
+    private TokensBuffer tokens;
+
+    @Setup
+    public void setup() {
+        var sb = new StringBuilder();
+        String realistic = BajicSources.realistic(64 << 10);
+        for (int lines = 0; lines < LINES; ) {
+            for (int i = 0; i < realistic.length() && lines < LINES; i++) {
+                char c = realistic.charAt(i);
+                sb.append(c);
+                if (c == '\n') {
+                    lines++;
+                }
+            }
+        }
+        source = sb.toString();
+        at = source.indexOf('\n', source.length() / 2) + 1;
+        typed = source.substring(0, at) + "x" + source.substring(at);
+        tokenizer = new Tokenizer(source);
+        tokens = new TokensBuffer(0, 256);
+        tokenizer.tokenize(tokens);
+    }
+
+    @Benchmark
+    public Tokenizer typeAndDelete() {
+        tokenizer = tokenizer.retokenize(tokens, typed, at, at, 1);
+        tokenizer = tokenizer.retokenize(tokens, source, at, at + 1, 0);
+        return tokenizer;
+    }
+
+    @Benchmark
+    public TokensBuffer fullRescan() {
+        var buffer = new TokensBuffer(0, 256);
+        new Tokenizer(typed).tokenize(buffer);
+        return buffer;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.bajic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bajic.BajicLanguage;
+import org.graalvm.polyglot.Context;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to the first result of a trivial script in a fresh JVM: creating a context, loading the language and its
+ * tables, compiling and running the script, once per fork. The native launcher is measured with
+ * {@code target/bajic --timing -e '...'}, which reports the same span from the process start.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    private static final String SCRIPT =
+        "Dim total@ As Integer : f := (a, b) => a * b + 1 : total@ := f(3, 4) : Len(\"abc\") + total@";
+
+    @Benchmark
+    public Object firstResult() {
+        try (Context context = Context.create(BajicLanguage.ID)) {
+            return context.eval(BajicLanguage.ID, SCRIPT).asLong();
+        }
+    }
+}
\ No newline at end of file
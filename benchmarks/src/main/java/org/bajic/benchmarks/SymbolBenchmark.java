@@ -0,0 +1,106 @@
+package org.bajic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bajic.compiler.parser.BinaryOperator;
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.compiler.parser.TokenKind;
+import org.bajic.compiler.parser.Tokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-token decoding done after lexing: symbols, operators and date literals, each measured over a
+ * fixed batch so the reported time is per decoded token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolBenchmark {
+
+    private static final int BATCH = 1024;
+
+    private static final String[] SYMBOLS = {
+        "If", "Count", "total@", "label@", "Blocked%", "Customer!Amount$", "Rows!Count£", "Rateμ", "Pi#", "Utils!Round",
+    };
+
+    private static final String[] OPERATORS = {
+        "=", "<>", "<", ">", "<=", ">=", "&", "+", "-", "*", "/", "^",
+        "in", "Or", "OrElse", "AND", "AndAlso", "BitOr", "bitand",
+    };
+
+    private final String[] symbols = new String[BATCH];
+    private final String[] operators = new String[BATCH];
+    private Tokenizer dateTokenizer;
+    private TokensBuffer dateTokens;
+    private Tokenizer scriptTokenizer;
+    private TokensBuffer scriptTokens;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < BATCH; i++) {
+            symbols[i] = SYMBOLS[i % SYMBOLS.length];
+            operators[i] = OPERATORS[i % OPERATORS.length];
+        }
+
+        var dates = new StringBuilder();
+        for (int i = 0; i < BATCH; i++) {
+            dates.append(i % 2 == 0 ? "#10/30/1990# " : "#01/02/2003 04:05:06# ");
+        }
+        dateTokenizer = new Tokenizer(dates.toString());
+        dateTokens = new TokensBuffer(0, BATCH);
+        dateTokenizer.tokenize(dateTokens);
+
+        scriptTokenizer = new Tokenizer(BajicSources.realistic(64 << 10));
+        scriptTokens = new TokensBuffer(0, 256);
+        scriptTokenizer.tokenize(scriptTokens);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void symbolFromText(Blackhole bh) {
+        for (String text : symbols) {
+            bh.consume(Symbol.FromText(text));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void operatorFromText(Blackhole bh) {
+        for (String text : operators) {
+            bh.consume(BinaryOperator.OperatorFromText(text));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void asDate(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(dateTokenizer.asDate(dateTokens, i));
+        }
+    }
+
+    /** Lexing already done: resolve every symbol of a realistic 64 KB script, as the parser will. */
+    @Benchmark
+    public void symbolsOfScript(Blackhole bh) {
+        for (int i = 0; i < scriptTokens.length(); i++) {
+            if (scriptTokens.getKind(i) == TokenKind.Sym) {
+                bh.consume(scriptTokenizer.asSymbol(scriptTokens, i));
+            }
+        }
+    }
+}
\ No newline at end of file
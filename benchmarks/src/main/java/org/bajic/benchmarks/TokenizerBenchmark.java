@@ -0,0 +1,76 @@
+package org.bajic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bajic.compiler.parser.Tokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole-source lexing. The {@code bytes} counter is the source size lexed per second; the scanner is
+ * expected to stay above 150 MB/s on the realistic corpus once warmed up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class TokenizerBenchmark {
+
+    @Param({ "1KB", "64KB", "1MB", "100MB" })
+    public String size;
+
+    @Param({ "synthetic", "realistic" })
+    public String corpus;
+
+    private String source;
+    private int tokenCount;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        source = BajicSources.generate(corpus, BajicSources.parseSize(size));
+        var buffer = new TokensBuffer(0, 256);
+        new Tokenizer(source).tokenize(buffer);
+        tokenCount = buffer.length();
+    }
+
+    @Benchmark
+    public TokensBuffer tokenize(Bytes bytes) {
+        var buffer = new TokensBuffer(0, 256);
+        new Tokenizer(source).tokenize(buffer);
+        bytes.bytes += source.length();
+        return buffer;
+    }
+
+    @Benchmark
+    public TokensBuffer tokenizePresized(Bytes bytes) {
+        var buffer = new TokensBuffer(0, tokenCount);
+        new Tokenizer(source).tokenize(buffer);
+        bytes.bytes += source.length();
+        return buffer;
+    }
+}
\ No newline at end of file
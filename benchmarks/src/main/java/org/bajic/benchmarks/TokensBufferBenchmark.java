@@ -0,0 +1,46 @@
+package org.bajic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bajic.compiler.parser.TokenKind;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of a single {@link TokensBuffer#push}, growing from an empty buffer versus pushing into a
+ * buffer that already has room for every token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class TokensBufferBenchmark {
+
+    private static final int TOKENS = 1 << 20;
+    private static final TokenKind[] KINDS = TokenKind.values();
+
+    @Param({ "1", "1048576" })
+    public int initialCapacity;
+
+    @Benchmark
+    @OperationsPerInvocation(TOKENS)
+    public TokensBuffer push() {
+        var buffer = new TokensBuffer(0, initialCapacity);
+        for (int i = 0; i < TOKENS; i++) {
+            buffer.push(i * 4, i * 4 + 3, KINDS[i % KINDS.length]);
+        }
+        return buffer;
+    }
+}
\ No newline at end of file
@@ -1,14 +1,231 @@
 package org.bajic;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bajic.builtins.Builtin;
+import org.bajic.compiler.ExecutionTier;
+import org.bajic.compiler.NodeFactory;
+import org.bajic.compiler.ScriptCache;
+import org.bajic.compiler.SyntaxCache;
+import org.bajic.metrics.BajicMetrics;
+import org.bajic.nodes.BajicNode;
+import org.bajic.nodes.BajicRootNode;
+import org.bajic.nodes.ReadArgumentNode;
 import org.bajic.runtime.BajicContext;
+import org.bajic.runtime.BajicFunction;
+import org.bajic.runtime.PageScopeLayout;
+
+import org.graalvm.options.OptionCategory;
+import org.graalvm.options.OptionDescriptor;
+import org.graalvm.options.OptionDescriptors;
+import org.graalvm.options.OptionKey;
+import org.graalvm.options.OptionStability;
+import org.graalvm.options.OptionValues;
+import org.graalvm.options.OptionType;
 
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.instrumentation.ProvidedTags;
+import com.oracle.truffle.api.instrumentation.StandardTags;
+import com.oracle.truffle.api.source.Source;
 
+@TruffleLanguage.Registration(
+    id = BajicLanguage.ID,
+    name = "Bajic",
+    defaultMimeType = BajicLanguage.MIME_TYPE,
+    characterMimeTypes = BajicLanguage.MIME_TYPE,
+    contextPolicy = TruffleLanguage.ContextPolicy.SHARED
+)
+@ProvidedTags({
+    StandardTags.RootTag.class,
+    StandardTags.RootBodyTag.class,
+    StandardTags.StatementTag.class,
+    StandardTags.ExpressionTag.class,
+    StandardTags.CallTag.class
+})
 public class BajicLanguage extends TruffleLanguage<BajicContext> {
 
+    public static final String ID = "bajic";
+    public static final String MIME_TYPE = "application/x-bajic";
+
+    /** Number of compiled scripts kept by the {@link ScriptCache}, 0 to compile every evaluated script. */
+    public static final OptionKey<Integer> SCRIPT_CACHE_SIZE = new OptionKey<>(256, new OptionType<>("count", Integer::valueOf, size -> {
+        if (size < 0) {
+            throw new IllegalArgumentException("The script cache size must not be negative.");
+        }
+    }));
+
+    /** Whether the tokens and syntax tree of script files are kept in a {@link SyntaxCache} file next to them. */
+    public static final OptionKey<Boolean> SYNTAX_CACHE = new OptionKey<>(false);
+
+    /** Whether compilation and invocation times are recorded in {@link BajicMetrics}, and published over JMX. */
+    public static final OptionKey<Boolean> METRICS = new OptionKey<>(false);
+
+    /** How scripts are compiled: to trees of nodes, or to bytecode. */
+    public static final OptionKey<ExecutionTier> EXECUTION_TIER = new OptionKey<>(ExecutionTier.AST,
+        new OptionType<>("ast|bytecode", ExecutionTier::fromName));
+
+    private static final OptionDescriptors OPTIONS = OptionDescriptors.create(List.of(
+        OptionDescriptor.newBuilder(SCRIPT_CACHE_SIZE, ID + ".ScriptCacheSize")
+            .category(OptionCategory.USER)
+            .stability(OptionStability.STABLE)
+            .help("Number of compiled scripts to keep for scripts evaluated again, 0 to disable the cache.")
+            .usageSyntax("<count>")
+            .build(),
+        OptionDescriptor.newBuilder(SYNTAX_CACHE, ID + ".SyntaxCache")
+            .category(OptionCategory.USER)
+            .stability(OptionStability.STABLE)
+            .help("Save the parsed form of script files next to them, in a '" + SyntaxCache.EXTENSION + "' file, "
+                + "and load it instead of parsing when the script did not change. Requires file IO.")
+            .build(),
+        OptionDescriptor.newBuilder(METRICS, ID + ".Metrics")
+            .category(OptionCategory.EXPERT)
+            .stability(OptionStability.STABLE)
+            .help("Record compilation times per script and invocation counts and latencies per call target, "
+                + "and register them as an MBean named 'org.bajic:type=Metrics,name=<n>'.")
+            .build(),
+        OptionDescriptor.newBuilder(EXECUTION_TIER, ID + ".ExecutionTier")
+            .category(OptionCategory.EXPERT)
+            .stability(OptionStability.STABLE)
+            .help("Compile scripts to trees of nodes ('ast') or to bytecode ('bytecode'), which keeps less in memory "
+                + "per loaded script and builds less before it first runs.")
+            .usageSyntax("ast|bytecode")
+            .build()
+    ));
+
+    private final PageScopeLayout _pageScopeLayout = new PageScopeLayout();
+    private final ScriptCache _scriptCache = new ScriptCache(SCRIPT_CACHE_SIZE.getDefaultValue());
+    private final Map<Builtin, BajicFunction> _builtinFunctions = new ConcurrentHashMap<>();
+    private volatile BajicMetrics _metrics;
+    private volatile ExecutionTier _executionTier = EXECUTION_TIER.getDefaultValue();
+    /** Number of contexts using the language, guarded by the language. */
+    private int _contexts;
+
+    public PageScopeLayout getPageScopeLayout() {
+        return _pageScopeLayout;
+    }
+
+    public ScriptCache getScriptCache() {
+        return _scriptCache;
+    }
+
+    /** The metrics being recorded, or null without the {@link #METRICS} option. */
+    public BajicMetrics getMetrics() {
+        return _metrics;
+    }
+
+    /** How the language compiles scripts; the same for every context, as contexts differing on it do not share it. */
+    public ExecutionTier getExecutionTier() {
+        return _executionTier;
+    }
+
+    /**
+     * The function value of a builtin, for scripts that use it other than by calling it by name: a call target whose
+     * body is the node of a call with the arguments of the call target.
+     */
+    public BajicFunction getBuiltinFunction(Builtin builtin) {
+        return _builtinFunctions.computeIfAbsent(builtin, b -> {
+            BajicNode[] arguments = new BajicNode[b.getArity()];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = new ReadArgumentNode(i);
+            }
+            var root = new BajicRootNode(this, new FrameDescriptor(), b.createNode(arguments), b.getName(), null);
+            return new BajicFunction(root.getCallTarget(), b.getArity(), null);
+        });
+    }
+
+    @Override
+    protected OptionDescriptors getOptionDescriptors() {
+        return OPTIONS;
+    }
+
+    /**
+     * Contexts can share the language, and its compiled scripts, unless they ask for a script cache of another size or
+     * differ on metrics or on the execution tier, which are compiled in, or on the syntax cache, so that whether a
+     * script file gets a cache file does not depend on which context compiled it first.
+     */
+    @Override
+    protected boolean areOptionsCompatible(OptionValues firstOptions, OptionValues newOptions) {
+        return firstOptions.get(SCRIPT_CACHE_SIZE).equals(newOptions.get(SCRIPT_CACHE_SIZE))
+            && firstOptions.get(METRICS).equals(newOptions.get(METRICS))
+            && firstOptions.get(SYNTAX_CACHE).equals(newOptions.get(SYNTAX_CACHE))
+            && firstOptions.get(EXECUTION_TIER) == newOptions.get(EXECUTION_TIER);
+    }
+
+    @Override
+    protected boolean isThreadAccessAllowed(Thread thread, boolean singleThreaded) {
+        return true;
+    }
+
     @Override
     protected BajicContext createContext(Env env) {
-        return new BajicContext();
+        synchronized (this) {
+            _contexts++;
+        }
+        applyOptions(env);
+        return new BajicContext(this, env);
+    }
+
+    /**
+     * A context pre-initialized while a native image was built, with the builtins and symbol tables it loaded, is
+     * carried over to the process running the image and given that process' environment and options.
+     */
+    @Override
+    protected boolean patchContext(BajicContext context, Env newEnv) {
+        applyOptions(newEnv);
+        context.patchEnv(newEnv);
+        return true;
+    }
+
+    private void applyOptions(Env env) {
+        _scriptCache.setCapacity(env.getOptions().get(SCRIPT_CACHE_SIZE));
+        _executionTier = env.getOptions().get(EXECUTION_TIER);
+        if (env.getOptions().get(METRICS)) {
+            synchronized (this) {
+                if (_metrics == null) {
+                    _metrics = new BajicMetrics(_scriptCache);
+                }
+                _metrics.register();
+            }
+        }
+    }
+
+    /** The metrics stay registered while a context uses the language. */
+    @Override
+    protected synchronized void disposeContext(BajicContext context) {
+        if (--_contexts == 0 && _metrics != null) {
+            _metrics.unregister();
+        }
+    }
+
+    /**
+     * Compiles the source into a tree of specialized nodes; the value of a script is the one of its last statement.
+     * A script with the same text, name and path as one compiled before gets the call target of that one from the
+     * {@link ScriptCache}.
+     */
+    @Override
+    protected CallTarget parse(ParsingRequest request) {
+        return _scriptCache.get(request.getSource(), source -> new NodeFactory(this, source, scriptFile(source)).compile());
+    }
+
+    /**
+     * The file of {@code source} if its syntax is to be cached, null otherwise. It is resolved by the file system of
+     * the context, which the cache file is then read from and written to.
+     */
+    private static TruffleFile scriptFile(Source source) {
+        Env env = BajicContext.get(null).getEnv();
+        if (source.getPath() == null || !env.isFileIOAllowed() || !env.getOptions().get(SYNTAX_CACHE)) {
+            return null;
+        }
+        try {
+            return env.getPublicTruffleFile(source.getPath());
+        } catch (UnsupportedOperationException | IllegalArgumentException | SecurityException e) {
+            return null;
+        }
     }
 
 }
\ No newline at end of file
@@ -1,15 +1,137 @@
 package org.bajic;
 
-import org.bajic.compiler.parser.Tokenizer;
-import org.bajic.compiler.parser.TokensBuffer;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 
+import org.bajic.embedding.LoadGenerator;
+import org.bajic.embedding.ScriptExecutor;
+import org.bajic.runtime.BajicContext;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+
+/**
+ * Command line entry point: runs a script once and prints its value, or with {@code --load} runs it many times
+ * through a {@link ScriptExecutor} and prints the throughput and latencies.
+ * <p>
+ * A single run evaluates the script in one context of its own, without an explicit {@link Engine}: in a native image
+ * that context is the one pre-initialized when the image was built, so the language, its symbol and operator tables
+ * and its builtins are ready when the process starts. {@code --timing} reports how long the process took to print the
+ * value, from its start.
+ */
 public class Main {
-    public static void main(String[] args) {
-        var tokenizer = new Tokenizer("#10/30/1990#");
-        var tokens = new TokensBuffer(0, 256);
-        tokenizer.tokenize(tokens);
-        for (int i = 0; i < tokens.length(); i++) {
-            System.out.println("start: " + tokens.getStart(i) + ", end: " + tokens.getEnd(i) + ", kind: " + tokens.getKind(i));
+
+    private static final String USAGE = """
+        Usage: bajic [options] <script>
+               bajic [options] -e <text>
+          -e, --eval <text>        runs the script text instead of a script file
+          --param <name>=<value>   binds the context variable name% (repeatable)
+          --timing                 prints the time from the process start to the first result on stderr
+          --load                   runs the script repeatedly and reports latencies
+          --invocations <n>        invocations in load mode (default 100000)
+          --concurrency <n>        invocations in flight in load mode (default 1000)
+          --pool <n>               pooled contexts (default: available processors)
+          --queue <n>              invocations waiting for a context before rejecting (default 10000)
+          --time-limit <ms>        time limit of an invocation (default 5000)""";
+
+    /** When the launcher started, for systems that do not tell when the process did. */
+    private static final Instant LAUNCHED = Instant.now();
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, Object> parameters = new HashMap<>();
+        boolean load = false;
+        boolean timing = false;
+        int invocations = 100_000;
+        int concurrency = 1_000;
+        int pool = Runtime.getRuntime().availableProcessors();
+        int queue = 10_000;
+        long timeLimit = 5_000;
+        String script = null;
+        String text = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-e", "--eval" -> text = args[++i];
+                    case "--param" -> {
+                        String binding = args[++i];
+                        int equals = binding.indexOf('=');
+                        parameters.put(binding.substring(0, equals), parseValue(binding.substring(equals + 1)));
+                    }
+                    case "--timing" -> timing = true;
+                    case "--load" -> load = true;
+                    case "--invocations" -> invocations = Integer.parseInt(args[++i]);
+                    case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                    case "--pool" -> pool = Integer.parseInt(args[++i]);
+                    case "--queue" -> queue = Integer.parseInt(args[++i]);
+                    case "--time-limit" -> timeLimit = Long.parseLong(args[++i]);
+                    default -> script = args[i];
+                }
+            }
+        } catch (RuntimeException e) {
+            script = null;
+            text = null;
+        }
+        if ((script == null) == (text == null)) {
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Source source = text != null
+            ? Source.create(BajicLanguage.ID, text)
+            : Source.newBuilder(BajicLanguage.ID, new File(script)).build();
+        if (load) {
+            try (Engine engine = Engine.newBuilder(BajicLanguage.ID).build();
+                 var executor = new ScriptExecutor(engine, pool, queue, Duration.ofMillis(timeLimit))) {
+                System.out.println(LoadGenerator.run(executor, source.getCharacters().toString(), i -> parameters,
+                    invocations, concurrency));
+            }
+            return;
+        }
+        try (Context context = Context.newBuilder(BajicLanguage.ID)
+                .allowPolyglotAccess(PolyglotAccess.newBuilder().allowBindingsAccess(BajicLanguage.ID).build())
+                .build()) {
+            Value bindings = context.getPolyglotBindings();
+            parameters.forEach((name, value) -> bindings.putMember(BajicContext.bindingKey(name), value));
+            System.out.println(ScriptExecutor.toHost(context.eval(source)));
+            if (timing) {
+                System.err.println(elapsedSinceStart().toMillis() + " ms to the first result");
+            }
+        } catch (PolyglotException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /** Time since the process started, or since the launcher did if the operating system does not tell. */
+    private static Duration elapsedSinceStart() {
+        Instant now = Instant.now();
+        Instant start = ProcessHandle.current().info().startInstant().orElse(LAUNCHED);
+        return Duration.between(start, now);
+    }
+
+    /** Reads a parameter given on the command line as an integer, a number, a boolean or else a string. */
+    private static Object parseValue(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            // Not an integer.
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            // Not a number either.
+        }
+        if (text.equalsIgnoreCase("True") || text.equalsIgnoreCase("False")) {
+            return Boolean.parseBoolean(text);
         }
+        return text;
     }
 }
\ No newline at end of file
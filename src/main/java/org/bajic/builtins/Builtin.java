@@ -0,0 +1,40 @@
+package org.bajic.builtins;
+
+import java.util.function.Function;
+
+import org.bajic.nodes.BajicNode;
+
+/**
+ * A function scripts call by name without defining it. A call to it is compiled to the node it creates from the nodes
+ * of the arguments, so it involves no lookup nor dispatch at run time.
+ */
+public final class Builtin {
+
+    private final String _name;
+    private final int _arity;
+    private final Function<BajicNode[], BajicNode> _factory;
+
+    Builtin(String name, int arity, Function<BajicNode[], BajicNode> factory) {
+        _name = name;
+        _arity = arity;
+        _factory = factory;
+    }
+
+    public String getName() {
+        return _name;
+    }
+
+    public int getArity() {
+        return _arity;
+    }
+
+    /** The node of a call with {@code arguments}, of which there are as many as the arity. */
+    public BajicNode createNode(BajicNode[] arguments) {
+        return _factory.apply(arguments);
+    }
+
+    @Override
+    public String toString() {
+        return _name;
+    }
+}
\ No newline at end of file
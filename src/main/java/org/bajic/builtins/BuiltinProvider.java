@@ -0,0 +1,10 @@
+package org.bajic.builtins;
+
+/**
+ * Adds builtins to the ones of the language. Implementations are found with {@link java.util.ServiceLoader}, from
+ * {@code META-INF/services/org.bajic.builtins.BuiltinProvider} files, when the first script is compiled.
+ */
+public interface BuiltinProvider {
+
+    void registerBuiltins(BuiltinRegistry.Builder builtins);
+}
\ No newline at end of file
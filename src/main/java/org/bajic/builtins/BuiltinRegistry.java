@@ -0,0 +1,83 @@
+package org.bajic.builtins;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.nodes.BajicNode;
+import org.bajic.nodes.builtins.HostBuiltinNode;
+
+/**
+ * The builtins, by the {@link Symbol} of their name: the {@link StandardBuiltins} then the ones of every
+ * {@link BuiltinProvider} on the class path. Names are resolved to builtins when a script is compiled; the registry
+ * does not change afterwards, so it is shared by all languages and threads.
+ */
+public final class BuiltinRegistry {
+
+    private final Map<Symbol, Builtin> _builtins;
+
+    private BuiltinRegistry(Map<Symbol, Builtin> builtins) {
+        _builtins = builtins;
+    }
+
+    private static final class DefaultHolder {
+        static final BuiltinRegistry DEFAULT = load();
+
+        private static BuiltinRegistry load() {
+            var builder = new Builder();
+            new StandardBuiltins().registerBuiltins(builder);
+            for (BuiltinProvider provider : ServiceLoader.load(BuiltinProvider.class, BuiltinRegistry.class.getClassLoader())) {
+                provider.registerBuiltins(builder);
+            }
+            return builder.build();
+        }
+    }
+
+    public static BuiltinRegistry getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /** The builtin named by {@code symbol}, or null; only names without sigil nor path are builtins. */
+    public Builtin lookup(Symbol symbol) {
+        return symbol.IsGlobalBuiltIn() ? _builtins.get(symbol) : null;
+    }
+
+    public Collection<Builtin> getBuiltins() {
+        return Collections.unmodifiableCollection(_builtins.values());
+    }
+
+    public static final class Builder {
+
+        private final Map<Symbol, Builtin> _builtins = new HashMap<>();
+
+        Builder() {}
+
+        /**
+         * Defines a builtin compiled to the node {@code factory} creates from the nodes of the arguments, for builtins
+         * that specialize on the values they are called with.
+         */
+        public Builder defineIntrinsic(String name, int arity, Function<BajicNode[], BajicNode> factory) {
+            Symbol symbol = Symbol.FromText(name);
+            if (!symbol.IsGlobalBuiltIn()) {
+                throw new IllegalArgumentException(name + " is not a valid builtin name");
+            } else if (_builtins.containsKey(symbol)) {
+                throw new IllegalArgumentException("Builtin " + name + " is already defined");
+            }
+            _builtins.put(symbol, new Builtin(name, arity, factory));
+            return this;
+        }
+
+        /** Defines a builtin that calls {@code function}, for host code that needs nothing more. */
+        public Builder define(String name, int arity, HostFunction function) {
+            return defineIntrinsic(name, arity, arguments -> new HostBuiltinNode(name, function, arguments));
+        }
+
+        BuiltinRegistry build() {
+            return new BuiltinRegistry(Map.copyOf(_builtins));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package org.bajic.builtins;
+
+/**
+ * Java code a {@link BuiltinProvider} makes callable from scripts. The arguments are the values scripts compute with:
+ * {@code Long}, {@code Double}, {@code Boolean}, {@code String} and the runtime objects. Smaller boxed numbers and
+ * characters returned to the script are widened to those, null is Nothing and any other object is a host object; an
+ * exception thrown is reported as an error of the script.
+ */
+@FunctionalInterface
+public interface HostFunction {
+
+    Object call(Object[] arguments);
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package org.bajic.builtins;
+
+import org.bajic.nodes.builtins.AbsNodeGen;
+import org.bajic.nodes.builtins.DayNodeGen;
+import org.bajic.nodes.builtins.FloorNodeGen;
+import org.bajic.nodes.builtins.LCaseNodeGen;
+import org.bajic.nodes.builtins.LeftNodeGen;
+import org.bajic.nodes.builtins.LenNodeGen;
+import org.bajic.nodes.builtins.MaxNodeGen;
+import org.bajic.nodes.builtins.MinNodeGen;
+import org.bajic.nodes.builtins.MonthNodeGen;
+import org.bajic.nodes.builtins.RightNodeGen;
+import org.bajic.nodes.builtins.RoundNodeGen;
+import org.bajic.nodes.builtins.SqrtNodeGen;
+import org.bajic.nodes.builtins.SumNodeGen;
+import org.bajic.nodes.builtins.TrimNodeGen;
+import org.bajic.nodes.builtins.UCaseNodeGen;
+import org.bajic.nodes.builtins.YearNodeGen;
+
+/**
+ * The builtins of the language, each compiled to a node that specializes on its arguments like an operator does.
+ */
+final class StandardBuiltins implements BuiltinProvider {
+
+    @Override
+    public void registerBuiltins(BuiltinRegistry.Builder builtins) {
+        builtins
+            .defineIntrinsic("Abs", 1, arguments -> AbsNodeGen.create(arguments[0]))
+            .defineIntrinsic("Sqrt", 1, arguments -> SqrtNodeGen.create(arguments[0]))
+            .defineIntrinsic("Round", 1, arguments -> RoundNodeGen.create(arguments[0]))
+            .defineIntrinsic("Floor", 1, arguments -> FloorNodeGen.create(arguments[0]))
+            .defineIntrinsic("Min", 2, arguments -> MinNodeGen.create(arguments[0], arguments[1]))
+            .defineIntrinsic("Max", 2, arguments -> MaxNodeGen.create(arguments[0], arguments[1]))
+            .defineIntrinsic("Len", 1, arguments -> LenNodeGen.create(arguments[0]))
+            .defineIntrinsic("UCase", 1, arguments -> UCaseNodeGen.create(arguments[0]))
+            .defineIntrinsic("LCase", 1, arguments -> LCaseNodeGen.create(arguments[0]))
+            .defineIntrinsic("Trim", 1, arguments -> TrimNodeGen.create(arguments[0]))
+            .defineIntrinsic("Left", 2, arguments -> LeftNodeGen.create(arguments[0], arguments[1]))
+            .defineIntrinsic("Right", 2, arguments -> RightNodeGen.create(arguments[0], arguments[1]))
+            .defineIntrinsic("Year", 1, arguments -> YearNodeGen.create(arguments[0]))
+            .defineIntrinsic("Month", 1, arguments -> MonthNodeGen.create(arguments[0]))
+            .defineIntrinsic("Day", 1, arguments -> DayNodeGen.create(arguments[0]))
+            .defineIntrinsic("Sum", 1, arguments -> SumNodeGen.create(arguments[0]));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,419 @@
+package org.bajic.compiler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.bajic.builtins.Builtin;
+import org.bajic.compiler.parser.BinaryOperator;
+import org.bajic.compiler.parser.NodeKind;
+import org.bajic.compiler.parser.NodesBuffer;
+import org.bajic.compiler.parser.SymKind;
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.compiler.parser.Tokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.bajic.nodes.ArrayLiteralNode;
+import org.bajic.nodes.BajicNode;
+import org.bajic.nodes.LiteralNode;
+import org.bajic.nodes.NegateNodeGen;
+import org.bajic.nodes.NewNode;
+import org.bajic.nodes.NotNodeGen;
+import org.bajic.nodes.ReadMemberNode;
+import org.bajic.nodes.WriteIndexNodeGen;
+import org.bajic.nodes.WriteMemberNode;
+import org.bajic.nodes.binary.IndexNodeGen;
+import org.bajic.nodes.bytecode.BytecodeNode;
+import org.bajic.nodes.bytecode.Opcodes;
+import org.bajic.nodes.bytecode.StackSlotNode;
+import org.bajic.runtime.BajicContext;
+import org.bajic.runtime.BajicNull;
+
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Compiles the body of a script or lambda to a {@link BytecodeNode}, for the {@link ExecutionTier#BYTECODE} tier.
+ * Variables resolve the way the {@link NodeFactory} resolves them, to the same frame slots, so lambdas capture the
+ * same frames; constant expressions are folded by building their nodes. What has no instruction of its own is a node
+ * site: the node the {@link NodeFactory} would build, with the operands it reads from the stack as children.
+ */
+final class BytecodeCompiler {
+
+    /** Operands are unsigned 16-bit values. */
+    private static final int MAX_OPERAND = 0xFFFF;
+
+    /** Thrown when a script needs an operand larger than {@link #MAX_OPERAND}; it is then compiled to nodes. */
+    static final class LimitExceededException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        LimitExceededException() {
+            super("Operand too large for a bytecode instruction", null, false, false);
+        }
+    }
+
+    /**
+     * What a node site runs: the node {@code factory} creates from the {@code count} operands from stack depth
+     * {@code depth}, or for {@code BINARY} instructions, which create their node when needed, no factory.
+     */
+    private record NodeSite(int depth, int count, Function<BajicNode[], BajicNode> factory, SourceSection section) {}
+
+    private final NodeFactory _factory;
+    private final Scope _scope;
+    private final Tokenizer _tokenizer;
+    private final TokensBuffer _tokens;
+    private final NodesBuffer _nodes;
+    private byte[] _code = new byte[64];
+    private int _length = 0;
+    private final List<Object> _constants = new ArrayList<>();
+    private final Map<Object, Integer> _constantIndexes = new HashMap<>();
+    private final List<NodeSite> _sites = new ArrayList<>();
+    private int _callSites = 0;
+    private int _depth = 0;
+    private int _maxDepth = 0;
+
+    BytecodeCompiler(NodeFactory factory, Scope scope) {
+        _factory = factory;
+        _scope = scope;
+        _tokenizer = factory.getTokenizer();
+        _tokens = factory.getTokens();
+        _nodes = factory.getSyntax();
+    }
+
+    /**
+     * Compiles {@code node}, the body of a script or of a lambda of {@code arity} parameters, which are first copied
+     * to their slots. The operand stack is added to the frame of the scope.
+     */
+    BytecodeNode compileBody(int node, int arity) {
+        for (int i = 0; i < arity; i++) {
+            emit(Opcodes.LOAD_ARG, i);
+            emit(Opcodes.STORE_LOCAL, i);
+            emit(Opcodes.POP);
+        }
+        if (arity > 0) {
+            _maxDepth = 1;
+        }
+        compile(node);
+        emit(Opcodes.RETURN);
+
+        int stackBase = _scope.addStackSlots(_maxDepth);
+        BajicNode[] nodes = new BajicNode[_sites.size()];
+        int[] spans = new int[2 * nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            NodeSite site = _sites.get(i);
+            if (site.section() != null) {
+                spans[2 * i] = site.section().getCharIndex();
+                spans[2 * i + 1] = site.section().getCharLength();
+            }
+            if (site.factory() != null) {
+                BajicNode[] operands = new BajicNode[site.count()];
+                for (int j = 0; j < operands.length; j++) {
+                    operands[j] = new StackSlotNode(stackBase + site.depth() + j);
+                }
+                nodes[i] = site.factory().apply(operands);
+                if (site.section() != null) {
+                    nodes[i].setSourceSection(spans[2 * i], spans[2 * i + 1]);
+                }
+            }
+        }
+        return new BytecodeNode(Arrays.copyOf(_code, _length), _constants.toArray(), nodes, spans, _callSites, stackBase);
+    }
+
+    /** Compiles {@code node} to instructions that push its value. */
+    private void compile(int node) {
+        int token = _nodes.getToken(node);
+        int first = _nodes.getFirstChild(node);
+        switch (_nodes.getKind(node)) {
+            case Block -> compileBlock(node);
+            case Num, Str, Date -> {
+                ConstantPool constants = _factory.getConstants();
+                pushConstant(constants.get(constants.indexOf(token)));
+            }
+            case Sym -> compileRead(token);
+            case Binary -> {
+                if (!compileConstant(node)) {
+                    compileBinary(node, token, first);
+                }
+            }
+            case Not -> {
+                if (!compileConstant(node)) {
+                    compile(first);
+                    nodeSite(node, 1, operands -> NotNodeGen.create(operands[0]));
+                }
+            }
+            case Negate -> {
+                if (!compileConstant(node)) {
+                    compile(first);
+                    nodeSite(node, 1, operands -> NegateNodeGen.create(operands[0]));
+                }
+            }
+            case Call -> compileCall(node, first);
+            case Lambda -> compileLambda(node);
+            case Assign -> compileAssign(node, first, _nodes.getNextSibling(first));
+            case Dim -> {
+                Symbol symbol = _tokenizer.asSymbol(_tokens, token);
+                _factory.checkAssignable(_scope, token, symbol);
+                pushNode(node, _factory.defaultValue(node));
+                compileWrite(symbol);
+            }
+            case Class -> {
+                pushConstant(_factory.classOf(node));
+                compileWrite(_tokenizer.asSymbol(_tokens, token));
+            }
+            case Member -> {
+                Symbol member = _tokenizer.asSymbol(_tokens, token);
+                String name = _tokenizer.asRawString(_tokens, token);
+                compile(first);
+                nodeSite(node, 1, operands -> new ReadMemberNode(operands[0], member, name));
+            }
+            case Index -> {
+                compile(first);
+                compile(_factory.singleIndex(node));
+                nodeSite(node, 2, operands -> IndexNodeGen.create(operands[0], operands[1]));
+            }
+            case New -> {
+                compileRead(token);
+                int count = compileChildren(node, 0);
+                nodeSite(node, 1 + count, operands -> new NewNode(operands[0], Arrays.copyOfRange(operands, 1, operands.length)));
+            }
+            case Array, Collection -> {
+                boolean collection = _nodes.getKind(node) == NodeKind.Collection;
+                int count = compileChildren(node, 0);
+                nodeSite(node, count, operands -> new ArrayLiteralNode(operands, collection));
+            }
+            default -> throw _factory.error(token, _nodes.getKind(node) + " expressions are not supported yet");
+        }
+    }
+
+    /** Compiles the children of {@code node} from the {@code firstChild}th one, and returns how many there are. */
+    private int compileChildren(int node, int firstChild) {
+        int count = _nodes.getChildCount(node) - firstChild;
+        int child = _nodes.getChild(node, firstChild);
+        for (int i = 0; i < count; i++, child = _nodes.getNextSibling(child)) {
+            compile(child);
+        }
+        return count;
+    }
+
+    private void compileBlock(int node) {
+        int count = _nodes.getChildCount(node);
+        if (count == 0) {
+            pushConstant(BajicNull.INSTANCE);
+            return;
+        }
+        int child = _nodes.getFirstChild(node);
+        for (int i = 0; i < count; i++, child = _nodes.getNextSibling(child)) {
+            if (i > 0) {
+                emit(Opcodes.POP);
+                _depth--;
+            }
+            compile(child);
+        }
+    }
+
+    /**
+     * Pushes the value of an operator on constants, folded the way the {@link NodeFactory} folds it. Returns false,
+     * having emitted nothing, when the operands are not all constants or the operation fails.
+     */
+    private boolean compileConstant(int node) {
+        if (!isConstant(node)) {
+            return false;
+        }
+        BajicNode built = _factory.build(node);
+        if (!(built instanceof LiteralNode literal)) {
+            return false;
+        }
+        pushConstant(literal.getValue());
+        return true;
+    }
+
+    private boolean isConstant(int node) {
+        switch (_nodes.getKind(node)) {
+            case Num, Str, Date:
+                return true;
+            case Sym: {
+                Symbol symbol = _tokenizer.asSymbol(_tokens, _nodes.getToken(node));
+                return _scope.resolve(symbol) == null && _factory.constantOf(symbol) != null;
+            }
+            case Binary, Not, Negate:
+                for (int child = _nodes.getFirstChild(node); child != NodesBuffer.NONE; child = _nodes.getNextSibling(child)) {
+                    if (!isConstant(child)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void compileBinary(int node, int token, int left) {
+        BinaryOperator operator = _factory.binaryOperator(token);
+        compile(left);
+        if (operator == BinaryOperator.AndAlso || operator == BinaryOperator.OrElse) {
+            int jump = emit(operator == BinaryOperator.AndAlso ? Opcodes.AND_ALSO : Opcodes.OR_ELSE, 0);
+            _depth--;
+            compile(_nodes.getNextSibling(left));
+            emit(Opcodes.CHECK_BOOLEAN, operator.ordinal());
+            patchJump(jump);
+            return;
+        }
+        compile(_nodes.getNextSibling(left));
+        _sites.add(new NodeSite(_depth - 2, 2, null, _factory.sectionOf(node)));
+        emit(Opcodes.BINARY, operator.ordinal(), _sites.size() - 1);
+        _depth--;
+    }
+
+    /** Calls of builtins by name run the node of the builtin; the others call the function value of the callee. */
+    private void compileCall(int node, int callee) {
+        Builtin builtin = _factory.calledBuiltin(_scope, node, callee);
+        if (builtin != null) {
+            nodeSite(node, compileChildren(node, 1), builtin::createNode);
+            return;
+        }
+        compile(callee);
+        int count = compileChildren(node, 1);
+        emit(Opcodes.CALL, _callSites++, count);
+        _depth -= count;
+    }
+
+    private void compileLambda(int node) {
+        int arity = _nodes.getChildCount(node) - 1;
+        Scope scope = _factory.lambdaScope(_scope, node);
+        BytecodeNode body = new BytecodeCompiler(_factory, scope).compileBody(_nodes.getChild(node, arity), arity);
+        pushNode(node, _factory.lambdaValue(node, scope, body, scope.buildFrameDescriptor()));
+    }
+
+    private void compileRead(int token) {
+        Symbol symbol = _tokenizer.asSymbol(_tokens, token);
+        int name = constant(_tokenizer.asRawString(_tokens, token));
+        Scope.Slot slot = _scope.resolve(symbol);
+        if (slot != null) {
+            if (slot.depth() == 0) {
+                emit(Opcodes.LOAD_LOCAL, slot.slot(), name);
+            } else {
+                emit(Opcodes.LOAD_OUTER, slot.depth(), slot.slot(), name);
+            }
+        } else if (symbol.Kind() == SymKind.PageScope) {
+            emit(Opcodes.LOAD_PAGE, _factory.getLanguage().getPageScopeLayout().indexOf(symbol), name);
+        } else if (symbol.Kind() == SymKind.Context) {
+            emit(Opcodes.LOAD_CONTEXT, constant(BajicContext.bindingKey(symbol)), name);
+        } else {
+            LiteralNode constant = _factory.constantOf(symbol);
+            if (constant != null) {
+                pushConstant(constant.getValue());
+                return;
+            }
+            emit(Opcodes.LOAD_VAR, constant(symbol), name);
+        }
+        grow();
+    }
+
+    /** Stores the value on top of the stack to {@code symbol}, leaving it there as the value of the assignment. */
+    private void compileWrite(Symbol symbol) {
+        Scope.Slot slot = _scope.resolve(symbol);
+        if (slot != null) {
+            if (slot.depth() == 0) {
+                emit(Opcodes.STORE_LOCAL, slot.slot());
+            } else {
+                emit(Opcodes.STORE_OUTER, slot.depth(), slot.slot());
+            }
+        } else if (symbol.Kind() == SymKind.PageScope) {
+            emit(Opcodes.STORE_PAGE, _factory.getLanguage().getPageScopeLayout().indexOf(symbol));
+        } else if (symbol.Kind() == SymKind.Context) {
+            emit(Opcodes.STORE_CONTEXT, constant(BajicContext.bindingKey(symbol)));
+        } else {
+            emit(Opcodes.STORE_VAR, constant(symbol));
+        }
+    }
+
+    private void compileAssign(int node, int target, int value) {
+        int token = _nodes.getToken(target);
+        int first = _nodes.getFirstChild(target);
+        switch (_nodes.getKind(target)) {
+            case Sym -> {
+                Symbol symbol = _tokenizer.asSymbol(_tokens, token);
+                _factory.checkAssignable(_scope, token, symbol);
+                compile(value);
+                compileWrite(symbol);
+            }
+            case Member -> {
+                Symbol member = _tokenizer.asSymbol(_tokens, token);
+                String name = _tokenizer.asRawString(_tokens, token);
+                compile(first);
+                compile(value);
+                nodeSite(node, 2, operands -> new WriteMemberNode(operands[0], member, name, operands[1]));
+            }
+            case Index -> {
+                compile(first);
+                compile(_factory.singleIndex(target));
+                compile(value);
+                nodeSite(node, 3, operands -> WriteIndexNodeGen.create(operands[0], operands[1], operands[2]));
+            }
+            default -> throw _factory.error(token, "Assigning to " + _nodes.getKind(target) + " expressions is not supported yet");
+        }
+    }
+
+    /** Pushes the value of {@code built}: a constant for a literal, the node run in place otherwise. */
+    private void pushNode(int node, BajicNode built) {
+        if (built instanceof LiteralNode literal) {
+            pushConstant(literal.getValue());
+        } else {
+            nodeSite(node, 0, operands -> built);
+        }
+    }
+
+    /** Runs the node {@code factory} creates from the {@code count} values on top of the stack, replacing them. */
+    private void nodeSite(int node, int count, Function<BajicNode[], BajicNode> factory) {
+        _depth -= count;
+        _sites.add(new NodeSite(_depth, count, factory, _factory.sectionOf(node)));
+        emit(Opcodes.NODE, _sites.size() - 1, count);
+        grow();
+    }
+
+    private void pushConstant(Object value) {
+        emit(Opcodes.CONST, constant(value));
+        grow();
+    }
+
+    private int constant(Object value) {
+        return _constantIndexes.computeIfAbsent(value, v -> {
+            _constants.add(v);
+            return _constants.size() - 1;
+        });
+    }
+
+    private void grow() {
+        _depth++;
+        _maxDepth = Math.max(_maxDepth, _depth);
+    }
+
+    /** Appends an instruction and returns its offset. */
+    private int emit(byte opcode, int... operands) {
+        int offset = _length;
+        if (_length + 1 + 2 * operands.length > _code.length) {
+            _code = Arrays.copyOf(_code, Math.max(2 * _code.length, _length + 1 + 2 * operands.length));
+        }
+        _code[_length++] = opcode;
+        for (int operand : operands) {
+            writeOperand(_length, operand);
+            _length += 2;
+        }
+        return offset;
+    }
+
+    private void writeOperand(int offset, int operand) {
+        if (operand < 0 || operand > MAX_OPERAND) {
+            throw new LimitExceededException();
+        }
+        _code[offset] = (byte)(operand >>> 8);
+        _code[offset + 1] = (byte)operand;
+    }
+
+    /** Makes the jump at {@code offset} go to the next instruction emitted. */
+    private void patchJump(int offset) {
+        writeOperand(offset + 1, _length);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package org.bajic.compiler;
+
+import org.bajic.nodes.BajicNode;
+import org.bajic.nodes.LiteralNode;
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Folds operators whose operands are all constants into a single literal, while the script is compiled.
+ * <p>
+ * The operator node is simply executed once: the value is the one the script would compute at run time, by
+ * construction. An operation that fails, such as adding a string to a number, is left in place to report its error
+ * when and if it runs.
+ */
+final class ConstantFolder {
+
+    private final ConstantPool _constants;
+
+    ConstantFolder(ConstantPool constants) {
+        _constants = constants;
+    }
+
+    BajicNode fold(BajicNode operation) {
+        for (Node child : operation.getChildren()) {
+            if (!(child instanceof LiteralNode)) {
+                return operation;
+            }
+        }
+        Object value;
+        try {
+            value = operation.executeGeneric(null);
+        } catch (BajicException e) {
+            return operation;
+        }
+        return LiteralNode.create(_constants.get(_constants.add(value)));
+    }
+}
\ No newline at end of file
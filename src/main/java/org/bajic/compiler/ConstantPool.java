@@ -0,0 +1,104 @@
+package org.bajic.compiler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bajic.compiler.parser.Tokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.bajic.runtime.BajicDate;
+
+/**
+ * Values of the literals of a script, decoded once in a single pass over its tokens, and of the expressions folded
+ * from them. Equal values share one entry, and each literal token maps to the index of its value.
+ */
+public final class ConstantPool {
+
+    public static final int NONE = -1;
+
+    /** Thrown by {@link #decode} for a literal that does not denote a value. */
+    public static final class MalformedLiteralException extends IllegalArgumentException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int _token;
+
+        MalformedLiteralException(int token, String message) {
+            super(message);
+            _token = token;
+        }
+
+        public int token() {
+            return _token;
+        }
+    }
+
+    private final List<Object> _values = new ArrayList<>();
+    private final Map<Object, Integer> _indexes = new HashMap<>();
+    private final int[] _tokenConstants;
+
+    private ConstantPool(int tokenCount) {
+        _tokenConstants = new int[tokenCount];
+        Arrays.fill(_tokenConstants, NONE);
+    }
+
+    /** Decodes every number, string and date literal of {@code tokens}. */
+    public static ConstantPool decode(Tokenizer tokenizer, TokensBuffer tokens) {
+        var pool = new ConstantPool(tokens.length());
+        for (int i = 0; i < tokens.length(); i++) {
+            Object value = switch (tokens.getKind(i)) {
+                case Num -> decodeNumber(tokenizer, tokens, i);
+                case Str -> tokenizer.asString(tokens, i);
+                case Date -> new BajicDate(tokenizer.asDate(tokens, i));
+                default -> null;
+            };
+            if (value != null) {
+                pool._tokenConstants[i] = pool.add(value);
+            }
+        }
+        return pool;
+    }
+
+    /** Integers without a dot are read as longs, digit by digit; anything else, or too large, as a double. */
+    private static Object decodeNumber(Tokenizer tokenizer, TokensBuffer tokens, int token) {
+        String text = tokenizer.asRawString(tokens, token);
+        long value = 0;
+        boolean integer = true;
+        for (int i = 0; i < text.length() && integer; i++) {
+            char c = text.charAt(i);
+            integer = c >= '0' && c <= '9' && value <= (Long.MAX_VALUE - (c - '0')) / 10;
+            value = value * 10 + (c - '0');
+        }
+        if (integer) {
+            return value;
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new MalformedLiteralException(token, "Malformed number " + text);
+        }
+    }
+
+    /** Adds {@code value} if no equal value is in the pool yet, and returns its index. */
+    public int add(Object value) {
+        return _indexes.computeIfAbsent(value, v -> {
+            _values.add(v);
+            return _values.size() - 1;
+        });
+    }
+
+    public Object get(int index) {
+        return _values.get(index);
+    }
+
+    /** Index of the value of the literal {@code token}, or {@link #NONE} if it is not a literal. */
+    public int indexOf(int token) {
+        return _tokenConstants[token];
+    }
+
+    public int size() {
+        return _values.size();
+    }
+}
\ No newline at end of file
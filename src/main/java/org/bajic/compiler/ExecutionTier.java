@@ -0,0 +1,24 @@
+package org.bajic.compiler;
+
+import java.util.Locale;
+
+/**
+ * How scripts are compiled, chosen per engine by the {@code bajic.ExecutionTier} option.
+ */
+public enum ExecutionTier {
+    /** A tree of nodes per script, each node specializing on the values it sees. */
+    AST,
+    /**
+     * Bytecode run by one node per script and lambda, with quickened instructions: less memory per loaded script and
+     * less to build before the first run, for the many scripts that are loaded but seldom run.
+     */
+    BYTECODE;
+
+    public static ExecutionTier fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown execution tier " + name + ", expected ast or bytecode");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,568 @@
+package org.bajic.compiler;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.bajic.BajicLanguage;
+import org.bajic.builtins.Builtin;
+import org.bajic.builtins.BuiltinRegistry;
+import org.bajic.compiler.parser.BinaryOperator;
+import org.bajic.compiler.parser.NodeKind;
+import org.bajic.compiler.parser.NodesBuffer;
+import org.bajic.compiler.parser.ParseError;
+import org.bajic.compiler.parser.Parser;
+import org.bajic.compiler.parser.SymKind;
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.compiler.parser.TokenKind;
+import org.bajic.compiler.parser.Tokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.bajic.metrics.BajicMetrics;
+import org.bajic.nodes.ArrayLiteralNode;
+import org.bajic.nodes.BajicNode;
+import org.bajic.nodes.BajicRootNode;
+import org.bajic.nodes.BlockNode;
+import org.bajic.nodes.BooleanLiteralNode;
+import org.bajic.nodes.CallNode;
+import org.bajic.nodes.LambdaNode;
+import org.bajic.nodes.LiteralNode;
+import org.bajic.nodes.NewNode;
+import org.bajic.nodes.NegateNodeGen;
+import org.bajic.nodes.NotNodeGen;
+import org.bajic.nodes.ObjectLiteralNode;
+import org.bajic.nodes.ReadArgumentNode;
+import org.bajic.nodes.ReadContextVariableNode;
+import org.bajic.nodes.ReadLocalNodeGen;
+import org.bajic.nodes.ReadMemberNode;
+import org.bajic.nodes.ReadOuterLocalNode;
+import org.bajic.nodes.ReadPageScopeNode;
+import org.bajic.nodes.ReadVariableNode;
+import org.bajic.nodes.WriteContextVariableNode;
+import org.bajic.nodes.WriteIndexNodeGen;
+import org.bajic.nodes.WriteLocalNodeGen;
+import org.bajic.nodes.WriteMemberNode;
+import org.bajic.nodes.WriteOuterLocalNode;
+import org.bajic.nodes.WritePageScopeNode;
+import org.bajic.nodes.WriteVariableNode;
+import org.bajic.nodes.binary.BinaryNodes;
+import org.bajic.nodes.binary.IndexNodeGen;
+import org.bajic.runtime.BajicClass;
+import org.bajic.runtime.BajicContext;
+import org.bajic.runtime.BajicFunction;
+import org.bajic.runtime.BajicNull;
+import org.bajic.runtime.BajicParseError;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Compiles a source into Truffle nodes: the tokens are parsed into a {@link NodesBuffer}, their literals decoded
+ * into a {@link ConstantPool}, then each syntax node is turned into the executable node of its kind, operators on
+ * constants being folded as they are built. Syntax errors are reported as a {@link BajicParseError} before any node is
+ * built. The tokens and syntax tree of a script file can be kept in a {@link SyntaxCache} between runs.
+ * <p>
+ * Variables are resolved while building: {@code @} locals and lambda parameters to frame slots through a
+ * {@link Scope}, {@code $} page-scope variables to the slots of the language's
+ * {@link org.bajic.runtime.PageScopeLayout}. Reading or writing them at run time is then an array access. {@code %}
+ * context variables go to the polyglot bindings. Names of {@link BuiltinRegistry builtins} are resolved to the
+ * builtins, whose calls are compiled to their nodes.
+ * <p>
+ * With the {@link ExecutionTier#BYTECODE bytecode} tier, script and lambda bodies are handed to a
+ * {@link BytecodeCompiler} instead, falling back to nodes when a body is too large for its 16-bit operands.
+ */
+public class NodeFactory {
+
+    private static final Symbol TRUE = Symbol.BuiltIn("True");
+    private static final Symbol FALSE = Symbol.BuiltIn("False");
+    private static final Symbol NOTHING = Symbol.BuiltIn("Nothing");
+
+    private final BajicLanguage _language;
+    private final Source _source;
+    private final TruffleFile _script;
+    private final BuiltinRegistry _builtins = BuiltinRegistry.getDefault();
+    private Tokenizer _tokenizer;
+    private TokensBuffer _tokens;
+    private NodesBuffer _nodes;
+    private ConstantPool _constants;
+    private ConstantFolder _folder;
+    /** Scope of the script or lambda whose body is being built. */
+    private Scope _scope;
+    /** First and last tokens of the syntax nodes whose span is known, by node; the last is -1 for the others. */
+    private int[] _firstTokens;
+    private int[] _lastTokens;
+    private boolean _syntaxCached;
+    private long _lexNanos;
+    private long _parseNanos;
+
+    public NodeFactory(BajicLanguage language, Source source) {
+        this(language, source, null);
+    }
+
+    /**
+     * Compiler of a source read from the file {@code script}, whose tokens and syntax tree are loaded from and saved
+     * to its {@link SyntaxCache} file. Without a file, the source is always lexed and parsed.
+     */
+    public NodeFactory(BajicLanguage language, Source source, TruffleFile script) {
+        _language = language;
+        _source = source;
+        _script = script;
+    }
+
+    public RootCallTarget compile() {
+        String text = _source.getCharacters().toString();
+        _tokenizer = new Tokenizer(text);
+        int root = parse(text);
+        long built = System.nanoTime();
+        try {
+            _constants = ConstantPool.decode(_tokenizer, _tokens);
+        } catch (ConstantPool.MalformedLiteralException e) {
+            throw error(e.token(), e.getMessage());
+        }
+        _folder = new ConstantFolder(_constants);
+        _scope = Scope.script();
+        _firstTokens = new int[_nodes.length()];
+        _lastTokens = new int[_nodes.length()];
+        Arrays.fill(_lastTokens, -1);
+        BajicNode body = buildBody(root);
+        body.setSourceSection(0, _source.getLength());
+        var callTarget = new BajicRootNode(_language, _scope.buildFrameDescriptor(), body, _source.getName(),
+            _source.createSection(0, _source.getLength())).getCallTarget();
+        BajicMetrics metrics = _language == null ? null : _language.getMetrics();
+        if (metrics != null) {
+            metrics.script(_source.getName()).recordCompilation(_syntaxCached, _lexNanos, _parseNanos, System.nanoTime() - built);
+        }
+        return callTarget;
+    }
+
+    /**
+     * The body of the script in the {@link ExecutionTier} of the language. Scripts too large for the operands of
+     * bytecode instructions are compiled to nodes.
+     */
+    private BajicNode buildBody(int root) {
+        if (_language != null && _language.getExecutionTier() == ExecutionTier.BYTECODE) {
+            try {
+                return new BytecodeCompiler(this, _scope).compileBody(root, 0);
+            } catch (BytecodeCompiler.LimitExceededException e) {
+                _scope = Scope.script();
+            }
+        }
+        return build(root);
+    }
+
+    Tokenizer getTokenizer() {
+        return _tokenizer;
+    }
+
+    TokensBuffer getTokens() {
+        return _tokens;
+    }
+
+    NodesBuffer getSyntax() {
+        return _nodes;
+    }
+
+    ConstantPool getConstants() {
+        return _constants;
+    }
+
+    BajicLanguage getLanguage() {
+        return _language;
+    }
+
+    /** Fills the tokens and nodes of {@code text} and returns its root node, reporting the first syntax error. */
+    private int parse(String text) {
+        long modified = 0;
+        TruffleFile cacheFile = null;
+        if (_script != null) {
+            // The cache only saves work: a file that cannot be read or written is the same as no file.
+            try {
+                modified = _script.getLastModifiedTime().toMillis();
+                cacheFile = SyntaxCache.fileOf(_script);
+                SyntaxCache.Entry cached = SyntaxCache.load(cacheFile, text, modified);
+                if (cached != null) {
+                    _syntaxCached = true;
+                    _tokens = cached.tokens();
+                    _nodes = cached.nodes();
+                    return cached.root();
+                }
+            } catch (IOException | UnsupportedOperationException | SecurityException e) {
+                cacheFile = null;
+            }
+        }
+        long start = System.nanoTime();
+        _tokens = new TokensBuffer(0, Math.max(16, text.length() / 4));
+        _tokenizer.tokenize(_tokens);
+        long lexed = System.nanoTime();
+        _nodes = new NodesBuffer(_tokens.length());
+        Parser parser = new Parser(_tokenizer, _tokens, _nodes);
+        int root = parser.parse();
+        _lexNanos = lexed - start;
+        _parseNanos = System.nanoTime() - lexed;
+        if (!parser.errors().isEmpty()) {
+            ParseError error = parser.errors().get(0);
+            throw error(error.token(), error.message());
+        }
+        if (cacheFile != null) {
+            try {
+                SyntaxCache.store(BajicContext.get(null).getEnv(), cacheFile, text, modified,
+                    new SyntaxCache.Entry(_tokens, _nodes, root));
+            } catch (IOException | UnsupportedOperationException | SecurityException e) {
+                // Same as a cache file that cannot be read: the next compilation parses again.
+            }
+        }
+        return root;
+    }
+
+    BajicParseError error(int token, String message) {
+        int offset = token < _tokens.length() ? _tokens.getStart(token) : _source.getLength();
+        return new BajicParseError(_source, offset, message);
+    }
+
+    private BajicNode[] buildChildren(int node, int firstChild) {
+        BajicNode[] children = new BajicNode[_nodes.getChildCount(node) - firstChild];
+        int child = _nodes.getChild(node, firstChild);
+        for (int i = 0; i < children.length; i++, child = _nodes.getNextSibling(child)) {
+            children[i] = build(child);
+        }
+        return children;
+    }
+
+    BajicNode build(int node) {
+        BajicNode built = buildNode(node);
+        SourceSection section = sectionOf(node);
+        if (section != null) {
+            built.setSourceSection(section.getCharIndex(), section.getCharLength());
+        }
+        return built;
+    }
+
+    /** The source of a syntax node, from the first to the last of its tokens; null for the empty script. */
+    SourceSection sectionOf(int node) {
+        span(node);
+        int first = _firstTokens[node];
+        int last = _lastTokens[node];
+        if (last >= _tokens.length()) {
+            return null;
+        }
+        return _source.createSection(_tokens.getStart(first), _tokens.getEnd(last) - _tokens.getStart(first));
+    }
+
+    /**
+     * Computes the tokens a syntax node spans: its own, the ones of its children, and the brackets that close it or
+     * open the parameters of a lambda, which are not in the syntax tree. The children are built before their parent,
+     * so their spans are known by then.
+     */
+    private void span(int node) {
+        if (_lastTokens[node] >= 0) {
+            return;
+        }
+        int first = _nodes.getToken(node);
+        int last = first;
+        for (int child = _nodes.getFirstChild(node); child != NodesBuffer.NONE; child = _nodes.getNextSibling(child)) {
+            span(child);
+            first = Math.min(first, _firstTokens[child]);
+            last = Math.max(last, _lastTokens[child]);
+        }
+        NodeKind kind = _nodes.getKind(node);
+        TokenKind closing = switch (kind) {
+            case Call -> TokenKind.CloseParens;
+            case New -> isToken(first + 1, TokenKind.OpenParens) ? TokenKind.CloseParens : null;
+            case Index, SecondIndex, Array -> TokenKind.CloseSquare;
+            case Collection, Filter -> TokenKind.CloseBracket;
+            default -> null;
+        };
+        if (closing != null && isToken(last + 1, closing)) {
+            last++;
+        }
+        if (kind == NodeKind.Lambda) {
+            if (isToken(first - 1, TokenKind.OpenParens)) {
+                first--;
+            } else if (isToken(first - 1, TokenKind.CloseParens) && isToken(first - 2, TokenKind.OpenParens)) {
+                first -= 2;
+            }
+        }
+        _firstTokens[node] = first;
+        _lastTokens[node] = last;
+    }
+
+    private boolean isToken(int token, TokenKind kind) {
+        return token >= 0 && token < _tokens.length() && _tokens.getKind(token) == kind;
+    }
+
+    private BajicNode buildNode(int node) {
+        int token = _nodes.getToken(node);
+        int first = _nodes.getFirstChild(node);
+        return switch (_nodes.getKind(node)) {
+            case Block -> buildBlock(node);
+            case Num, Str, Date -> LiteralNode.create(_constants.get(_constants.indexOf(token)));
+            case Sym -> buildRead(token);
+            case Binary -> _folder.fold(buildBinary(token, build(first), build(_nodes.getNextSibling(first))));
+            case Not -> _folder.fold(NotNodeGen.create(build(first)));
+            case Negate -> _folder.fold(NegateNodeGen.create(build(first)));
+            case Call -> buildCall(node, first);
+            case Lambda -> buildLambda(node);
+            case Assign -> buildAssign(first, build(_nodes.getNextSibling(first)));
+            case Dim -> buildDim(node, token);
+            case Class -> buildClass(node, token);
+            case Member -> new ReadMemberNode(build(first), _tokenizer.asSymbol(_tokens, token), _tokenizer.asRawString(_tokens, token));
+            case Index -> IndexNodeGen.create(build(first), build(singleIndex(node)));
+            case New -> new NewNode(buildRead(token), buildChildren(node, 0));
+            case Array -> new ArrayLiteralNode(buildChildren(node, 0), false);
+            case Collection -> new ArrayLiteralNode(buildChildren(node, 0), true);
+            default -> throw error(token, _nodes.getKind(node) + " expressions are not supported yet");
+        };
+    }
+
+    private BajicNode buildRead(int token) {
+        Symbol symbol = _tokenizer.asSymbol(_tokens, token);
+        String name = _tokenizer.asRawString(_tokens, token);
+        Scope.Slot slot = _scope.resolve(symbol);
+        if (slot != null) {
+            if (slot.depth() == 0) {
+                return ReadLocalNodeGen.create(slot.slot(), name);
+            }
+            return new ReadOuterLocalNode(slot.depth(), slot.slot(), name);
+        }
+        if (symbol.Kind() == SymKind.PageScope) {
+            return new ReadPageScopeNode(_language.getPageScopeLayout().indexOf(symbol), name);
+        } else if (symbol.Kind() == SymKind.Context) {
+            return new ReadContextVariableNode(BajicContext.bindingKey(symbol), name);
+        }
+        LiteralNode constant = constantOf(symbol);
+        if (constant != null) {
+            return constant;
+        }
+        return new ReadVariableNode(symbol, name);
+    }
+
+    /** The value of a name that is not a variable: True, False, Nothing or a builtin; null for the others. */
+    LiteralNode constantOf(Symbol symbol) {
+        if (symbol == TRUE) {
+            return new BooleanLiteralNode(true);
+        } else if (symbol == FALSE) {
+            return new BooleanLiteralNode(false);
+        } else if (symbol == NOTHING) {
+            return new ObjectLiteralNode(BajicNull.INSTANCE);
+        }
+        Builtin builtin = _builtins.lookup(symbol);
+        if (builtin != null) {
+            return new ObjectLiteralNode(_language.getBuiltinFunction(builtin));
+        }
+        return null;
+    }
+
+    private BajicNode buildBlock(int node) {
+        BajicNode[] statements = buildChildren(node, 0);
+        for (BajicNode statement : statements) {
+            statement.setStatement();
+        }
+        return new BlockNode(statements);
+    }
+
+    /**
+     * A call of a builtin by its name, unless a local of that name hides it, is compiled to the node of the builtin;
+     * the others call the function value of the callee.
+     */
+    private BajicNode buildCall(int node, int callee) {
+        Builtin builtin = calledBuiltin(_scope, node, callee);
+        if (builtin != null) {
+            return builtin.createNode(buildChildren(node, 1));
+        }
+        return new CallNode(build(callee), buildChildren(node, 1));
+    }
+
+    /** The builtin called by the call {@code node}, checking its number of arguments, or null for other calls. */
+    Builtin calledBuiltin(Scope scope, int node, int callee) {
+        if (_nodes.getKind(callee) != NodeKind.Sym) {
+            return null;
+        }
+        int token = _nodes.getToken(callee);
+        Symbol symbol = _tokenizer.asSymbol(_tokens, token);
+        Builtin builtin = scope.resolve(symbol) == null ? _builtins.lookup(symbol) : null;
+        int count = _nodes.getChildCount(node) - 1;
+        if (builtin != null && count != builtin.getArity()) {
+            throw error(token, builtin.getName() + " takes " + builtin.getArity() + " arguments, not " + count);
+        }
+        return builtin;
+    }
+
+    /** Assigning a builtin would not change the calls to it, which are resolved when compiling. */
+    void checkAssignable(Scope scope, int token, Symbol symbol) {
+        if (scope.resolve(symbol) == null && _builtins.lookup(symbol) != null) {
+            throw error(token, "Cannot assign the builtin " + _tokenizer.asRawString(_tokens, token));
+        }
+    }
+
+    private BajicNode buildWrite(Symbol symbol, BajicNode value) {
+        Scope.Slot slot = _scope.resolve(symbol);
+        if (slot != null) {
+            if (slot.depth() == 0) {
+                return WriteLocalNodeGen.create(slot.slot(), value);
+            }
+            return new WriteOuterLocalNode(slot.depth(), slot.slot(), value);
+        }
+        if (symbol.Kind() == SymKind.PageScope) {
+            return new WritePageScopeNode(_language.getPageScopeLayout().indexOf(symbol), value);
+        } else if (symbol.Kind() == SymKind.Context) {
+            return new WriteContextVariableNode(BajicContext.bindingKey(symbol), value);
+        }
+        return new WriteVariableNode(symbol, value);
+    }
+
+    private BajicNode buildBinary(int token, BajicNode left, BajicNode right) {
+        return BinaryNodes.create(binaryOperator(token), left, right);
+    }
+
+    BinaryOperator binaryOperator(int token) {
+        BinaryOperator operator = _tokenizer.tokenToBinaryOperator(_tokens, token);
+        if (operator == BinaryOperator.Invalid) {
+            throw error(token, "Unknown operator " + _tokenizer.asRawString(_tokens, token));
+        }
+        return operator;
+    }
+
+    /** Collects the {@code @} locals declared with {@code Dim} in {@code node}, outside of the lambdas nested in it. */
+    private void collectDeclarations(int node, Set<Symbol> declared) {
+        switch (_nodes.getKind(node)) {
+            case Lambda:
+                return;
+            case Dim: {
+                Symbol symbol = _tokenizer.asSymbol(_tokens, _nodes.getToken(node));
+                if (symbol.Kind() == SymKind.Local) {
+                    declared.add(symbol);
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        for (int child = _nodes.getFirstChild(node); child != NodesBuffer.NONE; child = _nodes.getNextSibling(child)) {
+            collectDeclarations(child, declared);
+        }
+    }
+
+    /**
+     * Compiles the lambda into its own call target, whose body starts by copying the arguments to the parameter slots.
+     * A lambda that uses locals of enclosing scopes captures the current frame when evaluated; any other one is a
+     * constant function.
+     */
+    private BajicNode buildLambda(int node) {
+        int arity = _nodes.getChildCount(node) - 1;
+        Scope enclosing = _scope;
+        Scope scope = lambdaScope(enclosing, node);
+        BajicNode[] statements = new BajicNode[arity + 1];
+        _scope = scope;
+        try {
+            for (int i = 0; i < arity; i++) {
+                statements[i] = WriteLocalNodeGen.create(i, new ReadArgumentNode(i));
+            }
+            statements[arity] = build(_nodes.getChild(node, arity));
+        } finally {
+            _scope = enclosing;
+        }
+        BajicNode body = arity == 0 ? statements[0] : new BlockNode(statements);
+        return lambdaValue(node, scope, body, scope.buildFrameDescriptor());
+    }
+
+    /** Scope of the lambda {@code node}, declaring its parameters and the locals it {@code Dim}s. */
+    Scope lambdaScope(Scope enclosing, int node) {
+        int arity = _nodes.getChildCount(node) - 1;
+        Symbol[] parameters = new Symbol[arity];
+        int child = _nodes.getFirstChild(node);
+        for (int i = 0; i < arity; i++, child = _nodes.getNextSibling(child)) {
+            parameters[i] = _tokenizer.asSymbol(_tokens, _nodes.getToken(child));
+        }
+        Set<Symbol> declared = new HashSet<>();
+        collectDeclarations(child, declared);
+        return Scope.lambda(enclosing, parameters, declared);
+    }
+
+    /**
+     * The value of the lambda {@code node} compiled to {@code body}: a constant function, or a node creating it from
+     * the current frame when it captures that frame.
+     */
+    BajicNode lambdaValue(int node, Scope scope, BajicNode body, FrameDescriptor frame) {
+        int arity = _nodes.getChildCount(node) - 1;
+        int offset = _tokens.getStart(_nodes.getToken(node));
+        String name = "lambda:" + _source.getLineNumber(offset) + ":" + _source.getColumnNumber(offset);
+        SourceSection section = sectionOf(node);
+        body.setSourceSection(section.getCharIndex(), section.getCharLength());
+        var callTarget = new BajicRootNode(_language, frame, body, name, section).getCallTarget();
+        if (scope.capturesEnclosing()) {
+            return new LambdaNode(callTarget, arity);
+        }
+        return new ObjectLiteralNode(new BajicFunction(callTarget, arity, null));
+    }
+
+    private BajicNode buildAssign(int target, BajicNode value) {
+        int token = _nodes.getToken(target);
+        int first = _nodes.getFirstChild(target);
+        return switch (_nodes.getKind(target)) {
+            case Sym -> {
+                Symbol symbol = _tokenizer.asSymbol(_tokens, token);
+                checkAssignable(_scope, token, symbol);
+                yield buildWrite(symbol, value);
+            }
+            case Member -> new WriteMemberNode(build(first), _tokenizer.asSymbol(_tokens, token),
+                _tokenizer.asRawString(_tokens, token), value);
+            case Index -> WriteIndexNodeGen.create(build(first), build(singleIndex(target)), value);
+            default -> throw error(token, "Assigning to " + _nodes.getKind(target) + " expressions is not supported yet");
+        };
+    }
+
+    /** The index of an {@link NodeKind#Index} node, which must have exactly one. */
+    int singleIndex(int node) {
+        if (_nodes.getChildCount(node) != 2) {
+            throw error(_nodes.getToken(node), "Indexing with several indexes is not supported yet");
+        }
+        return _nodes.getNextSibling(_nodes.getFirstChild(node));
+    }
+
+    /**
+     * Creates the class when the script is compiled, so that every context and every run of the script instantiate
+     * the same one, and assigns it to its name.
+     */
+    private BajicNode buildClass(int node, int token) {
+        return buildWrite(_tokenizer.asSymbol(_tokens, token), new ObjectLiteralNode(classOf(node)));
+    }
+
+    BajicClass classOf(int node) {
+        Symbol[] fields = new Symbol[_nodes.getChildCount(node)];
+        String[] fieldNames = new String[fields.length];
+        int child = _nodes.getFirstChild(node);
+        for (int i = 0; i < fields.length; i++, child = _nodes.getNextSibling(child)) {
+            fields[i] = _tokenizer.asSymbol(_tokens, _nodes.getToken(child));
+            fieldNames[i] = _tokenizer.asRawString(_tokens, _nodes.getToken(child));
+        }
+        return new BajicClass(_tokenizer.asRawString(_tokens, _nodes.getToken(node)), fields, fieldNames);
+    }
+
+    /** Declares the variable with the default value of its type. */
+    private BajicNode buildDim(int node, int token) {
+        Symbol symbol = _tokenizer.asSymbol(_tokens, token);
+        checkAssignable(_scope, token, symbol);
+        return buildWrite(symbol, defaultValue(node));
+    }
+
+    /** The value of a variable declared by the {@code Dim} node: zero, an empty string, False, an empty array or Nothing. */
+    BajicNode defaultValue(int node) {
+        int type = _nodes.getFirstChild(node);
+        if (type == NodesBuffer.NONE) {
+            return new ObjectLiteralNode(BajicNull.INSTANCE);
+        }
+        return switch (_tokenizer.asRawString(_tokens, _nodes.getToken(type)).toLowerCase(Locale.ROOT)) {
+            case "integer", "long" -> LiteralNode.create(0L);
+            case "double", "single" -> LiteralNode.create(0.0);
+            case "string" -> LiteralNode.create("");
+            case "boolean" -> LiteralNode.create(false);
+            case "array" -> new ArrayLiteralNode(new BajicNode[0], false);
+            case "collection" -> new ArrayLiteralNode(new BajicNode[0], true);
+            default -> new ObjectLiteralNode(BajicNull.INSTANCE);
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,497 @@
+package org.bajic.compiler;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.bajic.compiler.parser.NodeKind;
+import org.bajic.compiler.parser.NodesBuffer;
+import org.bajic.compiler.parser.ParseError;
+import org.bajic.compiler.parser.Parser;
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.compiler.parser.Tokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+
+/**
+ * Lexes and parses every script of a directory tree on a {@link ForkJoinPool}, then resolves the symbols the scripts
+ * share across files: the {@code £} Family and {@code μ} Global variables, and the names qualified with a
+ * {@code Path!} prefix. A file defines the symbols it assigns, declares with {@code Dim} or names a class after, and
+ * depends on the files defining the shared symbols it reads. {@code Path!Name} is also defined by a file named
+ * {@code Path} that defines {@code Name} unqualified.
+ * <p>
+ * The tree is walked by one task per directory, each forking a task per subdirectory and per script, so idle workers
+ * steal whole subtrees. {@link #rebuild} walks it again but only reads the scripts whose size or modification time
+ * changed, parses those whose content did, and resolves again the files reading a symbol whose definitions moved.
+ */
+public final class ProjectCompiler {
+
+    public static final String EXTENSION = ".bajic";
+
+    /** Problem found in a file, at a 1-based line and column; both are 0 for a problem with the whole file. */
+    public record Diagnostic(Path file, int line, int column, String message) {
+        @Override
+        public String toString() {
+            return file + ":" + line + ":" + column + ": " + message;
+        }
+    }
+
+    /**
+     * Outcome of a build: the files parsed again, the files whose symbols were resolved again, and every problem of
+     * the project as it is now, ordered by file and position.
+     */
+    public record Report(Set<Path> parsed, Set<Path> resolved, List<Diagnostic> diagnostics) {}
+
+    private static final Comparator<Diagnostic> BY_POSITION = Comparator.comparing(Diagnostic::file)
+        .thenComparingInt(Diagnostic::line).thenComparingInt(Diagnostic::column);
+
+    /** A script as last read: its syntax, and the shared symbols it defines and reads with the place of the first read. */
+    private static final class Unit {
+        final long size;
+        final long hash;
+        /** Null when the script did not parse. */
+        final SyntaxCache.Entry syntax;
+        final List<Diagnostic> errors;
+        final Set<Symbol> defines;
+        final Map<Symbol, Diagnostic> uses;
+        /** Only moves forward when the file is touched without its content changing. */
+        volatile long modified;
+
+        Unit(long modified, long size, long hash, SyntaxCache.Entry syntax, List<Diagnostic> errors,
+                Set<Symbol> defines, Map<Symbol, Diagnostic> uses) {
+            this.modified = modified;
+            this.size = size;
+            this.hash = hash;
+            this.syntax = syntax;
+            this.errors = errors;
+            this.defines = defines;
+            this.uses = uses;
+        }
+    }
+
+    private final Path _root;
+    private final ForkJoinPool _pool;
+    private Map<Path, Unit> _units = Map.of();
+    /** Files defining each symbol. */
+    private final Map<Symbol, Set<Path>> _definers = new HashMap<>();
+    /** Files reading each symbol, qualified symbols being also listed under their unqualified form. */
+    private final Map<Symbol, Set<Path>> _readers = new HashMap<>();
+    /** Files by lower-case name without the extension, for {@code Path!Name}. */
+    private final Map<String, Set<Path>> _modules = new HashMap<>();
+    private final Map<Path, Set<Path>> _dependencies = new HashMap<>();
+    private final Map<Path, Set<Path>> _dependents = new HashMap<>();
+    private final Map<Path, List<Diagnostic>> _unresolved = new HashMap<>();
+
+    public ProjectCompiler(Path root) {
+        this(root, ForkJoinPool.commonPool());
+    }
+
+    public ProjectCompiler(Path root, ForkJoinPool pool) {
+        _root = root;
+        _pool = pool;
+    }
+
+    /** Parses and resolves every script of the tree, forgetting what previous builds found. */
+    public synchronized Report build() {
+        _units = Map.of();
+        _definers.clear();
+        _readers.clear();
+        _modules.clear();
+        _dependencies.clear();
+        _dependents.clear();
+        _unresolved.clear();
+        return rebuild();
+    }
+
+    /** Brings the project up to date with the tree, redoing only the work the changes since the last build call for. */
+    public synchronized Report rebuild() {
+        Map<Path, Unit> previous = _units;
+        var scanned = new ConcurrentHashMap<Path, Unit>();
+        var failures = new ConcurrentLinkedQueue<Diagnostic>();
+        _pool.invoke(new ScanTask(_root, previous, scanned, failures));
+
+        var changed = new HashSet<Path>();
+        for (Map.Entry<Path, Unit> entry : scanned.entrySet()) {
+            if (previous.get(entry.getKey()) != entry.getValue()) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (Path file : previous.keySet()) {
+            if (!scanned.containsKey(file)) {
+                changed.add(file);
+            }
+        }
+
+        var moved = new HashSet<Symbol>();
+        for (Path file : changed) {
+            Unit before = previous.get(file);
+            Unit after = scanned.get(file);
+            Set<Symbol> defined = before == null ? Set.of() : before.defines;
+            Set<Symbol> defines = after == null ? Set.of() : after.defines;
+            for (Symbol symbol : defined) {
+                if (!defines.contains(symbol)) {
+                    moved.add(symbol);
+                    remove(_definers, symbol, file);
+                }
+            }
+            for (Symbol symbol : defines) {
+                if (!defined.contains(symbol)) {
+                    moved.add(symbol);
+                    _definers.computeIfAbsent(symbol, s -> new HashSet<>()).add(file);
+                }
+            }
+            if (before != null) {
+                for (Symbol symbol : before.uses.keySet()) {
+                    remove(_readers, symbol, file);
+                    if (!symbol.Path().isEmpty()) {
+                        remove(_readers, unqualified(symbol), file);
+                    }
+                }
+            }
+            if (after != null) {
+                for (Symbol symbol : after.uses.keySet()) {
+                    _readers.computeIfAbsent(symbol, s -> new HashSet<>()).add(file);
+                    if (!symbol.Path().isEmpty()) {
+                        _readers.computeIfAbsent(unqualified(symbol), s -> new HashSet<>()).add(file);
+                    }
+                }
+            }
+            if (before == null) {
+                _modules.computeIfAbsent(moduleOf(file), m -> new HashSet<>()).add(file);
+            } else if (after == null) {
+                remove(_modules, moduleOf(file), file);
+                link(file, Set.of());
+                _unresolved.remove(file);
+            }
+        }
+        _units = scanned;
+
+        var affected = new HashSet<Path>();
+        for (Path file : changed) {
+            if (scanned.containsKey(file)) {
+                affected.add(file);
+            }
+        }
+        for (Symbol symbol : moved) {
+            affected.addAll(_readers.getOrDefault(symbol, Set.of()));
+        }
+        for (Path file : affected) {
+            resolve(file, scanned.get(file));
+        }
+
+        var parsed = new TreeSet<Path>();
+        for (Path file : changed) {
+            if (scanned.containsKey(file)) {
+                parsed.add(file);
+            }
+        }
+        var diagnostics = new ArrayList<Diagnostic>(failures);
+        for (Map.Entry<Path, Unit> entry : scanned.entrySet()) {
+            diagnostics.addAll(entry.getValue().errors);
+            diagnostics.addAll(_unresolved.getOrDefault(entry.getKey(), List.of()));
+        }
+        diagnostics.sort(BY_POSITION);
+        return new Report(Collections.unmodifiableSet(parsed), Collections.unmodifiableSet(new TreeSet<>(affected)),
+            Collections.unmodifiableList(diagnostics));
+    }
+
+    /** The scripts of the tree as of the last build. */
+    public synchronized Set<Path> files() {
+        return Collections.unmodifiableSet(new TreeSet<>(_units.keySet()));
+    }
+
+    /** Tokens and syntax tree of {@code file} as of the last build, or null if it did not parse or is not a script. */
+    public synchronized SyntaxCache.Entry syntaxOf(Path file) {
+        Unit unit = _units.get(file);
+        return unit == null ? null : unit.syntax;
+    }
+
+    /** Files defining {@code symbol}. */
+    public synchronized Set<Path> definersOf(Symbol symbol) {
+        return Collections.unmodifiableSet(new TreeSet<>(_definers.getOrDefault(symbol, Set.of())));
+    }
+
+    /** Files defining the symbols {@code file} reads, other than itself. */
+    public synchronized Set<Path> dependenciesOf(Path file) {
+        return Collections.unmodifiableSet(new TreeSet<>(_dependencies.getOrDefault(file, Set.of())));
+    }
+
+    /** Files reading symbols {@code file} defines, other than itself. */
+    public synchronized Set<Path> dependentsOf(Path file) {
+        return Collections.unmodifiableSet(new TreeSet<>(_dependents.getOrDefault(file, Set.of())));
+    }
+
+    private void resolve(Path file, Unit unit) {
+        var dependencies = new HashSet<Path>();
+        var unresolved = new ArrayList<Diagnostic>();
+        for (Map.Entry<Symbol, Diagnostic> use : unit.uses.entrySet()) {
+            Symbol symbol = use.getKey();
+            Set<Path> definers = _definers.getOrDefault(symbol, Set.of());
+            boolean found = !definers.isEmpty();
+            dependencies.addAll(definers);
+            if (!symbol.Path().isEmpty()) {
+                Set<Path> unqualified = _definers.getOrDefault(unqualified(symbol), Set.of());
+                for (Path module : _modules.getOrDefault(symbol.Path().toLowerCase(Locale.ROOT), Set.of())) {
+                    if (unqualified.contains(module)) {
+                        dependencies.add(module);
+                        found = true;
+                    }
+                }
+            }
+            if (!found) {
+                unresolved.add(use.getValue());
+            }
+        }
+        dependencies.remove(file);
+        link(file, dependencies);
+        if (unresolved.isEmpty()) {
+            _unresolved.remove(file);
+        } else {
+            _unresolved.put(file, unresolved);
+        }
+    }
+
+    /** Replaces the dependencies of {@code file}, keeping the reverse edges in step. */
+    private void link(Path file, Set<Path> dependencies) {
+        Set<Path> previous = _dependencies.remove(file);
+        if (previous != null) {
+            for (Path dependency : previous) {
+                remove(_dependents, dependency, file);
+            }
+        }
+        if (!dependencies.isEmpty()) {
+            _dependencies.put(file, dependencies);
+            for (Path dependency : dependencies) {
+                _dependents.computeIfAbsent(dependency, d -> new HashSet<>()).add(file);
+            }
+        }
+    }
+
+    private static <K> void remove(Map<K, Set<Path>> map, K key, Path file) {
+        Set<Path> files = map.get(key);
+        if (files != null && files.remove(file) && files.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private static String moduleOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - EXTENSION.length()).toLowerCase(Locale.ROOT);
+    }
+
+    /** {@code Name} for {@code Path!Name}, with the same sigil. */
+    private static Symbol unqualified(Symbol symbol) {
+        return Symbol.FromText(symbol.toString().substring(symbol.Path().length() + 1));
+    }
+
+    /** Whether reading {@code symbol} may need another file: Family and Global variables, and qualified names. */
+    private static boolean isShared(Symbol symbol) {
+        return switch (symbol.Kind()) {
+            case Family, Global -> true;
+            case Builtin -> !symbol.Path().isEmpty();
+            default -> false;
+        };
+    }
+
+    /** Whether assigning {@code symbol} defines it for other files, unqualified names being read as {@code Path!Name}. */
+    private static boolean isExported(Symbol symbol) {
+        return switch (symbol.Kind()) {
+            case Family, Global, Builtin -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isScript(Path file) {
+        String name = file.getFileName().toString();
+        return name.length() > EXTENSION.length() && name.regionMatches(true, name.length() - EXTENSION.length(),
+            EXTENSION, 0, EXTENSION.length());
+    }
+
+    /** Lists a directory, forking a task per subdirectory and per script. */
+    private static final class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path _directory;
+        private final Map<Path, Unit> _previous;
+        private final Map<Path, Unit> _scanned;
+        private final ConcurrentLinkedQueue<Diagnostic> _failures;
+
+        ScanTask(Path directory, Map<Path, Unit> previous, Map<Path, Unit> scanned,
+                ConcurrentLinkedQueue<Diagnostic> failures) {
+            _directory = directory;
+            _previous = previous;
+            _scanned = scanned;
+            _failures = failures;
+        }
+
+        @Override
+        protected void compute() {
+            var tasks = new ArrayList<ForkJoinTask<?>>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(_directory)) {
+                for (Path entry : entries) {
+                    var attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        tasks.add(new ScanTask(entry, _previous, _scanned, _failures));
+                    } else if (attributes.isRegularFile() && isScript(entry)) {
+                        tasks.add(ForkJoinTask.adapt(() -> scan(entry, attributes)));
+                    }
+                }
+            } catch (IOException e) {
+                _failures.add(new Diagnostic(_directory, 0, 0, "Cannot list the directory: " + e.getMessage()));
+            }
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+        private void scan(Path file, BasicFileAttributes attributes) {
+            long modified = attributes.lastModifiedTime().toMillis();
+            Unit previous = _previous.get(file);
+            if (previous != null && previous.modified == modified && previous.size == attributes.size()) {
+                _scanned.put(file, previous);
+                return;
+            }
+            String text;
+            try {
+                text = Files.readString(file);
+            } catch (IOException e) {
+                _scanned.put(file, new Unit(modified, -1, 0, null,
+                    List.of(new Diagnostic(file, 0, 0, "Cannot read the file: " + e.getMessage())), Set.of(), Map.of()));
+                return;
+            }
+            long hash = ScriptCache.hash(text);
+            if (previous != null && previous.hash == hash && previous.size == attributes.size()) {
+                previous.modified = modified;
+                _scanned.put(file, previous);
+                return;
+            }
+            _scanned.put(file, parse(file, text, modified, attributes.size(), hash));
+        }
+    }
+
+    /** Lexes and parses a script and collects the shared symbols it defines and reads. */
+    private static Unit parse(Path file, String text, long modified, long size, long hash) {
+        var tokenizer = new Tokenizer(text);
+        var tokens = new TokensBuffer(0, Math.max(16, text.length() / 4));
+        tokenizer.tokenize(tokens);
+        var nodes = new NodesBuffer(tokens.length());
+        var parser = new Parser(tokenizer, tokens, nodes);
+        int root = parser.parse();
+        var collector = new SymbolCollector(file, text, tokenizer, tokens, nodes);
+        var errors = new ArrayList<Diagnostic>();
+        for (ParseError error : parser.errors()) {
+            errors.add(collector.diagnostic(error.token(), error.message()));
+        }
+        if (root != NodesBuffer.NONE) {
+            collector.collect(root);
+        }
+        SyntaxCache.Entry syntax = errors.isEmpty() ? new SyntaxCache.Entry(tokens, nodes, root) : null;
+        return new Unit(modified, size, hash, syntax, errors, collector._defines, collector._uses);
+    }
+
+    /** Walks a syntax tree telling the symbols written from the symbols read. */
+    private static final class SymbolCollector {
+        private final Path _file;
+        private final String _text;
+        private final Tokenizer _tokenizer;
+        private final TokensBuffer _tokens;
+        private final NodesBuffer _nodes;
+        private final Set<Symbol> _defines = new HashSet<>();
+        private final Map<Symbol, Diagnostic> _uses = new LinkedHashMap<>();
+        private int[] _lineStarts;
+
+        SymbolCollector(Path file, String text, Tokenizer tokenizer, TokensBuffer tokens, NodesBuffer nodes) {
+            _file = file;
+            _text = text;
+            _tokenizer = tokenizer;
+            _tokens = tokens;
+            _nodes = nodes;
+        }
+
+        void collect(int node) {
+            int token = _nodes.getToken(node);
+            int first = _nodes.getFirstChild(node);
+            switch (_nodes.getKind(node)) {
+                case Sym -> read(token);
+                case Assign -> {
+                    if (_nodes.getKind(first) == NodeKind.Sym) {
+                        define(_nodes.getToken(first));
+                    } else {
+                        collect(first);
+                    }
+                    collect(_nodes.getNextSibling(first));
+                }
+                // The children of both are names, of a type and of fields.
+                case Dim, Class -> define(token);
+                // Parameters come first and are locals: only the body reads anything.
+                case Lambda -> collect(_nodes.getChild(node, _nodes.getChildCount(node) - 1));
+                case New -> {
+                    read(token);
+                    collectChildren(first);
+                }
+                default -> collectChildren(first);
+            }
+        }
+
+        private void collectChildren(int first) {
+            for (int child = first; child != NodesBuffer.NONE; child = _nodes.getNextSibling(child)) {
+                collect(child);
+            }
+        }
+
+        private void define(int token) {
+            Symbol symbol = _tokenizer.asSymbol(_tokens, token);
+            if (isExported(symbol)) {
+                _defines.add(symbol);
+            }
+        }
+
+        private void read(int token) {
+            Symbol symbol = _tokenizer.asSymbol(_tokens, token);
+            if (isShared(symbol) && !_uses.containsKey(symbol)) {
+                _uses.put(symbol, diagnostic(token, "Unresolved symbol " + _tokenizer.asRawString(_tokens, token)));
+            }
+        }
+
+        Diagnostic diagnostic(int token, String message) {
+            int offset = token < _tokens.length() ? _tokens.getStart(token) : _text.length();
+            if (_lineStarts == null) {
+                _lineStarts = lineStarts(_text);
+            }
+            int line = Arrays.binarySearch(_lineStarts, offset);
+            if (line < 0) {
+                line = -line - 2;
+            }
+            return new Diagnostic(_file, line + 1, offset - _lineStarts[line] + 1, message);
+        }
+
+        private static int[] lineStarts(String text) {
+            int count = 1;
+            for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+                count++;
+            }
+            int[] starts = new int[count];
+            for (int i = text.indexOf('\n'), line = 1; i >= 0; i = text.indexOf('\n', i + 1)) {
+                starts[line++] = i + 1;
+            }
+            return starts;
+        }
+    }
+}
\ No newline at end of file
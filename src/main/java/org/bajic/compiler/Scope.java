@@ -0,0 +1,90 @@
+package org.bajic.compiler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.bajic.compiler.parser.SymKind;
+import org.bajic.compiler.parser.Symbol;
+
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+
+/**
+ * Frame layout of a script or of a lambda: the slots of its parameters and of the {@code @} locals it declares.
+ * <p>
+ * The script declares every local it uses. A lambda declares its parameters and the locals it {@code Dim}s, and its
+ * other locals, read or assigned, are the ones of the closest enclosing scope that declares them, reached through the
+ * frames lambdas capture when created.
+ */
+final class Scope {
+
+    /** Where a variable lives: in the frame {@code depth} scopes up from the current one, at {@code slot}. */
+    record Slot(int depth, int slot) {}
+
+    private final Scope _parent;
+    private final Set<Symbol> _declared;
+    private final Map<Symbol, Integer> _slots = new HashMap<>();
+    private final FrameDescriptor.Builder _frame = FrameDescriptor.newBuilder();
+    private boolean _capturesEnclosing = false;
+
+    private Scope(Scope parent, Set<Symbol> declared) {
+        _parent = parent;
+        _declared = declared;
+    }
+
+    static Scope script() {
+        return new Scope(null, null);
+    }
+
+    /** Scope of a lambda, whose parameters take the first slots in order. */
+    static Scope lambda(Scope parent, Symbol[] parameters, Set<Symbol> declared) {
+        var scope = new Scope(parent, declared);
+        for (Symbol parameter : parameters) {
+            declared.add(parameter);
+            scope.slotOf(parameter);
+        }
+        return scope;
+    }
+
+    private boolean declares(Symbol symbol) {
+        return _declared == null ? symbol.Kind() == SymKind.Local : _declared.contains(symbol);
+    }
+
+    private int slotOf(Symbol symbol) {
+        return _slots.computeIfAbsent(symbol, s -> _frame.addSlot(FrameSlotKind.Illegal, s.Name(), null));
+    }
+
+    /**
+     * Resolves {@code symbol} to a frame slot, or returns {@code null} for a variable that is not stored in frames.
+     * Lambdas between this scope and the one declaring the variable are marked as capturing their enclosing frame.
+     */
+    Slot resolve(Symbol symbol) {
+        int depth = 0;
+        for (Scope scope = this; scope != null; scope = scope._parent, depth++) {
+            if (scope._slots.containsKey(symbol) || scope.declares(symbol)) {
+                for (Scope inner = this; inner != scope; inner = inner._parent) {
+                    inner._capturesEnclosing = true;
+                }
+                return new Slot(depth, scope.slotOf(symbol));
+            }
+        }
+        if (symbol.Kind() == SymKind.Local) {
+            return new Slot(0, slotOf(symbol));
+        }
+        return null;
+    }
+
+    boolean capturesEnclosing() {
+        return _capturesEnclosing;
+    }
+
+    /** Adds {@code count} slots after the ones of the variables, for an operand stack; returns the first one. */
+    int addStackSlots(int count) {
+        return _frame.addSlots(count, FrameSlotKind.Illegal);
+    }
+
+    FrameDescriptor buildFrameDescriptor() {
+        return _frame.build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package org.bajic.compiler;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * Call targets of the scripts a language compiled, keyed by a hash of their text and by the name and path of their
+ * source, so that a script evaluated again, from the same {@link Source} or another one with the same characters,
+ * name and path, skips the front end and reuses a call target that is already warm. At most {@link #capacity()}
+ * scripts are kept, the least recently used one being evicted first; a capacity of 0 disables the cache.
+ * <p>
+ * Two scripts with the same key are told apart by their text, so a collision only costs a miss. A cached call target
+ * keeps pointing at the source it was compiled from, so sources must agree on their name and path to share it: those
+ * are what stack traces and source sections show.
+ */
+public final class ScriptCache {
+
+    private record Key(long hash, String name, String path) {}
+
+    private record Entry(CharSequence text, CallTarget target) {}
+
+    private final LinkedHashMap<Key, Entry> _entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int _capacity;
+    private long _hits;
+    private long _misses;
+    private long _evictions;
+
+    public ScriptCache(int capacity) {
+        _capacity = capacity;
+    }
+
+    /** Returns the call target of a script with the text, name and path of {@code source}, compiling it on a miss. */
+    public CallTarget get(Source source, Function<Source, CallTarget> compile) {
+        if (capacity() == 0) {
+            return compile.apply(source);
+        }
+        CharSequence text = source.getCharacters();
+        var key = new Key(hash(text), source.getName(), source.getPath());
+        synchronized (this) {
+            Entry entry = _entries.get(key);
+            if (entry != null && contentEquals(entry.text(), text)) {
+                _hits++;
+                return entry.target();
+            }
+            _misses++;
+        }
+        // Compiling outside of the lock lets other scripts be looked up meanwhile; two threads missing on the same
+        // script both compile it and the last one wins.
+        CallTarget target = compile.apply(source);
+        synchronized (this) {
+            _entries.put(key, new Entry(text, target));
+            evict();
+        }
+        return target;
+    }
+
+    public synchronized int capacity() {
+        return _capacity;
+    }
+
+    public synchronized void setCapacity(int capacity) {
+        _capacity = capacity;
+        evict();
+    }
+
+    public synchronized int size() {
+        return _entries.size();
+    }
+
+    public synchronized long hits() {
+        return _hits;
+    }
+
+    public synchronized long misses() {
+        return _misses;
+    }
+
+    public synchronized long evictions() {
+        return _evictions;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, Entry>> eldest = _entries.entrySet().iterator();
+        while (_entries.size() > _capacity) {
+            eldest.next();
+            eldest.remove();
+            _evictions++;
+        }
+    }
+
+    /** 64-bit FNV-1a of the chars of {@code text}. */
+    static long hash(CharSequence text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static boolean contentEquals(CharSequence a, CharSequence b) {
+        if (a == b) {
+            return true;
+        }
+        if (a.length() != b.length()) {
+            return false;
+        }
+        for (int i = 0; i < a.length(); i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
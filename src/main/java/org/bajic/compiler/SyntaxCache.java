@@ -0,0 +1,141 @@
+package org.bajic.compiler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+import org.bajic.compiler.parser.NodeKind;
+import org.bajic.compiler.parser.NodesBuffer;
+import org.bajic.compiler.parser.TokenKind;
+import org.bajic.compiler.parser.TokensBuffer;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+
+/**
+ * Tokens and syntax tree of a script saved in a file next to it, so that loading the script again costs reading that
+ * file rather than lexing and parsing. The file is read in a single read and both buffers are filled by a bulk copy
+ * each. Files are {@link TruffleFile}s, so that the cache goes through the file system of the context, like the
+ * script itself.
+ * <p>
+ * The format is little-endian: a header made of {@link #MAGIC}, {@link #VERSION}, the number of token and node
+ * kinds, the length of the script, its {@link ScriptCache#hash}, its modification time, the token count, the node
+ * count and the root node, then the packed {@link TokensBuffer} longs and the {@link NodesBuffer} int quadruples. A
+ * file whose header does not match the script and the running version is ignored, and so is one whose tokens or nodes
+ * point outside the script or the file; {@link #VERSION} must be bumped whenever the meaning of a token or node
+ * changes.
+ */
+public final class SyntaxCache {
+
+    public static final int MAGIC = 0x53434a42;
+    public static final int VERSION = 3;
+    public static final String EXTENSION = ".bjc";
+
+    private static final int HEADER_BYTES = 5 * Integer.BYTES + 2 * Long.BYTES + 3 * Integer.BYTES;
+
+    /** Tokens and syntax tree of a script that parsed without errors. */
+    public record Entry(TokensBuffer tokens, NodesBuffer nodes, int root) {}
+
+    private SyntaxCache() {}
+
+    /** The cache file of the script at {@code script}. */
+    public static TruffleFile fileOf(TruffleFile script) {
+        return script.resolveSibling(script.getName() + EXTENSION);
+    }
+
+    /**
+     * Loads the entry saved in {@code file} for the script {@code text} last modified at {@code modified}, in
+     * milliseconds since the epoch, or returns null if there is none or it is stale.
+     */
+    public static Entry load(TruffleFile file, CharSequence text, long modified) throws IOException {
+        ByteBuffer bytes;
+        try (var channel = file.newByteChannel(Set.of(StandardOpenOption.READ))) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            bytes = ByteBuffer.allocate((int)size);
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes) < 0) {
+                    return null;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        return decode(bytes.flip(), text, modified);
+    }
+
+    /** The entry encoded in {@code bytes} for the script {@code text} last modified at {@code modified}, or null. */
+    static Entry decode(ByteBuffer bytes, CharSequence text, long modified) {
+        bytes.order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.remaining() < HEADER_BYTES
+                || bytes.getInt() != MAGIC || bytes.getInt() != VERSION
+                || bytes.getInt() != TokenKind.values().length || bytes.getInt() != NodeKind.values().length
+                || bytes.getInt() != text.length() || bytes.getLong() != ScriptCache.hash(text)
+                || bytes.getLong() != modified) {
+            return null;
+        }
+        int tokenCount = bytes.getInt();
+        int nodeCount = bytes.getInt();
+        int root = bytes.getInt();
+        if (tokenCount < 0 || nodeCount <= root || root < 0
+                || bytes.remaining() != (long)tokenCount * Long.BYTES + (long)nodeCount * 4 * Integer.BYTES) {
+            return null;
+        }
+        TokensBuffer tokens = TokensBuffer.readFrom(bytes.asLongBuffer(), tokenCount);
+        bytes.position(bytes.position() + tokenCount * Long.BYTES);
+        NodesBuffer nodes = NodesBuffer.readFrom(bytes.asIntBuffer(), nodeCount);
+        if (!tokens.isWithin(text.length()) || !nodes.isWithin(tokenCount)) {
+            return null;
+        }
+        return new Entry(tokens, nodes, root);
+    }
+
+    /**
+     * Saves {@code entry} as the one of the script {@code text} last modified at {@code modified}. The file is written
+     * aside, in a temporary file of {@code env}, and moved in place, so a concurrent {@link #load} sees either the old
+     * file or the new one.
+     */
+    public static void store(Env env, TruffleFile file, CharSequence text, long modified, Entry entry)
+            throws IOException {
+        ByteBuffer bytes = encode(text, modified, entry);
+        TruffleFile temporary = env.createTempFile(file.getAbsoluteFile().getParent(), file.getName(), ".tmp");
+        try {
+            try (var channel = temporary.newByteChannel(Set.of(StandardOpenOption.WRITE))) {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+            temporary.move(file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            if (temporary.exists()) {
+                temporary.delete();
+            }
+        }
+    }
+
+    /** The content of the file saving {@code entry}, ready to be written. */
+    static ByteBuffer encode(CharSequence text, long modified, Entry entry) {
+        int tokenCount = entry.tokens().length();
+        int nodeCount = entry.nodes().length();
+        var bytes = ByteBuffer.allocate(HEADER_BYTES + tokenCount * Long.BYTES + nodeCount * 4 * Integer.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(MAGIC).putInt(VERSION)
+            .putInt(TokenKind.values().length).putInt(NodeKind.values().length)
+            .putInt(text.length()).putLong(ScriptCache.hash(text)).putLong(modified)
+            .putInt(tokenCount).putInt(nodeCount).putInt(entry.root());
+        LongBuffer longs = bytes.asLongBuffer();
+        entry.tokens().writeTo(longs);
+        bytes.position(bytes.position() + tokenCount * Long.BYTES);
+        IntBuffer ints = bytes.asIntBuffer();
+        entry.nodes().writeTo(ints);
+        return bytes.clear();
+    }
+}
\ No newline at end of file
@@ -1,7 +1,5 @@
 package org.bajic.compiler.parser;
 
-import java.util.Set;
-
 public enum BinaryOperator
 {
     Eq, Ne, Lt, Gt, Lte, Gte, 
@@ -9,51 +7,87 @@ public enum BinaryOperator
     In, Or, OrElse, And, AndAlso, BitOr, BitAnd,
     Invalid;
 
-    private static final Set<String> _ops = Set.of(
-        "=", "<>", "<", ">", "<=", ">=", 
-        "&", "+", "-", "*", "/", "^",
-        "in", "or", "orelse", "and", "andalso", "bitor", "bitand"
-    );
+    private static final String[] _words = { "in", "or", "and", "bitor", "orelse", "bitand", "andalso" };
+    private static final BinaryOperator[] _wordOps = { In, Or, And, BitOr, OrElse, BitAnd, AndAlso };
 
     public static boolean IsOperator(String tok)
     {
-        for (String op : _ops)
-        {
-            if (op.equalsIgnoreCase(tok))
-            {
-                return true;
-            }
-        }
-        return false;
+        return OperatorFromChars(tok, 0, tok.length()) != BinaryOperator.Invalid;
     }
         
     public static BinaryOperator OperatorFromText(String tok)
     {
-        int i = 0;
-        for (var op : _ops) {
-            if (op.equalsIgnoreCase(tok)) {
-                return BinaryOperator.values()[i];
+        return OperatorFromChars(tok, 0, tok.length());
+    }
+
+    /**
+     * Recognizes the operator spelled by {@code src[start, end)} without copying it out of the source.
+     * Word operators are matched case-insensitively, like {@link String#equalsIgnoreCase}.
+     */
+    public static BinaryOperator OperatorFromChars(String src, int start, int end)
+    {
+        int length = end - start;
+        if (length == 1)
+        {
+            return switch (src.charAt(start)) {
+                case '=' -> BinaryOperator.Eq;
+                case '<' -> BinaryOperator.Lt;
+                case '>' -> BinaryOperator.Gt;
+                case '&' -> BinaryOperator.Cat;
+                case '+' -> BinaryOperator.Add;
+                case '-' -> BinaryOperator.Sub;
+                case '*' -> BinaryOperator.Mul;
+                case '/' -> BinaryOperator.Div;
+                case '^' -> BinaryOperator.Pow;
+                default -> BinaryOperator.Invalid;
+            };
+        }
+        if (length == 2)
+        {
+            char first = src.charAt(start);
+            char second = src.charAt(start + 1);
+            if (first == '<' && second == '>') return BinaryOperator.Ne;
+            if (first == '<' && second == '=') return BinaryOperator.Lte;
+            if (first == '>' && second == '=') return BinaryOperator.Gte;
+        }
+        for (int i = 0; i < _words.length; i++)
+        {
+            String word = _words[i];
+            if (word.length() == length && src.regionMatches(true, start, word, 0, length))
+            {
+                return _wordOps[i];
             }
-            i++;
         }
         return BinaryOperator.Invalid;
     }
 
+    private static final BindingPower NONE = new BindingPower(0, 0);
+    private static final BindingPower IN = new BindingPower(1, 2);
+    private static final BindingPower OR = new BindingPower(3, 4);
+    private static final BindingPower AND = new BindingPower(5, 6);
+    private static final BindingPower BIT_OR = new BindingPower(7, 8);
+    private static final BindingPower BIT_AND = new BindingPower(9, 10);
+    private static final BindingPower COMPARISON = new BindingPower(11, 12);
+    private static final BindingPower EQUALITY = new BindingPower(14, 13);
+    private static final BindingPower ADDITIVE = new BindingPower(15, 16);
+    private static final BindingPower MULTIPLICATIVE = new BindingPower(17, 18);
+    private static final BindingPower POWER = new BindingPower(19, 20);
+
     public BindingPower BindingPower(BinaryOperator op)
     {
         return switch(op)
         {
-            case BinaryOperator.In -> new BindingPower(1, 2);
-            case BinaryOperator.Or, BinaryOperator.OrElse -> new BindingPower(3, 4);
-            case BinaryOperator.And, BinaryOperator.AndAlso -> new BindingPower(5, 6);
-            case BinaryOperator.BitOr -> new BindingPower(7, 8);
-            case BinaryOperator.BitAnd -> new BindingPower(9, 10);
-            case BinaryOperator.Lt, BinaryOperator.Gt, BinaryOperator.Lte, BinaryOperator.Gte -> new BindingPower(11, 12);
-            case BinaryOperator.Eq, BinaryOperator.Ne -> new BindingPower(14, 13);
-            case BinaryOperator.Cat, BinaryOperator.Add, BinaryOperator.Sub -> new BindingPower(15, 16);
-            case BinaryOperator.Mul, BinaryOperator.Div -> new BindingPower(17, 18);
-            case BinaryOperator.Pow -> new BindingPower(19, 20);
-            default -> new BindingPower(0, 0);
+            case BinaryOperator.In -> IN;
+            case BinaryOperator.Or, BinaryOperator.OrElse -> OR;
+            case BinaryOperator.And, BinaryOperator.AndAlso -> AND;
+            case BinaryOperator.BitOr -> BIT_OR;
+            case BinaryOperator.BitAnd -> BIT_AND;
+            case BinaryOperator.Lt, BinaryOperator.Gt, BinaryOperator.Lte, BinaryOperator.Gte -> COMPARISON;
+            case BinaryOperator.Eq, BinaryOperator.Ne -> EQUALITY;
+            case BinaryOperator.Cat, BinaryOperator.Add, BinaryOperator.Sub -> ADDITIVE;
+            case BinaryOperator.Mul, BinaryOperator.Div -> MULTIPLICATIVE;
+            case BinaryOperator.Pow -> POWER;
+            default -> NONE;
         };
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package org.bajic.compiler.parser;
+
+/**
+ * Scanner for the text between the {@code #} delimiters of a date literal, {@code MM/dd/yyyy} optionally followed by
+ * a blank and {@code HH:mm:ss}. A valid literal is packed into a single {@code long}, the milliseconds since the epoch
+ * in UTC, which is what the runtime computes and compares dates with.
+ */
+public final class DateLiteral {
+
+    /** Returned by {@link #scan} for text that is not a valid date: no date is this far in the past. */
+    public static final long MALFORMED = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * MILLIS_PER_SECOND;
+
+    private DateLiteral() {}
+
+    /** Scans {@code [start, end)} of {@code src} and returns the date it denotes, or {@link #MALFORMED}. */
+    public static long scan(CharSequence src, int start, int end) {
+        int length = end - start;
+        if ((length != 10 && length != 19) || src.charAt(start + 2) != '/' || src.charAt(start + 5) != '/') {
+            return MALFORMED;
+        }
+        int month = digits(src, start, 2);
+        int day = digits(src, start + 3, 2);
+        int year = digits(src, start + 6, 4);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return MALFORMED;
+        }
+        int seconds = 0;
+        if (length == 19) {
+            char blank = src.charAt(start + 10);
+            if ((blank != ' ' && blank != '\t') || src.charAt(start + 13) != ':' || src.charAt(start + 16) != ':') {
+                return MALFORMED;
+            }
+            int hour = digits(src, start + 11, 2);
+            int minute = digits(src, start + 14, 2);
+            int second = digits(src, start + 17, 2);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+                return MALFORMED;
+            }
+            seconds = (hour * 60 + minute) * 60 + second;
+        }
+        return epochDay(year, month, day) * MILLIS_PER_DAY + seconds * MILLIS_PER_SECOND;
+    }
+
+    /** Value of the {@code count} decimal digits at {@code start}, or -1 if one of them is not a digit. */
+    private static int digits(CharSequence src, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = src.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /** Days from 1970-01-01 to the given day of the proleptic Gregorian calendar, counting years from March. */
+    static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
\ No newline at end of file
@@ -1,3 +0,0 @@
-package org.bajic.compiler.parser;
-
-public record DateValue(int year, int month, int day, Time time) {}
\ No newline at end of file
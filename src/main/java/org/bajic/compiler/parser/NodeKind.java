@@ -0,0 +1,39 @@
+package org.bajic.compiler.parser;
+
+/**
+ * Kinds of the nodes of a {@link NodesBuffer}, with the token each node points to and the children it has, in order.
+ */
+public enum NodeKind {
+    /** First token of the sequence; one child per statement. */
+    Block,
+    /** The literal token; no children. */
+    Num, Str, Date,
+    /** The symbol token; no children. */
+    Sym,
+    /** The operator token; left and right operands. */
+    Binary,
+    /** The operator token; the operand. */
+    Not, Negate,
+    /** The opening parenthesis; the callee, then the arguments. */
+    Call,
+    /** The opening bracket; the indexed value, then the indexes. */
+    Index, SecondIndex,
+    /** The member name token; the value it is read from. */
+    Member,
+    /** The opening brace; the filtered value, then the predicate. */
+    Filter,
+    /** The fat arrow; one Sym child per parameter, then the body. */
+    Lambda,
+    /** The class name token; the constructor arguments. */
+    New,
+    /** The opening bracket or brace; the elements. */
+    Array, Collection,
+    /** The assignment token; the target, then the value. */
+    Assign,
+    /** The declared name token; the type name as a Sym child, when given. */
+    Dim,
+    /** The class name token; one Sym child per field. */
+    Class,
+    /** The offending token; no children. */
+    Err,
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package org.bajic.compiler.parser;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Syntax tree stored like {@link TokensBuffer}: one {@code (kind, token, first child, next sibling)} int quadruple per
+ * node, children being linked from their first one. Node indexes are the only references, so a tree costs
+ * {@link #BYTES_PER_NODE} bytes per node and no object at all.
+ */
+public class NodesBuffer {
+    public static final int NONE = -1;
+    public static final int BYTES_PER_NODE = 4 * Integer.BYTES;
+
+    private static final NodeKind[] KINDS = NodeKind.values();
+
+    private int _length = 0;
+    private int[] _nodes;
+
+    public NodesBuffer(int capacity) {
+        _nodes = new int[Math.max(1, capacity) * 4];
+    }
+
+    public NodeKind getKind(int node) {
+        return KINDS[_nodes[node * 4]];
+    }
+
+    public int getToken(int node) {
+        return _nodes[node * 4 + 1];
+    }
+
+    public int getFirstChild(int node) {
+        return _nodes[node * 4 + 2];
+    }
+
+    public int getNextSibling(int node) {
+        return _nodes[node * 4 + 3];
+    }
+
+    public int getChildCount(int node) {
+        int count = 0;
+        for (int child = getFirstChild(node); child != NONE; child = getNextSibling(child)) {
+            count++;
+        }
+        return count;
+    }
+
+    public int getChild(int node, int index) {
+        int child = getFirstChild(node);
+        for (int i = 0; i < index; i++) {
+            child = getNextSibling(child);
+        }
+        return child;
+    }
+
+    public int length() {
+        return _length;
+    }
+
+    public int push(NodeKind kind, int token) {
+        if (_length * 4 >= _nodes.length) {
+            _nodes = Arrays.copyOf(_nodes, _nodes.length * 2);
+        }
+        int node = _length;
+        _nodes[node * 4] = kind.ordinal();
+        _nodes[node * 4 + 1] = token;
+        _nodes[node * 4 + 2] = NONE;
+        _nodes[node * 4 + 3] = NONE;
+        _length++;
+        return node;
+    }
+
+    public int push(NodeKind kind, int token, int child) {
+        int node = push(kind, token);
+        _nodes[node * 4 + 2] = child;
+        return node;
+    }
+
+    public int push(NodeKind kind, int token, int first, int second) {
+        _nodes[first * 4 + 3] = second;
+        return push(kind, token, first);
+    }
+
+    /**
+     * Appends {@code child} to the children of {@code node}, whose last child so far is {@code last}, and returns the
+     * new last child.
+     */
+    public int append(int node, int last, int child) {
+        if (last == NONE) {
+            _nodes[node * 4 + 2] = child;
+        } else {
+            _nodes[last * 4 + 3] = child;
+        }
+        return child;
+    }
+
+    /** Writes the quadruples of every node to {@code out}. */
+    public void writeTo(IntBuffer out) {
+        out.put(_nodes, 0, _length * 4);
+    }
+
+    /** Reads {@code length} nodes written by {@link #writeTo} from {@code in}, in a single bulk copy. */
+    public static NodesBuffer readFrom(IntBuffer in, int length) {
+        var buffer = new NodesBuffer(length);
+        in.get(buffer._nodes, 0, length * 4);
+        buffer._length = length;
+        return buffer;
+    }
+
+    /**
+     * Whether every node has a known kind and refers only to tokens below {@code tokenCount} and to nodes of this
+     * buffer, which a buffer {@link #readFrom read} from a file may not.
+     */
+    public boolean isWithin(int tokenCount) {
+        for (int node = 0; node < _length; node++) {
+            int kind = _nodes[node * 4];
+            int token = _nodes[node * 4 + 1];
+            int firstChild = _nodes[node * 4 + 2];
+            int nextSibling = _nodes[node * 4 + 3];
+            if (kind < 0 || kind >= KINDS.length || token < NONE || token >= tokenCount
+                    || firstChild < NONE || firstChild >= _length || nextSibling < NONE || nextSibling >= _length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return (long)_nodes.length * Integer.BYTES;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package org.bajic.compiler.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Lexes a large source on a {@link ForkJoinPool}, with the same output as {@link Tokenizer#tokenize}.
+ * <p>
+ * The source is cut at line starts into chunks lexed concurrently, each as if the lexer had been in front of its first
+ * line. That guess is wrong when the line is the continuation of a multi-line string, date or comment, which the merge
+ * detects: chunks are joined in order, and the position the lexer really reaches at the start of a chunk must be the
+ * start of the chunk or the end of one of its tokens. When it is not, tokens are lexed again from there until they land
+ * on the end of a speculative token again, and the rest of the chunk is kept.
+ */
+public class ParallelTokenizer {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 18;
+
+    private final String _src;
+    private final ForkJoinPool _pool;
+    private final int _chunkSize;
+
+    private record Chunk(int start, int until, TokensBuffer tokens, int end) {}
+
+    public ParallelTokenizer(String source) {
+        this(source, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelTokenizer(String source, ForkJoinPool pool, int chunkSize) {
+        _src = source;
+        _pool = pool;
+        _chunkSize = chunkSize;
+    }
+
+    private List<Integer> chunkStarts() {
+        var starts = new ArrayList<Integer>();
+        starts.add(0);
+        for (int guess = _chunkSize; guess < _src.length(); guess += _chunkSize) {
+            int lineStart = _src.indexOf('\n', Math.max(guess, starts.get(starts.size() - 1))) + 1;
+            if (lineStart == 0 || lineStart >= _src.length()) {
+                break;
+            }
+            if (lineStart > starts.get(starts.size() - 1)) {
+                starts.add(lineStart);
+            }
+        }
+        return starts;
+    }
+
+    private Chunk lexChunk(int start, int until) {
+        var tokens = new TokensBuffer(0, Math.max(16, (until - start) / 4));
+        int end = new Tokenizer(_src).tokenizeRange(tokens, start, until);
+        return new Chunk(start, until, tokens, end);
+    }
+
+    public void tokenize(TokensBuffer buffer) {
+        List<Integer> starts = chunkStarts();
+        if (starts.size() == 1) {
+            new Tokenizer(_src).tokenize(buffer);
+            return;
+        }
+        var chunks = new ArrayList<ForkJoinTask<Chunk>>(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            int start = starts.get(i);
+            int until = i + 1 < starts.size() ? starts.get(i + 1) : _src.length();
+            chunks.add(_pool.submit(() -> lexChunk(start, until)));
+        }
+
+        var tokenizer = new Tokenizer(_src);
+        int position = 0;
+        for (var task : chunks) {
+            position = merge(buffer, tokenizer, position, task.join());
+        }
+    }
+
+    /** Appends the tokens of {@code chunk} the lexer reaches from {@code position}, and returns where it stops. */
+    private static int merge(TokensBuffer buffer, Tokenizer tokenizer, int position, Chunk chunk) {
+        TokensBuffer tokens = chunk.tokens();
+        if (position == chunk.start()) {
+            buffer.append(tokens, 0, tokens.length());
+            return chunk.end();
+        }
+        int resync = indexOfEnd(tokens, position);
+        if (resync >= 0) {
+            buffer.append(tokens, resync + 1, tokens.length());
+            return chunk.end();
+        }
+        tokenizer.seek(position);
+        while (tokenizer.position() < chunk.until() && tokenizer.next(buffer)) {
+            resync = indexOfEnd(tokens, tokenizer.position());
+            if (resync >= 0) {
+                buffer.append(tokens, resync + 1, tokens.length());
+                return chunk.end();
+            }
+        }
+        return tokenizer.position();
+    }
+
+    private static int indexOfEnd(TokensBuffer tokens, int end) {
+        int low = 0;
+        int high = tokens.length() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midEnd = tokens.getEnd(mid);
+            if (midEnd < end) {
+                low = mid + 1;
+            } else if (midEnd > end) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
\ No newline at end of file
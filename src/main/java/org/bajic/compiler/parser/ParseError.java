@@ -0,0 +1,3 @@
+package org.bajic.compiler.parser;
+
+public record ParseError(int token, String message) {}
\ No newline at end of file
@@ -0,0 +1,345 @@
+package org.bajic.compiler.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pratt parser writing the tree of a token stream into a {@link NodesBuffer}.
+ * <p>
+ * Statements are separated by {@code :} or simply follow each other, since newlines are not tokens: an expression ends
+ * at the first token that cannot continue it. Binary operators take their precedence from
+ * {@link BinaryOperator#BindingPower}, and calls, indexes, member accesses and filters bind tighter than any of them.
+ * Syntax errors are collected in {@link #errors()} with an {@link NodeKind#Err} node in place of what could not be
+ * parsed, so a single pass reports all of them.
+ */
+public class Parser {
+
+    private static final int POSTFIX_BINDING_POWER = 30;
+    private static final int NEGATE_BINDING_POWER = 18;
+    private static final int NOT_BINDING_POWER = 10;
+
+    private final Tokenizer _tokenizer;
+    private final TokensBuffer _tokens;
+    private final NodesBuffer _nodes;
+    private final List<ParseError> _errors = new ArrayList<>();
+    private final TokenCursor _cursor;
+
+    public Parser(Tokenizer tokenizer, TokensBuffer tokens, NodesBuffer nodes) {
+        _tokenizer = tokenizer;
+        _tokens = tokens;
+        _nodes = nodes;
+        _cursor = tokens.cursor();
+    }
+
+    public List<ParseError> errors() {
+        return _errors;
+    }
+
+    /** Parses the whole token stream, returning its root {@link NodeKind#Block}. */
+    public int parse() {
+        int block = _nodes.push(NodeKind.Block, _cursor.index());
+        int last = NodesBuffer.NONE;
+        while (peek() != TokenKind.Eof) {
+            if (peek() == TokenKind.Sep) {
+                _cursor.advance();
+            } else if (startsStatement(peek())) {
+                last = _nodes.append(block, last, parseStatement());
+            } else {
+                last = _nodes.append(block, last, error("Unexpected token"));
+                _cursor.advance();
+            }
+        }
+        return block;
+    }
+
+    private TokenKind peek() {
+        return peek(0);
+    }
+
+    private TokenKind peek(int offset) {
+        return _cursor.peek(offset);
+    }
+
+    private boolean isOperator(BinaryOperator op) {
+        return peek() == TokenKind.Operator && _tokenizer.tokenToBinaryOperator(_tokens, _cursor.index()) == op;
+    }
+
+    private boolean startsExpression(TokenKind kind) {
+        return switch (kind) {
+            case Num, Str, Date, Err, Sym, OpenParens, OpenSquare, OpenBracket, Not, New -> true;
+            case Operator -> isOperator(BinaryOperator.Sub) || isOperator(BinaryOperator.Add);
+            default -> false;
+        };
+    }
+
+    private boolean startsStatement(TokenKind kind) {
+        return kind == TokenKind.Dim || kind == TokenKind.Class || startsExpression(kind);
+    }
+
+    private int error(String message) {
+        _errors.add(new ParseError(_cursor.index(), message));
+        return _nodes.push(NodeKind.Err, _cursor.index());
+    }
+
+    private boolean expect(TokenKind kind, String message) {
+        if (peek() == kind) {
+            _cursor.advance();
+            return true;
+        }
+        error(message);
+        return false;
+    }
+
+    private int parseStatement() {
+        if (peek() == TokenKind.Dim) {
+            return parseDim();
+        } else if (peek() == TokenKind.Class) {
+            return parseClass();
+        }
+        int target = parseExpression(0);
+        if (peek() != TokenKind.Assign) {
+            return target;
+        }
+        int assign = _cursor.advance();
+        switch (_nodes.getKind(target)) {
+            case Sym, Member, Index, SecondIndex -> {}
+            default -> _errors.add(new ParseError(assign, "Cannot assign to this expression"));
+        }
+        return _nodes.push(NodeKind.Assign, assign, target, parseExpression(0));
+    }
+
+    private int parseDim() {
+        _cursor.advance();
+        if (peek() != TokenKind.Sym) {
+            return error("Expected a name after Dim");
+        }
+        int dim = _nodes.push(NodeKind.Dim, _cursor.advance());
+        if (peek() == TokenKind.As) {
+            _cursor.advance();
+            if (peek() == TokenKind.Sym) {
+                _nodes.append(dim, NodesBuffer.NONE, _nodes.push(NodeKind.Sym, _cursor.advance()));
+            } else {
+                _nodes.append(dim, NodesBuffer.NONE, error("Expected a type name after As"));
+            }
+        }
+        return dim;
+    }
+
+    /** Parses {@code Class Name} or {@code Class Name(Field, ...)}. */
+    private int parseClass() {
+        _cursor.advance();
+        if (peek() != TokenKind.Sym) {
+            return error("Expected a name after Class");
+        }
+        int type = _nodes.push(NodeKind.Class, _cursor.advance());
+        if (peek() == TokenKind.OpenParens) {
+            _cursor.advance();
+            int last = NodesBuffer.NONE;
+            while (peek() == TokenKind.Sym) {
+                last = _nodes.append(type, last, _nodes.push(NodeKind.Sym, _cursor.advance()));
+                if (peek() != TokenKind.Comma) {
+                    break;
+                }
+                _cursor.advance();
+            }
+            expect(TokenKind.CloseParens, "Expected a field name or a closing parenthesis");
+        }
+        return type;
+    }
+
+    /**
+     * Parses statements separated by {@code :} until a token that cannot start one, returning the statement itself
+     * when there is a single one.
+     */
+    private int parseBlock() {
+        int start = _cursor.index();
+        int first = startsStatement(peek()) ? parseStatement() : error("Expected an expression");
+        if (peek() != TokenKind.Sep) {
+            return first;
+        }
+        int block = _nodes.push(NodeKind.Block, start, first);
+        int last = first;
+        while (peek() == TokenKind.Sep) {
+            _cursor.advance();
+            if (startsStatement(peek())) {
+                last = _nodes.append(block, last, parseStatement());
+            }
+        }
+        return block;
+    }
+
+    /** Parses the comma-separated blocks up to {@code close}, appending them to the children of {@code node}. */
+    private void parseList(int node, int last, TokenKind close) {
+        if (peek() == close) {
+            _cursor.advance();
+            return;
+        }
+        while (true) {
+            last = _nodes.append(node, last, parseBlock());
+            if (peek() == TokenKind.Comma) {
+                _cursor.advance();
+            } else {
+                expect(close, "Expected a comma or a closing delimiter");
+                return;
+            }
+        }
+    }
+
+    public int parseExpression(int minBindingPower) {
+        int lhs = parsePrefix();
+        while (true) {
+            TokenKind kind = peek();
+            switch (kind) {
+                case OpenParens, OpenSquare, OpenSecondSquare, Dot, OpenBracket:
+                    if (POSTFIX_BINDING_POWER < minBindingPower) {
+                        return lhs;
+                    }
+                    lhs = parsePostfix(lhs, kind);
+                    break;
+                case Operator:
+                    BinaryOperator op = _tokenizer.tokenToBinaryOperator(_tokens, _cursor.index());
+                    BindingPower bp = op.BindingPower(op);
+                    if (op == BinaryOperator.Invalid || bp.left() < minBindingPower) {
+                        return lhs;
+                    }
+                    int token = _cursor.advance();
+                    lhs = _nodes.push(NodeKind.Binary, token, lhs, parseExpression(bp.right()));
+                    break;
+                default:
+                    return lhs;
+            }
+        }
+    }
+
+    private int parsePrefix() {
+        int token = _cursor.index();
+        switch (peek()) {
+            case Num:
+                _cursor.advance();
+                return _nodes.push(NodeKind.Num, token);
+            case Str:
+                _cursor.advance();
+                return _nodes.push(NodeKind.Str, token);
+            case Date:
+                _cursor.advance();
+                return _nodes.push(NodeKind.Date, token);
+            case Err: {
+                int error = error("Malformed date literal");
+                _cursor.advance();
+                return error;
+            }
+            case Sym:
+                _cursor.advance();
+                return _nodes.push(NodeKind.Sym, token);
+            case Not:
+                _cursor.advance();
+                return _nodes.push(NodeKind.Not, token, parseExpression(NOT_BINDING_POWER));
+            case Operator:
+                if (isOperator(BinaryOperator.Sub)) {
+                    _cursor.advance();
+                    return _nodes.push(NodeKind.Negate, token, parseExpression(NEGATE_BINDING_POWER));
+                } else if (isOperator(BinaryOperator.Add)) {
+                    _cursor.advance();
+                    return parseExpression(NEGATE_BINDING_POWER);
+                }
+                break;
+            case OpenParens:
+                if (isLambda()) {
+                    return parseLambda();
+                }
+                _cursor.advance();
+                int inner = parseBlock();
+                expect(TokenKind.CloseParens, "Expected a closing parenthesis");
+                return inner;
+            case OpenSquare: {
+                _cursor.advance();
+                int array = _nodes.push(NodeKind.Array, token);
+                parseList(array, NodesBuffer.NONE, TokenKind.CloseSquare);
+                return array;
+            }
+            case OpenBracket: {
+                _cursor.advance();
+                int collection = _nodes.push(NodeKind.Collection, token);
+                parseList(collection, NodesBuffer.NONE, TokenKind.CloseBracket);
+                return collection;
+            }
+            case New:
+                _cursor.advance();
+                if (peek() != TokenKind.Sym) {
+                    return error("Expected a class name after New");
+                }
+                int instance = _nodes.push(NodeKind.New, _cursor.advance());
+                if (peek() == TokenKind.OpenParens) {
+                    _cursor.advance();
+                    parseList(instance, NodesBuffer.NONE, TokenKind.CloseParens);
+                }
+                return instance;
+            default:
+                break;
+        }
+        int error = error("Expected an expression");
+        if (peek() != TokenKind.Eof) {
+            _cursor.advance();
+        }
+        return error;
+    }
+
+    /** Tells whether the parenthesis at the current token opens the parameter list of a lambda. */
+    private boolean isLambda() {
+        int offset = 1;
+        while (peek(offset) == TokenKind.Sym || peek(offset) == TokenKind.Comma) {
+            offset++;
+        }
+        return peek(offset) == TokenKind.CloseParens && peek(offset + 1) == TokenKind.FatArrow;
+    }
+
+    private int parseLambda() {
+        int arrow = 1;
+        while (peek(arrow) != TokenKind.CloseParens) {
+            arrow++;
+        }
+        arrow += _cursor.index() + 1;
+        int lambda = _nodes.push(NodeKind.Lambda, arrow);
+        int last = NodesBuffer.NONE;
+        for (_cursor.advance(); _cursor.index() < arrow; _cursor.advance()) {
+            if (peek() == TokenKind.Sym) {
+                last = _nodes.append(lambda, last, _nodes.push(NodeKind.Sym, _cursor.index()));
+            }
+        }
+        _cursor.advance();
+        _nodes.append(lambda, last, parseExpression(0));
+        return lambda;
+    }
+
+    private int parsePostfix(int target, TokenKind kind) {
+        int token = _cursor.advance();
+        switch (kind) {
+            case OpenParens: {
+                int call = _nodes.push(NodeKind.Call, token, target);
+                parseList(call, target, TokenKind.CloseParens);
+                return call;
+            }
+            case OpenSquare: {
+                int index = _nodes.push(NodeKind.Index, token, target);
+                parseList(index, target, TokenKind.CloseSquare);
+                return index;
+            }
+            case OpenSecondSquare: {
+                int index = _nodes.push(NodeKind.SecondIndex, token, target);
+                parseList(index, target, TokenKind.CloseSquare);
+                return index;
+            }
+            case Dot:
+                if (peek() != TokenKind.Sym) {
+                    return error("Expected a member name after the dot");
+                }
+                return _nodes.push(NodeKind.Member, _cursor.advance(), target);
+            default: {
+                int filter = _nodes.push(NodeKind.Filter, token, target);
+                _nodes.append(filter, target, parseBlock());
+                expect(TokenKind.CloseBracket, "Expected a closing brace");
+                return filter;
+            }
+        }
+    }
+}
\ No newline at end of file
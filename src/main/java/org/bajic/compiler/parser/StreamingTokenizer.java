@@ -0,0 +1,171 @@
+package org.bajic.compiler.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lexes a source too large to be held as one {@code String}, reading it in fixed-size chunks and handing its tokens
+ * over in bounded batches, so memory stays constant whatever the size of the source.
+ * <p>
+ * Tokens get the same offsets and kinds as {@link Tokenizer#tokenize} on the whole source. A token cut by the end of a
+ * chunk is lexed again from its start once the next chunk is read, and a single token longer than a chunk grows the
+ * chunk until it fits.
+ */
+public class StreamingTokenizer {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    public static final int DEFAULT_BATCH_SIZE = 1 << 12;
+
+    /** Maps 64 MB of a file at a time, so files larger than a {@link ByteBuffer} can be mapped. */
+    private static final long MAPPING_SIZE = 1 << 26;
+
+    @FunctionalInterface
+    public interface BatchHandler {
+        /**
+         * Receives the next batch of tokens. {@code window} reads the text of these tokens with the usual accessors, and
+         * neither of them may be kept once this method returns: both are reused for the next batch.
+         */
+        void tokens(Tokenizer window, TokensBuffer batch);
+    }
+
+    @FunctionalInterface
+    private interface CharSource {
+        /**
+         * Same contract as {@link Reader#read(char[], int, int)}, except that it may read nothing when the next
+         * character does not fit in {@code length}, as the two halves of a surrogate pair are decoded together.
+         */
+        int read(char[] buffer, int offset, int length) throws IOException;
+    }
+
+    private final int _chunkSize;
+    private final int _batchSize;
+
+    public StreamingTokenizer() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_BATCH_SIZE);
+    }
+
+    public StreamingTokenizer(int chunkSize, int batchSize) {
+        _chunkSize = chunkSize;
+        _batchSize = batchSize;
+    }
+
+    public void tokenize(Reader reader, BatchHandler handler) throws IOException {
+        tokenize(reader::read, handler);
+    }
+
+    public void tokenize(CharBuffer chars, BatchHandler handler) {
+        try {
+            tokenize((buffer, offset, length) -> {
+                if (!chars.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(length, chars.remaining());
+                chars.get(buffer, offset, count);
+                return count;
+            }, handler);
+        } catch (IOException e) {
+            throw new AssertionError("in-memory chars cannot fail", e);
+        }
+    }
+
+    /** Lexes a UTF-8 file, memory-mapping it rather than reading it through the heap. */
+    public void tokenize(Path utf8File, BatchHandler handler) throws IOException {
+        try (var channel = FileChannel.open(utf8File, StandardOpenOption.READ)) {
+            tokenize(new MappedUtf8Source(channel), handler);
+        }
+    }
+
+    private void tokenize(CharSource source, BatchHandler handler) throws IOException {
+        char[] window = new char[_chunkSize];
+        int filled = 0;
+        int base = 0;
+        var batch = new TokensBuffer(0, _batchSize);
+        while (true) {
+            boolean complete = false;
+            while (filled < window.length) {
+                int read = source.read(window, filled, window.length - filled);
+                if (read < 0) {
+                    complete = true;
+                    break;
+                }
+                if (read == 0) {
+                    break;
+                }
+                filled += read;
+            }
+
+            var tokenizer = new Tokenizer(new String(window, 0, filled), base, complete);
+            while (tokenizer.tokenizeWindow(batch, _batchSize)) {
+                handler.tokens(tokenizer, batch);
+                batch.clear();
+            }
+            if (batch.length() > 0) {
+                handler.tokens(tokenizer, batch);
+                batch.clear();
+            }
+            if (complete) {
+                return;
+            }
+
+            int consumed = tokenizer.position() - base;
+            if (consumed == 0) {
+                window = Arrays.copyOf(window, window.length * 2);
+            } else {
+                System.arraycopy(window, consumed, window, 0, filled - consumed);
+                filled -= consumed;
+                base += consumed;
+            }
+        }
+    }
+
+    private static final class MappedUtf8Source implements CharSource {
+        private final FileChannel _channel;
+        private final CharsetDecoder _decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private ByteBuffer _mapping = ByteBuffer.allocate(0);
+        private long _mappingStart = 0;
+        private boolean _flushed = false;
+
+        MappedUtf8Source(FileChannel channel) {
+            _channel = channel;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (_flushed) {
+                return -1;
+            }
+            var out = CharBuffer.wrap(buffer, offset, length);
+            while (out.hasRemaining()) {
+                long size = _channel.size();
+                boolean endOfInput = _mappingStart + _mapping.limit() >= size;
+                CoderResult result = _decoder.decode(_mapping, out, endOfInput);
+                if (result.isOverflow()) {
+                    break;
+                }
+                if (!endOfInput) {
+                    _mappingStart += _mapping.position();
+                    _mapping = _channel.map(FileChannel.MapMode.READ_ONLY, _mappingStart, Math.min(MAPPING_SIZE, size - _mappingStart));
+                    continue;
+                }
+                if (_decoder.flush(out).isUnderflow()) {
+                    _flushed = true;
+                }
+                break;
+            }
+            int read = out.position() - offset;
+            return read == 0 && _flushed ? -1 : read;
+        }
+    }
+}
\ No newline at end of file
@@ -1,33 +1,53 @@
 package org.bajic.compiler.parser;
 
-import java.util.Objects;
-import java.util.Set;
-
-public record Symbol(SymKind Kind, String Path, String Name)
+/**
+ * A variable or function name, with the kind its sigil gives it and the {@code Path!} prefix it may be qualified with.
+ * <p>
+ * Symbols are interned: the same path and name, in any case, always give the same instance. Equality is therefore
+ * identity, the hash is computed once, and each symbol has a dense integer {@link #Id()} usable as an array index.
+ * The path and name of a symbol are case-folded, lower case in practice: messages and members show the spelling of
+ * the source instead.
+ */
+public final class Symbol
 {
-    private static final Set<Character> sigils = Set.of('@', '$', '#', '%', '£', 'μ');
+    private final SymKind _kind;
+    private final String _path;
+    private final String _name;
+    private final int _id;
+    private final int _hash;
+
+    Symbol(SymKind kind, String path, String name, int id, int hash)
+    {
+        _kind = kind;
+        _path = path;
+        _name = name;
+        _id = id;
+        _hash = hash;
+    }
+
+    private static final SymbolTable _table = new SymbolTable();
+
+    public SymKind Kind() { return _kind; }
+
+    public String Path() { return _path; }
+
+    public String Name() { return _name; }
 
-    public boolean IsGlobalBuiltIn() { return Kind == SymKind.Builtin && Path.isEmpty(); }
+    /** Position of the symbol in the order symbols were first interned, from 0. */
+    public int Id() { return _id; }
+
+    public boolean IsGlobalBuiltIn() { return _kind == SymKind.Builtin && _path.isEmpty(); }
 
     @Override
-    public boolean equals(Object symbol) {
-        if (symbol instanceof Symbol sym)
-        {
-            return
-                Kind == sym.Kind && 
-                Path.equalsIgnoreCase(sym.Path) && 
-                Name.equalsIgnoreCase(sym.Name);
-        }
-        return false;
+    public int hashCode() {
+        return _hash;
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hash(
-            Kind, 
-            Path.toLowerCase(), 
-            Name.toLowerCase()
-        );
+    public String toString() {
+        String text = _path.isEmpty() ? _name : _path + "!" + _name;
+        char sigil = Sigil(_kind);
+        return sigil == 0 ? text : text + sigil;
     }
 
     private static SymKind SymKindFromSigil(char sigil)
@@ -38,40 +58,89 @@ public record Symbol(SymKind Kind, String Path, String Name)
             case '#' -> SymKind.Constant;
             case '%' -> SymKind.Context;
             case '£' -> SymKind.Family;
-            case 'μ' -> SymKind.Global;
+            case 'μ', 'µ' -> SymKind.Global;
             default -> SymKind.Builtin;
         };
     }
 
+    private static char Sigil(SymKind kind)
+    {
+        return switch(kind) {
+            case Local -> '@';
+            case PageScope -> '$';
+            case Constant -> '#';
+            case Context -> '%';
+            case Family -> '£';
+            case Global -> 'μ';
+            case Builtin -> 0;
+        };
+    }
+
     public static Symbol FromText(String sym)
     {
-        SymKind kind = SymKind.Builtin;
-        char sigil = sym.charAt(sym.length()-1);
+        return FromChars(sym, 0, sym.length());
+    }
 
-        if (sigils.contains(sigil))
+    /**
+     * Interns the symbol spelled by {@code src[start, end)}. Looking up a symbol that was already interned does not
+     * allocate.
+     */
+    public static Symbol FromChars(String src, int start, int end)
+    {
+        SymKind kind = SymKindFromSigil(src.charAt(end - 1));
+        if (kind != SymKind.Builtin)
+        {
+            end--;
+        }
+        Symbol symbol = _table.find(kind, src, start, end);
+        if (symbol != null)
+        {
+            return symbol;
+        }
+        int bang = PathSeparator(src, start, end);
+        if (bang >= 0)
         {
-            kind = SymKindFromSigil(sigil);
-            sym = sym.substring(sym.length()-1);
+            return _table.intern(kind, src.substring(start, bang), src.substring(bang + 1, end));
         }
-        String[] pathSym = sym.split("!");
-        if (pathSym.length == 2)
-            return new Symbol(kind, pathSym[0], pathSym[1]);
-        else
-            return new Symbol(kind, "", sym);
+        return _table.intern(kind, "", src.substring(start, end));
+    }
+
+    /** Position of the {@code !} between the path and the name, or -1 when there is no single one followed by a name. */
+    private static int PathSeparator(String src, int start, int end)
+    {
+        int bang = -1;
+        for (int i = start; i < end; i++)
+        {
+            if (src.charAt(i) == '!')
+            {
+                if (bang >= 0)
+                {
+                    return -1;
+                }
+                bang = i;
+            }
+        }
+        return bang == end - 1 ? -1 : bang;
+    }
+
+    /** The symbol with the given {@link #Id()}. */
+    public static Symbol FromId(int id)
+    {
+        return _table.get(id);
     }
 
     public static Symbol BuiltIn(String name)
     {
-        return new Symbol(SymKind.Builtin, "", name);
+        return _table.intern(SymKind.Builtin, "", name);
     }
 
     public static Symbol Local(String name)
     {
-        return new Symbol(SymKind.Local, "", name);
+        return _table.intern(SymKind.Local, "", name);
     }
 
     public static Symbol Context(String name)
     {
-        return new Symbol(SymKind.Context, "", name);
+        return _table.intern(SymKind.Context, "", name);
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package org.bajic.compiler.parser;
+
+import java.util.Arrays;
+
+/**
+ * Interner behind {@link Symbol}: one open-addressing table per {@link SymKind}, keyed by the case-folded
+ * {@code Path!Name} text, and the list of all symbols by id. Symbols hold their path and name folded, so that they do
+ * not depend on the spelling they happened to be interned with first.
+ * <p>
+ * Lookups read the tables without locking, straight from the source chars, so finding a symbol that already exists
+ * neither allocates nor blocks. Insertions are serialized; a lookup racing with one may miss the new symbol and then
+ * finds it again under the lock.
+ */
+final class SymbolTable {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Replaced as a whole when a table grows, so that readers see the grown table and every symbol moved to it. */
+    private volatile Symbol[][] _tables = new Symbol[SymKind.values().length][];
+    private final int[] _sizes = new int[SymKind.values().length];
+    private Symbol[] _byId = new Symbol[INITIAL_CAPACITY];
+    private int _count = 0;
+
+    SymbolTable() {
+        Symbol[][] tables = new Symbol[SymKind.values().length][];
+        for (int i = 0; i < tables.length; i++) {
+            tables[i] = new Symbol[INITIAL_CAPACITY];
+        }
+        _tables = tables;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static String fold(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /** Hash of the kind and of the chars folded the way {@link String#equalsIgnoreCase} compares them. */
+    private static int hash(SymKind kind, String src, int start, int end) {
+        int hash = kind.ordinal();
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + fold(src.charAt(i));
+        }
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(Symbol symbol, String src, int start, int end) {
+        String path = symbol.Path();
+        String name = symbol.Name();
+        if (path.isEmpty()) {
+            return name.length() == end - start && src.regionMatches(true, start, name, 0, name.length());
+        }
+        int pathEnd = start + path.length();
+        return path.length() + 1 + name.length() == end - start
+            && src.regionMatches(true, start, path, 0, path.length())
+            && src.charAt(pathEnd) == '!'
+            && src.regionMatches(true, pathEnd + 1, name, 0, name.length());
+    }
+
+    /** The symbol of {@code kind} spelled {@code src[start, end)}, sigil excluded, or {@code null} if not interned yet. */
+    Symbol find(SymKind kind, String src, int start, int end) {
+        return find(_tables[kind.ordinal()], hash(kind, src, start, end), src, start, end);
+    }
+
+    private static Symbol find(Symbol[] table, int hash, String src, int start, int end) {
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Symbol symbol = table[i];
+            if (symbol == null) {
+                return null;
+            }
+            if (symbol.hashCode() == hash && matches(symbol, src, start, end)) {
+                return symbol;
+            }
+        }
+    }
+
+    synchronized Symbol intern(SymKind kind, String path, String name) {
+        path = fold(path);
+        name = fold(name);
+        String key = path.isEmpty() ? name : path + "!" + name;
+        int hash = hash(kind, key, 0, key.length());
+        Symbol[] table = _tables[kind.ordinal()];
+        Symbol existing = find(table, hash, key, 0, key.length());
+        if (existing != null) {
+            return existing;
+        }
+        if (++_sizes[kind.ordinal()] * 2 > table.length) {
+            table = rehash(table);
+            Symbol[][] tables = _tables.clone();
+            tables[kind.ordinal()] = table;
+            _tables = tables;
+        }
+        var symbol = new Symbol(kind, path, name, _count, hash);
+        insert(table, symbol);
+        if (_count == _byId.length) {
+            _byId = Arrays.copyOf(_byId, _count * 2);
+        }
+        _byId[_count++] = symbol;
+        return symbol;
+    }
+
+    private static void insert(Symbol[] table, Symbol symbol) {
+        int mask = table.length - 1;
+        int i = symbol.hashCode() & mask;
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table[i] = symbol;
+    }
+
+    private static Symbol[] rehash(Symbol[] table) {
+        var larger = new Symbol[table.length * 2];
+        for (Symbol symbol : table) {
+            if (symbol != null) {
+                insert(larger, symbol);
+            }
+        }
+        return larger;
+    }
+
+    synchronized Symbol get(int id) {
+        if (id < 0 || id >= _count) {
+            throw new IllegalArgumentException("No symbol with id " + id);
+        }
+        return _byId[id];
+    }
+}
\ No newline at end of file
@@ -1,3 +0,0 @@
-package org.bajic.compiler.parser;
-
-public record Time(int Hour, int Minute, double Seconds) {}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package org.bajic.compiler.parser;
+
+/**
+ * A position in a {@link TokensBuffer}, moved forward and backward one token at a time. Past either end, the kind of
+ * the token is {@link TokenKind#Eof}, so lookahead needs no bounds check. A cursor allocates nothing once created.
+ */
+public final class TokenCursor {
+    private static final TokenKind[] KINDS = TokenKind.values();
+
+    private final TokensBuffer _tokens;
+    private int _index;
+
+    TokenCursor(TokensBuffer tokens) {
+        _tokens = tokens;
+    }
+
+    public int index() {
+        return _index;
+    }
+
+    public void seek(int index) {
+        _index = index;
+    }
+
+    /** Moves to the next token, returning the index of the current one. */
+    public int advance() {
+        return _index++;
+    }
+
+    /** Moves to the previous token, returning the index of the current one. */
+    public int retreat() {
+        return _index--;
+    }
+
+    public boolean atEnd() {
+        return _index >= _tokens.length();
+    }
+
+    public TokenKind kind() {
+        return peek(0);
+    }
+
+    /** Kind of the token {@code offset} tokens after the current one, or before it when negative. */
+    public TokenKind peek(int offset) {
+        int i = _index + offset;
+        return i >= 0 && i < _tokens.length() ? KINDS[_tokens.kindOrdinal(i)] : TokenKind.Eof;
+    }
+
+    public int start() {
+        return _tokens.getStart(_index);
+    }
+
+    public int end() {
+        return _tokens.getEnd(_index);
+    }
+
+    public int length() {
+        return _tokens.getLength(_index);
+    }
+}
\ No newline at end of file
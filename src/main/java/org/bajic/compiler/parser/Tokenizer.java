@@ -1,25 +1,65 @@
 package org.bajic.compiler.parser;
 
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 public class Tokenizer {
 
     private final String _src;
+    private final int _base;
+    private final boolean _complete;
 
     public Tokenizer(String source) {
-        _src = source;
+        this(source, 0, true);
+    }
+
+    /**
+     * Tokenizer over a window of a larger source: {@code window} starts at offset {@code base} of that source, and
+     * {@code complete} tells whether the window runs up to the end of it. See {@link #tokenizeWindow}.
+     */
+    Tokenizer(String window, int base, boolean complete) {
+        _src = window;
+        _base = base;
+        _complete = complete;
     }
 
-    private static final Set<Character> SEPARATORS = Set.of(':', ',', '(', ')', '[', ']', '{', '}', ' ', '\t', '\r', '\n',
-            '=', '<', '>', '&', '+', '-', '*', '/', '.', '²', '`');
-    private static final Set<Character> OPERATORS = Set.of(':', ',', '(', ')', '[', ']', '{', '}', '=', '<', '>', '&', '+', '-', '*', '/', '^', '.', '²', '`');
-    private static final Set<String> TWO_CHAR_OPERATORS = Set.of(":=", "<=", ">=", "=>", "`[", "²[", "<>");
-    private static final Pattern DATE_REGEX = Pattern.compile("(\\d{2})\\/(\\d{2})\\/(\\d{4})(?:\\s(\\d{2}):(\\d{2}):(\\d{2}))?");
+    private static final byte SEPARATOR = 1;
+    private static final byte OPERATOR = 2;
+    private static final byte DIGIT = 4;
+
+    /**
+     * Character classes of the Latin-1 range, indexed by char. Every char above it is a plain symbol char.
+     */
+    private static final byte[] CHAR_CLASSES = new byte[256];
+
+    static {
+        for (char c : ":,()[]{}=<>&+-*/.²`".toCharArray()) {
+            CHAR_CLASSES[c] |= SEPARATOR | OPERATOR;
+        }
+        for (char c : " \t\r\n".toCharArray()) {
+            CHAR_CLASSES[c] |= SEPARATOR;
+        }
+        CHAR_CLASSES['^'] |= OPERATOR;
+        for (char c = '0'; c <= '9'; c++) {
+            CHAR_CLASSES[c] |= DIGIT;
+        }
+    }
 
     private int _pos = 0;
 
+    private static boolean hasClass(char c, byte charClass) {
+        return c < CHAR_CLASSES.length && (CHAR_CLASSES[c] & charClass) != 0;
+    }
+
+    private static boolean isSeparator(char c) {
+        return hasClass(c, SEPARATOR);
+    }
+
+    private static boolean isOperator(char c) {
+        return hasClass(c, OPERATOR);
+    }
+
+    private static boolean isNumeric(char c) {
+        return hasClass(c, DIGIT);
+    }
+
     private boolean hasNextChar() {
         return _pos < _src.length() - 1;
     }
@@ -39,51 +79,71 @@ public class Tokenizer {
     private void consumeUntilChar(char c) {
         do {
             consumeChar();
-        } while (currentChar() != c && hasNextChar());
+        } while (hasNextChar() && currentChar() != c);
+    }
+
+    /** Consumes the closing delimiter of a string or date, which an unterminated literal at the end of input lacks. */
+    private void consumeDelimiter() {
+        _pos = Math.min(_pos + 1, _src.length());
+    }
+
+    private void emit(TokensBuffer buffer, int start, int end, TokenKind kind) {
+        buffer.push(_base + start, _base + end, kind);
     }
 
     private boolean consumeString(TokensBuffer buffer) {
         int tokStart = _pos;
         consumeUntilChar('"');
-        while (currentChar() == '"' && hasNextChar() && nextChar() == '"') {
+        while (hasNextChar() && currentChar() == '"' && nextChar() == '"') {
             consumeChar();
             consumeUntilChar('"');
         }
-        consumeChar();
+        consumeDelimiter();
         int tokEnd = _pos;
-        buffer.push(tokStart, tokEnd, TokenKind.Str);
+        emit(buffer, tokStart, tokEnd, TokenKind.Str);
         return true;
     }
 
     public boolean consumeSymbol(TokensBuffer buffer) {
         int tokStart = _pos;
-        while (_pos < _src.length() && !SEPARATORS.contains(currentChar())) {
+        while (_pos < _src.length() && !isSeparator(currentChar())) {
             consumeChar();
         }
         int tokEnd = _pos;
-        String sym = _src.substring(tokStart, tokEnd);
-        TokenKind kind;
-        if (BinaryOperator.IsOperator(sym)) {
-            kind = TokenKind.Operator;
-        } else if (sym.equalsIgnoreCase("not")) {
-            kind = TokenKind.Not;
-        } else if (sym.equalsIgnoreCase("dim")) {
-            kind = TokenKind.Dim;
-        } else if (sym.equalsIgnoreCase("as")) {
-            kind = TokenKind.As;
-        } else if (sym.equalsIgnoreCase("new")) {
-            kind = TokenKind.New;
-        } else if (sym.equalsIgnoreCase("class")) {
-            kind = TokenKind.Class;
-        } else {
-            kind = TokenKind.Sym;
-        }
-        buffer.push(tokStart, tokEnd, kind);
+        emit(buffer, tokStart, tokEnd, symbolKind(tokStart, tokEnd));
         return true;
     }
 
-    private static boolean isNumeric(char c) {
-        return c >= '0' && c <= '9';
+    private boolean matchesKeyword(int start, String keyword) {
+        return _src.regionMatches(true, start, keyword, 0, keyword.length());
+    }
+
+    /**
+     * Classifies the word {@code _src[start, end)} in place: keywords can only be of a handful of lengths, so most
+     * symbols are decided by a single switch without looking at their chars.
+     */
+    private TokenKind symbolKind(int start, int end) {
+        int length = end - start;
+        switch (length) {
+            case 2, 3, 5, 6, 7:
+                if (BinaryOperator.OperatorFromChars(_src, start, end) != BinaryOperator.Invalid) {
+                    return TokenKind.Operator;
+                }
+                if (length == 2 && matchesKeyword(start, "as")) {
+                    return TokenKind.As;
+                } else if (length == 5 && matchesKeyword(start, "class")) {
+                    return TokenKind.Class;
+                } else if (length == 3 && matchesKeyword(start, "not")) {
+                    return TokenKind.Not;
+                } else if (length == 3 && matchesKeyword(start, "dim")) {
+                    return TokenKind.Dim;
+                } else if (length == 3 && matchesKeyword(start, "new")) {
+                    return TokenKind.New;
+                }
+                return TokenKind.Sym;
+            default:
+                return TokenKind.Sym;
+        }
     }
 
     private boolean consumeNumber(TokensBuffer buffer) {
@@ -93,86 +153,79 @@ public class Tokenizer {
         }
         consumeChar();
         int tokEnd = _pos;
-        buffer.push(tokStart, tokEnd, TokenKind.Num);
+        emit(buffer, tokStart, tokEnd, TokenKind.Num);
         return true;
     }
 
+    /** Consumes a date literal, which becomes an {@link TokenKind#Err} token unless {@link DateLiteral} accepts it. */
     public boolean consumeDate(TokensBuffer buffer) {
         int tokStart = _pos;
         consumeUntilChar('#');
-        int tokEnd = _pos;
-        Matcher matcher = DATE_REGEX.matcher(_src.substring(tokStart + 1, tokEnd));
-        TokenKind kind;
-        if (matcher.groupCount() == 0) {
-            kind = TokenKind.Err;
-        } else {
-            kind = TokenKind.Date;
-        }
-        consumeChar();
-        buffer.push(tokStart, tokEnd + 1, kind);
+        boolean closed = _pos < _src.length() && currentChar() == '#';
+        consumeDelimiter();
+        boolean valid = closed && DateLiteral.scan(_src, tokStart + 1, _pos - 1) != DateLiteral.MALFORMED;
+        emit(buffer, tokStart, _pos, valid ? TokenKind.Date : TokenKind.Err);
         return true;
     }
 
+    private static boolean isTwoCharOperator(char first, char second) {
+        return switch (first) {
+            case ':', '<', '>' -> second == '=' || (first == '<' && second == '>');
+            case '=' -> second == '>';
+            case '`', '²' -> second == '[';
+            default -> false;
+        };
+    }
+
     private boolean consumeOperator(TokensBuffer buffer) {
         int tokStart = _pos;
-        int tokEnd = _pos + 1;
-        if (tokStart + 2 <= _src.length() && TWO_CHAR_OPERATORS.contains(_src.substring(tokStart, tokStart + 2))) {
-            consumeChar();
-            tokEnd++;
-        }
-        String op = _src.substring(tokStart, tokEnd);
+        char first = currentChar();
         TokenKind kind;
-        if (BinaryOperator.IsOperator(op)) {
-            kind = TokenKind.Operator;
-        } else if (op.equals("(")) {
-            kind = TokenKind.OpenParens;
-        } else if (op.equals(")")) {
-            kind = TokenKind.CloseParens;
-        } else if (op.equals("[")) {
-            kind = TokenKind.OpenSquare;
-        } else if (op.equals("²[") || op.equals("`[")) {
-            kind = TokenKind.OpenSecondSquare;
-        } else if (op.equals("]")) {
-            kind = TokenKind.CloseSquare;
-        } else if (op.equals("{")) {
-            kind = TokenKind.OpenBracket;
-        } else if (op.equals("}")) {
-            kind = TokenKind.CloseBracket;
-        } else if (op.equals(",")) {
-            kind = TokenKind.Comma;
-        } else if (op.equals(".")) {
-            kind = TokenKind.Dot;
-        } else if (op.equals(":")) {
-            kind = TokenKind.Sep;
-        } else if (op.equals(":=")) {
-            kind = TokenKind.Assign;
-        } else if (op.equals("=>")) {
-            kind = TokenKind.FatArrow;
+        if (tokStart + 2 <= _src.length() && isTwoCharOperator(first, nextChar())) {
+            consumeChar();
+            kind = switch (first) {
+                case ':' -> TokenKind.Assign;
+                case '=' -> TokenKind.FatArrow;
+                case '`', '²' -> TokenKind.OpenSecondSquare;
+                default -> TokenKind.Operator;
+            };
         } else {
-            kind = TokenKind.Operator;
+            kind = switch (first) {
+                case '(' -> TokenKind.OpenParens;
+                case ')' -> TokenKind.CloseParens;
+                case '[' -> TokenKind.OpenSquare;
+                case ']' -> TokenKind.CloseSquare;
+                case '{' -> TokenKind.OpenBracket;
+                case '}' -> TokenKind.CloseBracket;
+                case ',' -> TokenKind.Comma;
+                case '.' -> TokenKind.Dot;
+                case ':' -> TokenKind.Sep;
+                default -> TokenKind.Operator;
+            };
         }
         consumeChar();
-        buffer.push(tokStart, tokEnd, kind);
+        emit(buffer, tokStart, _pos, kind);
         return true;
     }
 
-    private boolean next(TokensBuffer buffer) {
+    boolean next(TokensBuffer buffer) {
         while (_pos < _src.length()) {
-            switch (currentChar()) {
+            char c = currentChar();
+            switch (c) {
                 case '\n', '\r', '\t', ' ':
                     consumeChar();
                     continue;
                 case '\'':
                     consumeUntilChar('\n');
-                    return next(buffer);
+                    continue;
                 case '"':
                     return consumeString(buffer);
                 case '#':
                     return consumeDate(buffer);
                 default:
-                    if (isNumeric(currentChar())) {
+                    if (isNumeric(c)) {
                         return consumeNumber(buffer);
-                    } else if (OPERATORS.contains(currentChar())) {
+                    } else if (isOperator(c)) {
                         return consumeOperator(buffer);
                     } else {
                         return consumeSymbol(buffer);
@@ -186,16 +239,120 @@ public class Tokenizer {
         while (next(buffer)) {}
     }
 
+    /**
+     * Lexes the window until it is exhausted, in which case it returns false, or until {@code buffer} holds
+     * {@code maxLength} tokens.
+     * <p>
+     * Unless the window is complete, a token whose scan reached the end of the window may be cut short, so it is dropped
+     * and lexing stops in front of it, as well as in front of the whitespace and comments before it. Every decision the
+     * scanner takes for a token that ends earlier looks at chars that are in the window. {@link #position()} then tells
+     * where the next window must start.
+     */
+    boolean tokenizeWindow(TokensBuffer buffer, int maxLength) {
+        while (buffer.length() < maxLength) {
+            int resume = _pos;
+            int length = buffer.length();
+            if (!next(buffer)) {
+                _pos = resume;
+                return false;
+            }
+            if (!_complete && _pos >= _src.length()) {
+                buffer.truncate(length);
+                _pos = resume;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Offset, in the whole source, of the next char to lex. */
+    int position() {
+        return _base + _pos;
+    }
+
+    void seek(int position) {
+        _pos = position - _base;
+    }
+
+    /**
+     * Lexes the tokens the lexer reaches from {@code from} while it stands before {@code until}, and returns where it
+     * stopped, which is at or past {@code until} unless the source ended. The last token may end past {@code until}.
+     */
+    int tokenizeRange(TokensBuffer buffer, int from, int until) {
+        seek(from);
+        while (position() < until && next(buffer)) {}
+        return position();
+    }
+
+    /**
+     * Applies the edit replacing {@code [editStart, editEnd)} of this source by {@code replacement} to {@code buffer},
+     * which must hold the tokens of this source, and returns the tokenizer of the edited source.
+     */
+    public Tokenizer retokenize(TokensBuffer buffer, int editStart, int editEnd, String replacement) {
+        String src = _src.substring(0, editStart).concat(replacement).concat(_src.substring(editEnd));
+        return retokenize(buffer, src, editStart, editEnd, replacement.length());
+    }
+
+    /**
+     * Same as {@link #retokenize(TokensBuffer, int, int, String)} for callers that already hold the edited source, in
+     * which {@code [editStart, editEnd)} of this source became {@code [editStart, editStart + replacementLength)}.
+     * <p>
+     * Between two tokens the lexer carries no state besides its position, so lexing restarts at the end of the last
+     * token that ends before the edit, and stops as soon as it lands on the end of an old token past the edit: from there
+     * on both token streams are the same, shifted by the length difference. Strings, dates and comments spanning several
+     * lines are therefore handled like any other token, and only the tokens the edit actually touched are lexed again.
+     */
+    public Tokenizer retokenize(TokensBuffer buffer, String editedSource, int editStart, int editEnd, int replacementLength) {
+        var tokenizer = new Tokenizer(editedSource);
+        int delta = replacementLength - (editEnd - editStart);
+        int newEditEnd = editStart + replacementLength;
+
+        int first = firstTokenEndingAtOrAfter(buffer, editStart);
+        tokenizer._pos = first > 0 ? buffer.getEnd(first - 1) : 0;
+
+        var relexed = new TokensBuffer(0, 16);
+        int old = first;
+        while (tokenizer.next(relexed)) {
+            if (tokenizer._pos < newEditEnd) {
+                continue;
+            }
+            int oldPos = tokenizer._pos - delta;
+            while (old < buffer.length() && buffer.getEnd(old) < oldPos) {
+                old++;
+            }
+            if (old < buffer.length() && buffer.getEnd(old) == oldPos) {
+                buffer.splice(first, old + 1, relexed, delta);
+                return tokenizer;
+            }
+        }
+        buffer.splice(first, buffer.length(), relexed, delta);
+        return tokenizer;
+    }
+
+    private static int firstTokenEndingAtOrAfter(TokensBuffer buffer, int offset) {
+        int low = 0;
+        int high = buffer.length();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getEnd(mid) < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     public String asRawString(TokensBuffer buffer, int i) {
-        return _src.substring(buffer.getStart(i), buffer.getEnd(i));
+        return _src.substring(buffer.getStart(i) - _base, buffer.getEnd(i) - _base);
     }
 
     public String asString(TokensBuffer buffer, int i) {
-        return _src.substring(buffer.getStart(i) + 1, buffer.getEnd(i) - 1).replace("\"\"", "\"");
+        return _src.substring(buffer.getStart(i) - _base + 1, buffer.getEnd(i) - _base - 1).replace("\"\"", "\"");
     }
 
     public Symbol asSymbol(TokensBuffer buffer, int i) {
-        return Symbol.FromText(asRawString(buffer, i));
+        return Symbol.FromChars(_src, buffer.getStart(i) - _base, buffer.getEnd(i) - _base);
     }
 
     public double asNumber(TokensBuffer buffer, int i) {
@@ -203,29 +360,16 @@ public class Tokenizer {
     }
 
     public boolean tokenIsSeparator(TokensBuffer buffer, int i) {
-        String tok = asRawString(buffer, i);
-        return !tok.isEmpty() && SEPARATORS.contains(tok.charAt(0));
+        int start = buffer.getStart(i);
+        return start < buffer.getEnd(i) && isSeparator(_src.charAt(start - _base));
     }
 
     public BinaryOperator tokenToBinaryOperator(TokensBuffer buffer, int i) {
-        return BinaryOperator.OperatorFromText(asRawString(buffer, i));
-    }
-
-    public DateValue asDate(TokensBuffer buffer, int i) {
-        Matcher matcher = DATE_REGEX.matcher(asRawString(buffer, i));
-        Time time = null;
-        if (matcher.groupCount() == 7) {
-            time = new Time(
-                Integer.parseInt(matcher.group(4)),
-                Integer.parseInt(matcher.group(5)),
-                Integer.parseInt(matcher.group(6))
-            );
-        }
-        return new DateValue(
-            Integer.parseInt(matcher.group(3)),
-            Integer.parseInt(matcher.group(1)),
-            Integer.parseInt(matcher.group(2)),
-            time
-        );
+        return BinaryOperator.OperatorFromChars(_src, buffer.getStart(i) - _base, buffer.getEnd(i) - _base);
+    }
+
+    /** Milliseconds since the epoch of the date literal at {@code i}, which the lexer already validated. */
+    public long asDate(TokensBuffer buffer, int i) {
+        return DateLiteral.scan(_src, buffer.getStart(i) - _base + 1, buffer.getEnd(i) - _base - 1);
     }
 }
@@ -1,26 +1,84 @@
 package org.bajic.compiler.parser;
 
+import java.nio.LongBuffer;
 import java.util.Arrays;
 
+/**
+ * Tokens packed in one {@code long} each: the start offset in the high 31 bits, the length in the next 28 and the
+ * kind ordinal in the low 5, which takes 8 bytes per token where three ints took 12, and decodes with shifts and
+ * masks only. The array grows by half, which keeps less unused capacity than doubling. Parsers walk the tokens with a
+ * {@link TokenCursor}.
+ * <p>
+ * To keep edits cheap ({@link #splice}) the tokens are stored around a gap that sits where the last edit happened,
+ * and the offsets after that edit are moved by a pending shift added on read, so an edit only costs the distance from
+ * the previous one rather than the size of the buffer. Both corrections are computed without branching.
+ */
 public class TokensBuffer {
+    private static final TokenKind[] KINDS = TokenKind.values();
+
+    private static final int KIND_BITS = 5;
+    private static final int LENGTH_BITS = 28;
+    private static final int START_SHIFT = KIND_BITS + LENGTH_BITS;
+    private static final long KIND_MASK = (1L << KIND_BITS) - 1;
+    private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+    /** Longest token that can be stored; longer string literals are rejected. */
+    public static final int MAX_TOKEN_LENGTH = (int)LENGTH_MASK;
+
+    static {
+        assert KINDS.length <= 1 << KIND_BITS;
+    }
+
     private int _length = 0;
-    private int[] _positions;
+    private long[] _tokens;
+    private int _gapStart = 0;
+    private int _gapLength = 0;
+    private int _shiftFrom = 0;
+    private int _shift = 0;
 
     public TokensBuffer(int length, int capacity) {
         _length = length;
-        _positions = new int[capacity * 3];
+        _tokens = new long[capacity];
+    }
+
+    private static long pack(int start, int end, int kind) {
+        if (end - start > MAX_TOKEN_LENGTH || start < 0) {
+            throw new IllegalArgumentException("Token [" + start + ", " + end + ") is too long");
+        }
+        return (long)start << START_SHIFT | (long)(end - start) << KIND_BITS | kind;
+    }
+
+    private int physical(int i) {
+        return i + (_gapLength & ((_gapStart - 1 - i) >> 31));
+    }
+
+    private int shift(int i) {
+        return _shift & ((_shiftFrom - 1 - i) >> 31);
     }
 
     public int getStart(int i) {
-        return _positions[i * 3];
+        return (int)(_tokens[physical(i)] >>> START_SHIFT) + shift(i);
     }
 
     public int getEnd(int i) {
-        return _positions[i * 3 + 1];
+        long token = _tokens[physical(i)];
+        return (int)(token >>> START_SHIFT) + (int)(token >>> KIND_BITS & LENGTH_MASK) + shift(i);
     }
-    
+
+    public int getLength(int i) {
+        return (int)(_tokens[physical(i)] >>> KIND_BITS & LENGTH_MASK);
+    }
+
     public TokenKind getKind(int i) {
-        return TokenKind.values()[_positions[i * 3 + 2]];
+        return KINDS[kindOrdinal(i)];
+    }
+
+    int kindOrdinal(int i) {
+        return (int)(_tokens[physical(i)] & KIND_MASK);
+    }
+
+    /** A cursor on the first token; it reads the tokens the buffer has when it moves, including the ones pushed later. */
+    public TokenCursor cursor() {
+        return new TokenCursor(this);
     }
 
     public int length() {
@@ -28,12 +86,150 @@ public class TokensBuffer {
     }
 
     public void push(int start, int end, TokenKind kind) {
-        if (_length * 3 >= _positions.length) {
-            _positions = Arrays.copyOf(_positions, _positions.length * 2);
+        if (_gapLength != 0) {
+            moveGap(_length);
+            _gapLength = 0;
+        }
+        if (_length >= _tokens.length) {
+            _tokens = Arrays.copyOf(_tokens, grownCapacity(_length + 1));
         }
-        _positions[_length * 3] = start;
-        _positions[_length * 3 + 1] = end;
-        _positions[_length * 3 + 2] = kind.ordinal();
+        int shift = shift(_length);
+        _tokens[_length] = pack(start - shift, end - shift, kind.ordinal());
         _length++;
     }
+
+    /** Pushes the tokens {@code [from, to)} of {@code other}. */
+    public void append(TokensBuffer other, int from, int to) {
+        if (_gapLength != 0 || _shift != 0 || other._gapLength != 0 || other._shift != 0) {
+            for (int i = from; i < to; i++) {
+                push(other.getStart(i), other.getEnd(i), other.getKind(i));
+            }
+            return;
+        }
+        int count = to - from;
+        if (_length + count > _tokens.length) {
+            _tokens = Arrays.copyOf(_tokens, grownCapacity(_length + count));
+        }
+        System.arraycopy(other._tokens, from, _tokens, _length, count);
+        _length += count;
+    }
+
+    private int grownCapacity(int minCapacity) {
+        return Math.max(minCapacity, _tokens.length + (_tokens.length >> 1) + 1);
+    }
+
+    /** Writes the packed token of every token to {@code out}, in order and without the gap. */
+    public void writeTo(LongBuffer out) {
+        if (_gapLength == 0 && _shift == 0) {
+            out.put(_tokens, 0, _length);
+            return;
+        }
+        for (int i = 0; i < _length; i++) {
+            out.put(pack(getStart(i), getEnd(i), kindOrdinal(i)));
+        }
+    }
+
+    /** Reads {@code length} tokens written by {@link #writeTo} from {@code in}, in a single bulk copy. */
+    public static TokensBuffer readFrom(LongBuffer in, int length) {
+        var buffer = new TokensBuffer(length, Math.max(1, length));
+        in.get(buffer._tokens, 0, length);
+        return buffer;
+    }
+
+    /**
+     * Whether every token has a known kind and lies within a text of {@code textLength} characters, which a buffer
+     * {@link #readFrom read} from a file may not.
+     */
+    public boolean isWithin(int textLength) {
+        for (int i = 0; i < _length; i++) {
+            if (kindOrdinal(i) >= KINDS.length || (long)getStart(i) + getLength(i) > textLength) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Bytes taken by the tokens, not counting the unused capacity. */
+    public long sizeInBytes() {
+        return (long)_length * Long.BYTES;
+    }
+
+    /** Drops every token from index {@code length} on. */
+    public void truncate(int length) {
+        if (_gapLength != 0) {
+            moveGap(_length);
+            _gapLength = 0;
+        }
+        _length = length;
+    }
+
+    public void clear() {
+        _length = 0;
+        _gapStart = 0;
+        _gapLength = 0;
+        _shiftFrom = 0;
+        _shift = 0;
+    }
+
+    /**
+     * Replaces the tokens {@code [from, to)} by every token of {@code replacement}, then moves the tokens that followed
+     * them by {@code delta} chars.
+     */
+    public void splice(int from, int to, TokensBuffer replacement, int delta) {
+        int inserted = replacement.length();
+        int tail = from + inserted;
+        int shiftFrom;
+        if (_shiftFrom <= from) {
+            addToOffsets(_shiftFrom, from, _shift);
+            shiftFrom = tail;
+        } else if (_shiftFrom <= to) {
+            shiftFrom = tail;
+        } else {
+            addToOffsets(to, _shiftFrom, delta);
+            shiftFrom = _shiftFrom - (to - from) + inserted;
+        }
+
+        moveGap(from);
+        _gapLength += to - from;
+        _length -= to - from;
+        if (_gapLength < inserted) {
+            growGap(inserted);
+        }
+        for (int i = 0; i < inserted; i++) {
+            _tokens[from + i] = pack(replacement.getStart(i), replacement.getEnd(i), replacement.kindOrdinal(i));
+        }
+        _gapStart = tail;
+        _gapLength -= inserted;
+        _length += inserted;
+        _shift += delta;
+        _shiftFrom = shiftFrom;
+    }
+
+    private void addToOffsets(int from, int to, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        long startDelta = (long)delta << START_SHIFT;
+        for (int i = from; i < to; i++) {
+            _tokens[physical(i)] += startDelta;
+        }
+    }
+
+    private void moveGap(int gapStart) {
+        if (gapStart < _gapStart) {
+            System.arraycopy(_tokens, gapStart, _tokens, gapStart + _gapLength, _gapStart - gapStart);
+        } else if (gapStart > _gapStart) {
+            System.arraycopy(_tokens, _gapStart + _gapLength, _tokens, _gapStart, gapStart - _gapStart);
+        }
+        _gapStart = gapStart;
+    }
+
+    private void growGap(int minGapLength) {
+        int gapLength = Math.max(minGapLength, Math.max(16, _length / 2));
+        long[] tokens = new long[Math.max(_tokens.length, _length + gapLength)];
+        System.arraycopy(_tokens, 0, tokens, 0, _gapStart);
+        System.arraycopy(_tokens, _gapStart + _gapLength, tokens, _gapStart + gapLength, _length - _gapStart);
+        _tokens = tokens;
+        _gapLength = gapLength;
+    }
 }
\ No newline at end of file
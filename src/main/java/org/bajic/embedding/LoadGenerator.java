@@ -0,0 +1,89 @@
+package org.bajic.embedding;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.bajic.BajicLanguage;
+import org.graalvm.polyglot.Source;
+
+/**
+ * Measures a {@link ScriptExecutor} by keeping a number of invocations of one script in flight until a total count is
+ * reached, and reports the throughput and the latency percentiles, from submission to completion. Failed invocations
+ * count as completed, since they ran as long as they took to fail; rejected ones, which never ran, do not.
+ */
+public final class LoadGenerator {
+
+    public record Report(int invocations, int failed, int rejected, Duration elapsed, long[] sortedLatencyNanos) {
+
+        /** Number of invocations that ran, successfully or not. */
+        public int completed() {
+            return sortedLatencyNanos.length;
+        }
+
+        /** Completed invocations per second. */
+        public double throughput() {
+            return completed() / (elapsed.toNanos() / 1e9);
+        }
+
+        /** The latency under which {@code percent} percent of the completed invocations finished. */
+        public Duration percentile(double percent) {
+            if (sortedLatencyNanos.length == 0) {
+                return Duration.ZERO;
+            }
+            int index = (int)Math.ceil(percent / 100 * sortedLatencyNanos.length) - 1;
+            return Duration.ofNanos(sortedLatencyNanos[Math.max(0, index)]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d invocations, %d completed in %d ms (%.0f/s), %d failed, %d rejected, "
+                    + "latency p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                invocations, completed(), elapsed.toMillis(), throughput(), failed, rejected,
+                percentile(50).toNanos() / 1e6, percentile(99).toNanos() / 1e6, percentile(100).toNanos() / 1e6);
+        }
+    }
+
+    private LoadGenerator() {}
+
+    /**
+     * Runs {@code invocations} of {@code script} on {@code executor}, with at most {@code concurrency} of them pending
+     * at once and the parameters of the {@code i}th one given by {@code parameters}.
+     */
+    public static Report run(ScriptExecutor executor, String script, IntFunction<Map<String, ?>> parameters,
+            int invocations, int concurrency) throws InterruptedException {
+        Source source = Source.create(BajicLanguage.ID, script);
+        long[] latencies = new long[invocations];
+        var completed = new AtomicInteger();
+        var failed = new AtomicInteger();
+        var rejected = new AtomicInteger();
+        var inFlight = new Semaphore(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < invocations; i++) {
+            inFlight.acquire();
+            long submitted = System.nanoTime();
+            CompletableFuture<Object> result = executor.submit(source, parameters.apply(i));
+            result.whenComplete((value, error) -> {
+                if (error instanceof RejectedExecutionException) {
+                    rejected.incrementAndGet();
+                } else {
+                    latencies[completed.getAndIncrement()] = System.nanoTime() - submitted;
+                    if (error != null) {
+                        failed.incrementAndGet();
+                    }
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(concurrency);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        long[] sorted = Arrays.copyOf(latencies, completed.get());
+        Arrays.sort(sorted);
+        return new Report(invocations, failed.get(), rejected.get(), elapsed, sorted);
+    }
+}
\ No newline at end of file
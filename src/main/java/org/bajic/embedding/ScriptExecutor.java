@@ -0,0 +1,217 @@
+package org.bajic.embedding;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.bajic.BajicLanguage;
+import org.bajic.runtime.BajicContext;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+
+/**
+ * Runs scripts for many concurrent callers. Each invocation runs on its own virtual thread, in a context leased from a
+ * pool of initialized contexts that share one {@link Engine}, and so the scripts that engine already compiled.
+ * <p>
+ * The parameters of an invocation are bound as {@code %} context variables for its duration; the bindings are cleared
+ * before the context goes back to the pool. Once every context is busy, up to {@code queueCapacity} invocations wait
+ * for one and any further one is rejected right away with a {@link RejectedExecutionException}. An invocation running
+ * for longer than the time limit is interrupted and fails with a {@link TimeoutException}; a context that does not
+ * stop in time is closed and replaced.
+ * <p>
+ * Page-scope {@code $}, Family {@code £} and Global {@code μ} variables are not cleared: they belong to the context, so
+ * an invocation sees the values left in them by the invocations that used its context before, and which context of the
+ * pool it gets is not specified. Scripts run here should assign these variables before reading them; only with a pool
+ * of one context do they carry state from one invocation to the next.
+ * <p>
+ * Arrays, lists and {@code ByteBuffer}s given as parameters are indexed by scripts in place, with {@link #HOST_ACCESS},
+ * and come back as they are when a script returns them.
+ */
+public final class ScriptExecutor implements AutoCloseable {
+
+    /** Host access of the contexts: members exported explicitly, and the elements of arrays, lists and buffers. */
+    public static final HostAccess HOST_ACCESS = HostAccess.newBuilder(HostAccess.EXPLICIT)
+        .allowArrayAccess(true)
+        .allowListAccess(true)
+        .allowBufferAccess(true)
+        .build();
+
+    /** How long an interrupted invocation has to stop before its context is closed. */
+    private static final Duration INTERRUPT_GRACE = Duration.ofSeconds(1);
+
+    private final Engine _engine;
+    private final Duration _timeLimit;
+    private final BlockingQueue<Context> _idle = new LinkedBlockingQueue<>();
+    private final Semaphore _admission;
+    private final ExecutorService _threads = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService _watchdog = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+        .name("bajic-watchdog").daemon().factory());
+
+    public ScriptExecutor(Engine engine, int poolSize, int queueCapacity, Duration timeLimit) {
+        if (poolSize <= 0 || queueCapacity < 0) {
+            throw new IllegalArgumentException("The pool must hold a context and the queue cannot be negative");
+        }
+        _engine = engine;
+        _timeLimit = timeLimit;
+        _admission = new Semaphore(poolSize + queueCapacity);
+        for (int i = 0; i < poolSize; i++) {
+            _idle.add(createContext());
+        }
+    }
+
+    private Context createContext() {
+        Context context = Context.newBuilder(BajicLanguage.ID)
+            .engine(_engine)
+            .allowPolyglotAccess(PolyglotAccess.newBuilder().allowBindingsAccess(BajicLanguage.ID).build())
+            .allowHostAccess(HOST_ACCESS)
+            .build();
+        context.initialize(BajicLanguage.ID);
+        return context;
+    }
+
+    /**
+     * Runs {@code script} with {@code parameters} bound to the context variables of the same names, and completes with
+     * its value as a {@code Long}, {@code Double}, {@code Boolean} or {@code String}, or {@code null} for Nothing, or
+     * a host object it was given; see {@link #toHost}.
+     */
+    public CompletableFuture<Object> submit(Source script, Map<String, ?> parameters) {
+        if (!_admission.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many pending invocations"));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> run(script, parameters), _threads)
+                .whenComplete((value, error) -> _admission.release());
+        } catch (RejectedExecutionException e) {
+            _admission.release();
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Object> submit(String script, Map<String, ?> parameters) {
+        return submit(Source.create(BajicLanguage.ID, script), parameters);
+    }
+
+    /**
+     * One use of a pooled context, which the watchdog may interrupt until it is {@link #finish finished}. Interrupting
+     * blocks for up to {@link #INTERRUPT_GRACE}, so it runs on a virtual thread of its own rather than on the watchdog,
+     * which would otherwise let the deadlines of other invocations pass meanwhile.
+     */
+    private static final class Lease {
+        private final Context _context;
+        private final ReentrantLock _lock = new ReentrantLock();
+        private boolean _finished;
+        private boolean _closed;
+
+        Lease(Context context) {
+            _context = context;
+        }
+
+        void interrupt() {
+            _lock.lock();
+            try {
+                if (_finished) {
+                    return;
+                }
+                try {
+                    _context.interrupt(INTERRUPT_GRACE);
+                } catch (TimeoutException e) {
+                    _context.close(true);
+                    _closed = true;
+                }
+            } finally {
+                _lock.unlock();
+            }
+        }
+
+        /** Stops the watchdog from interrupting the context, and tells whether it is still usable. */
+        boolean finish() {
+            _lock.lock();
+            try {
+                _finished = true;
+                return !_closed;
+            } finally {
+                _lock.unlock();
+            }
+        }
+    }
+
+    private Object run(Source script, Map<String, ?> parameters) {
+        Context context;
+        try {
+            context = _idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        var lease = new Lease(context);
+        Value bindings = context.getPolyglotBindings();
+        Runnable interrupt = () -> Thread.ofVirtual().name("bajic-interrupt").start(lease::interrupt);
+        ScheduledFuture<?> deadline = _watchdog.schedule(interrupt, _timeLimit.toNanos(), TimeUnit.NANOSECONDS);
+        try {
+            parameters.forEach((name, value) -> bindings.putMember(BajicContext.bindingKey(name), value));
+            return toHost(context.eval(script));
+        } catch (PolyglotException e) {
+            if (e.isInterrupted() || e.isCancelled()) {
+                throw new CompletionException(new TimeoutException("The script ran for longer than " + _timeLimit));
+            }
+            throw new CompletionException(e);
+        } finally {
+            deadline.cancel(false);
+            if (lease.finish()) {
+                for (String key : List.copyOf(bindings.getMemberKeys())) {
+                    bindings.removeMember(key);
+                }
+                _idle.add(context);
+            } else {
+                _idle.add(createContext());
+            }
+        }
+    }
+
+    /**
+     * The value of a script as a {@code Long}, {@code Double}, {@code Boolean} or {@code String}, or null for Nothing.
+     * A host object the script was given, such as an array, comes back as the same object.
+     */
+    public static Object toHost(Value value) {
+        if (value.isHostObject()) {
+            return value.asHostObject();
+        } else if (value.isNull()) {
+            return null;
+        } else if (value.isBoolean()) {
+            return value.asBoolean();
+        } else if (value.isNumber()) {
+            return value.as(Object.class);
+        } else if (value.isString()) {
+            return value.asString();
+        }
+        return value.toString();
+    }
+
+    /** Waits for the invocations in progress, then closes every context; the engine is left to its owner. */
+    @Override
+    public void close() {
+        _threads.close();
+        _watchdog.shutdownNow();
+        for (Context context : _idle) {
+            context.close();
+        }
+    }
+}
\ No newline at end of file
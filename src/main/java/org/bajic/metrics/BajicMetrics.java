@@ -0,0 +1,148 @@
+package org.bajic.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.bajic.compiler.ScriptCache;
+
+/**
+ * Where the compiler records how long scripts take to compile and the root nodes how long their call targets take
+ * to run. Only languages created with the {@code bajic.Metrics} option have one, so scripts run without it pay
+ * nothing.
+ * <p>
+ * Call targets are counted by source and name, so that the call targets a script gets each time it is compiled again
+ * add up instead of piling up. At most {@link #MAX_CALL_TARGETS} of them are kept, the one compiled least recently
+ * being forgotten first.
+ */
+public final class BajicMetrics implements BajicMetricsMXBean {
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    static final int MAX_CALL_TARGETS = 1024;
+
+    private record CallTargetKey(String source, String name) {}
+
+    private final ScriptCache _scriptCache;
+    private final Map<String, ScriptMetrics> _scripts = new ConcurrentHashMap<>();
+    private final LinkedHashMap<CallTargetKey, CallTargetMetrics> _callTargets = new LinkedHashMap<>(16, 0.75f, true);
+    private final ObjectName _name;
+
+    public BajicMetrics(ScriptCache scriptCache) {
+        _scriptCache = scriptCache;
+        try {
+            _name = new ObjectName("org.bajic:type=Metrics,name=" + INSTANCES.incrementAndGet());
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public ObjectName getObjectName() {
+        return _name;
+    }
+
+    /** Makes the metrics visible to JMX clients, if they are not already. */
+    public synchronized void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (!server.isRegistered(_name)) {
+                server.registerMBean(this, _name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the metrics as " + _name, e);
+        }
+    }
+
+    public synchronized void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(_name)) {
+                server.unregisterMBean(_name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister the metrics " + _name, e);
+        }
+    }
+
+    public ScriptMetrics script(String name) {
+        return _scripts.computeIfAbsent(name, ScriptMetrics::new);
+    }
+
+    /** The metrics of the call targets of {@code source} named {@code name}, for a root node to keep. */
+    public synchronized CallTargetMetrics callTarget(String name, String source) {
+        CallTargetMetrics metrics = _callTargets.computeIfAbsent(new CallTargetKey(source, name),
+                key -> new CallTargetMetrics(name, source));
+        Iterator<CallTargetMetrics> eldest = _callTargets.values().iterator();
+        while (_callTargets.size() > MAX_CALL_TARGETS) {
+            eldest.next();
+            eldest.remove();
+        }
+        return metrics;
+    }
+
+    @Override
+    public long getScriptCacheHits() {
+        return _scriptCache.hits();
+    }
+
+    @Override
+    public long getScriptCacheMisses() {
+        return _scriptCache.misses();
+    }
+
+    @Override
+    public long getScriptCacheEvictions() {
+        return _scriptCache.evictions();
+    }
+
+    @Override
+    public int getScriptCacheSize() {
+        return _scriptCache.size();
+    }
+
+    @Override
+    public List<ScriptMetrics> getScripts() {
+        var scripts = new ArrayList<>(_scripts.values());
+        scripts.sort(Comparator.comparing(ScriptMetrics::getName));
+        return scripts;
+    }
+
+    @Override
+    public List<CallTargetMetrics> getCallTargets() {
+        List<CallTargetMetrics> callTargets;
+        synchronized (this) {
+            callTargets = new ArrayList<>(_callTargets.values());
+        }
+        callTargets.sort(Comparator.comparingLong(CallTargetMetrics::getInvocations).reversed());
+        return callTargets;
+    }
+
+    @Override
+    public synchronized int getCompiledCallTargets() {
+        int compiled = 0;
+        for (CallTargetMetrics callTarget : _callTargets.values()) {
+            if (callTarget.getCompiledInvocations() > 0) {
+                compiled++;
+            }
+        }
+        return compiled;
+    }
+
+    @Override
+    public void reset() {
+        _scripts.values().forEach(ScriptMetrics::reset);
+        synchronized (this) {
+            _callTargets.values().forEach(CallTargetMetrics::reset);
+        }
+    }
+}
\ No newline at end of file
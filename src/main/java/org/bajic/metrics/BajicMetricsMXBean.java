@@ -0,0 +1,30 @@
+package org.bajic.metrics;
+
+import java.util.List;
+
+/**
+ * The metrics of a language instance, as registered with the platform MBean server under
+ * {@code org.bajic:type=Metrics,name=<n>}: one instance per engine that runs scripts with {@code bajic.Metrics}.
+ */
+public interface BajicMetricsMXBean {
+
+    long getScriptCacheHits();
+
+    long getScriptCacheMisses();
+
+    long getScriptCacheEvictions();
+
+    int getScriptCacheSize();
+
+    /** Compilation times of the scripts compiled so far, by source name. */
+    List<ScriptMetrics> getScripts();
+
+    /** The call targets of the scripts and lambdas compiled so far, by source and name, the most invoked first. */
+    List<CallTargetMetrics> getCallTargets();
+
+    /** Number of call targets that ran compiled code. */
+    int getCompiledCallTargets();
+
+    /** Forgets everything recorded so far, except the counters of the script cache. */
+    void reset();
+}
\ No newline at end of file
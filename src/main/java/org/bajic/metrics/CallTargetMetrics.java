@@ -0,0 +1,70 @@
+package org.bajic.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Invocations of the call target of a script or lambda. Invocations are counted apart when they run compiled code,
+ * which shows when and how much the call target got compiled.
+ * <p>
+ * The getters are the attributes of the call target in the {@link BajicMetricsMXBean}.
+ */
+public final class CallTargetMetrics {
+
+    private final String _name;
+    private final String _source;
+    private final LatencyHistogram _latency = new LatencyHistogram();
+    private final LongAdder _compiledInvocations = new LongAdder();
+
+    CallTargetMetrics(String name, String source) {
+        _name = name;
+        _source = source;
+    }
+
+    @TruffleBoundary
+    public void record(long nanos, boolean compiled) {
+        _latency.record(nanos);
+        if (compiled) {
+            _compiledInvocations.increment();
+        }
+    }
+
+    public String getName() {
+        return _name;
+    }
+
+    public String getSource() {
+        return _source;
+    }
+
+    public long getInvocations() {
+        return _latency.count();
+    }
+
+    public long getCompiledInvocations() {
+        return _compiledInvocations.sum();
+    }
+
+    public long getTotalNanos() {
+        return _latency.totalNanos();
+    }
+
+    public long getMedianNanos() {
+        return _latency.percentileNanos(50);
+    }
+
+    public long getP99Nanos() {
+        return _latency.percentileNanos(99);
+    }
+
+    /** Invocations by power of two of nanoseconds, as counted by a {@link LatencyHistogram}. */
+    public long[] getLatencyHistogram() {
+        return _latency.counts();
+    }
+
+    void reset() {
+        _latency.reset();
+        _compiledInvocations.reset();
+    }
+}
\ No newline at end of file
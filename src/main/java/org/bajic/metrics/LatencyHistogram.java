@@ -0,0 +1,77 @@
+package org.bajic.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts of durations by power of two of nanoseconds, which takes a fixed few hundred bytes whatever the number of
+ * durations and can be updated by many threads at once. Percentiles are known within a factor of two.
+ */
+public final class LatencyHistogram {
+
+    static final int BUCKETS = 64;
+
+    private final LongAdder[] _buckets = new LongAdder[BUCKETS];
+    private final LongAdder _totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            _buckets[i] = new LongAdder();
+        }
+    }
+
+    /** Counts a duration in the bucket {@code b} such that {@code 2^(b-1) <= nanos < 2^b}. */
+    public void record(long nanos) {
+        long duration = Math.max(0, nanos);
+        _buckets[BUCKETS - Long.numberOfLeadingZeros(duration)].increment();
+        _totalNanos.add(duration);
+    }
+
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : _buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public long totalNanos() {
+        return _totalNanos.sum();
+    }
+
+    /** The counts of the buckets; bucket {@code b} counts durations under {@code 2^b} nanoseconds. */
+    public long[] counts() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = _buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /** Upper bound of the {@code percentile}th duration, in nanoseconds, or 0 when nothing was recorded. */
+    public long percentileNanos(double percentile) {
+        long[] counts = counts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long)Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : _buckets) {
+            bucket.reset();
+        }
+        _totalNanos.reset();
+    }
+}
\ No newline at end of file
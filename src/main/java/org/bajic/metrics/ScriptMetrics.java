@@ -0,0 +1,67 @@
+package org.bajic.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time spent compiling a script, by phase: lexing, parsing, and building its nodes. Scripts whose syntax was loaded
+ * from their {@link org.bajic.compiler.SyntaxCache} file are neither lexed nor parsed, and are counted apart.
+ * <p>
+ * The getters are the attributes of the script in the {@link BajicMetricsMXBean}.
+ */
+public final class ScriptMetrics {
+
+    private final String _name;
+    private final LongAdder _compilations = new LongAdder();
+    private final LongAdder _syntaxCacheLoads = new LongAdder();
+    private final LongAdder _lexNanos = new LongAdder();
+    private final LongAdder _parseNanos = new LongAdder();
+    private final LongAdder _buildNanos = new LongAdder();
+
+    ScriptMetrics(String name) {
+        _name = name;
+    }
+
+    /** Records a compilation; the lexing and parsing times are ignored when the syntax was loaded from its cache. */
+    public void recordCompilation(boolean syntaxCached, long lexNanos, long parseNanos, long buildNanos) {
+        _compilations.increment();
+        if (syntaxCached) {
+            _syntaxCacheLoads.increment();
+        } else {
+            _lexNanos.add(lexNanos);
+            _parseNanos.add(parseNanos);
+        }
+        _buildNanos.add(buildNanos);
+    }
+
+    public String getName() {
+        return _name;
+    }
+
+    public long getCompilations() {
+        return _compilations.sum();
+    }
+
+    public long getSyntaxCacheLoads() {
+        return _syntaxCacheLoads.sum();
+    }
+
+    public long getLexNanos() {
+        return _lexNanos.sum();
+    }
+
+    public long getParseNanos() {
+        return _parseNanos.sum();
+    }
+
+    public long getBuildNanos() {
+        return _buildNanos.sum();
+    }
+
+    void reset() {
+        _compilations.reset();
+        _syntaxCacheLoads.reset();
+        _lexNanos.reset();
+        _parseNanos.reset();
+        _buildNanos.reset();
+    }
+}
\ No newline at end of file
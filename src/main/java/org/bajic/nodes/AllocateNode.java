@@ -0,0 +1,78 @@
+package org.bajic.nodes;
+
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.runtime.BajicClass;
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.BajicObject;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+
+/**
+ * Creates an instance of a class value. Sites that keep instantiating the same few classes know their fields when
+ * compiled, and set them through the cached shape transitions of the class; the others go through the uncached library.
+ * Each field is set through a library of its own, since each one sees the shape left by setting the previous ones.
+ */
+public abstract class AllocateNode extends Node {
+
+    protected static final int INLINE_CACHE_SIZE = 3;
+    /** Shapes seen when setting one field of one class: the usual one, and the one after its type is generalized. */
+    private static final int FIELD_CACHE_SIZE = 2;
+
+    /** Creates an instance of {@code type} whose fields are set to {@code arguments}. */
+    public abstract Object executeAllocate(Object type, Object[] arguments);
+
+    @Specialization(guards = "type == cachedType", limit = "INLINE_CACHE_SIZE")
+    @ExplodeLoop
+    protected Object doCached(BajicClass type, Object[] arguments,
+            @Cached("type") BajicClass cachedType,
+            @Cached(value = "createFieldLibraries(cachedType)", dimensions = 1) DynamicObjectLibrary[] fieldLibraries) {
+        Symbol[] fields = cachedType.getFields();
+        checkArity(cachedType, arguments);
+        BajicObject object = cachedType.allocate();
+        for (int i = 0; i < fields.length; i++) {
+            fieldLibraries[i].put(object, fields[i], arguments[i]);
+        }
+        return object;
+    }
+
+    protected static DynamicObjectLibrary[] createFieldLibraries(BajicClass type) {
+        var libraries = new DynamicObjectLibrary[type.getFields().length];
+        for (int i = 0; i < libraries.length; i++) {
+            libraries[i] = DynamicObjectLibrary.getFactory().createDispatched(FIELD_CACHE_SIZE);
+        }
+        return libraries;
+    }
+
+    @Specialization(replaces = "doCached")
+    @TruffleBoundary
+    protected Object doGeneric(BajicClass type, Object[] arguments) {
+        Symbol[] fields = type.getFields();
+        checkArity(type, arguments);
+        BajicObject object = type.allocate();
+        var objects = DynamicObjectLibrary.getUncached();
+        for (int i = 0; i < fields.length; i++) {
+            objects.put(object, fields[i], arguments[i]);
+        }
+        return object;
+    }
+
+    private void checkArity(BajicClass type, Object[] arguments) {
+        if (arguments.length != type.getFields().length) {
+            CompilerDirectives.transferToInterpreter();
+            throw new BajicException("New " + type.getName() + " takes " + type.getFields().length + " arguments, not "
+                + arguments.length, this);
+        }
+    }
+
+    @Fallback
+    protected Object notAClass(Object type, Object[] arguments) {
+        throw BajicException.typeError(this, "New", type);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicArray;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * {@code [elements]} or {@code {elements}}: a new array of the elements each time it is evaluated, stored in the most
+ * specific store that holds them.
+ */
+@NodeInfo(shortName = "[]")
+public final class ArrayLiteralNode extends BajicNode {
+
+    @Children private final BajicNode[] _elements;
+    private final boolean _collection;
+
+    public ArrayLiteralNode(BajicNode[] elements, boolean collection) {
+        _elements = elements;
+        _collection = collection;
+    }
+
+    @Override
+    @ExplodeLoop
+    public Object executeGeneric(VirtualFrame frame) {
+        Object[] values = new Object[_elements.length];
+        for (int i = 0; i < _elements.length; i++) {
+            values[i] = _elements[i].executeGeneric(frame);
+        }
+        return BajicArray.of(values, _collection);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package org.bajic.nodes;
+
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.GenerateWrapper;
+import com.oracle.truffle.api.instrumentation.InstrumentableNode;
+import com.oracle.truffle.api.instrumentation.ProbeNode;
+import com.oracle.truffle.api.instrumentation.StandardTags;
+import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Base of the executable nodes. The typed execute methods let parents avoid boxing when a child keeps producing the
+ * same type, and throw {@link UnexpectedResultException} with the actual value when it does not.
+ * <p>
+ * Nodes built from the source know the characters they were built from, which makes them instrumentable: expressions
+ * and statements are tagged as such, so the standard tools such as the CPU sampler or the coverage tracker see them.
+ * Nodes built by the compiler itself, such as the copy of a lambda parameter to its slot, have no source and are not
+ * instrumented.
+ */
+@GenerateWrapper
+@TypeSystemReference(BajicTypes.class)
+@NodeInfo(language = "Bajic", description = "The abstract base node for all expressions")
+public abstract class BajicNode extends Node implements InstrumentableNode {
+
+    private static final int NO_SOURCE = -1;
+
+    private int _sourceStart = NO_SOURCE;
+    private int _sourceLength;
+    private boolean _statement;
+    private boolean _rootBody;
+
+    public abstract Object executeGeneric(VirtualFrame frame);
+
+    public long executeLong(VirtualFrame frame) throws UnexpectedResultException {
+        return BajicTypesGen.expectLong(executeGeneric(frame));
+    }
+
+    public double executeDouble(VirtualFrame frame) throws UnexpectedResultException {
+        return BajicTypesGen.expectDouble(executeGeneric(frame));
+    }
+
+    public boolean executeBoolean(VirtualFrame frame) throws UnexpectedResultException {
+        return BajicTypesGen.expectBoolean(executeGeneric(frame));
+    }
+
+    public final void setSourceSection(int start, int length) {
+        _sourceStart = start;
+        _sourceLength = length;
+    }
+
+    /** Marks the node as a statement of a block. */
+    public final void setStatement() {
+        _statement = true;
+    }
+
+    /** Marks the node as the body of a script or lambda. */
+    public final void setRootBody() {
+        _rootBody = true;
+    }
+
+    @Override
+    public SourceSection getSourceSection() {
+        if (_sourceStart == NO_SOURCE) {
+            return null;
+        }
+        SourceSection rootSection = getRootNode().getSourceSection();
+        if (rootSection == null) {
+            return null;
+        }
+        Source source = rootSection.getSource();
+        return source.createSection(_sourceStart, _sourceLength);
+    }
+
+    @Override
+    public boolean isInstrumentable() {
+        return _sourceStart != NO_SOURCE;
+    }
+
+    @Override
+    public boolean hasTag(Class<? extends Tag> tag) {
+        if (tag == StandardTags.ExpressionTag.class) {
+            return !_rootBody;
+        } else if (tag == StandardTags.StatementTag.class) {
+            return _statement;
+        } else if (tag == StandardTags.RootTag.class || tag == StandardTags.RootBodyTag.class) {
+            return _rootBody;
+        }
+        return false;
+    }
+
+    @Override
+    public WrapperNode createWrapper(ProbeNode probe) {
+        return new BajicNodeWrapper(this, probe);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package org.bajic.nodes;
+
+import org.bajic.BajicLanguage;
+import org.bajic.metrics.BajicMetrics;
+import org.bajic.metrics.CallTargetMetrics;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Root of a script or of a lambda, whose value is the one of its body. When the language records
+ * {@link BajicMetrics}, each root times the invocations of its call target.
+ */
+public final class BajicRootNode extends RootNode {
+
+    @Child private BajicNode _body;
+    private final String _name;
+    private final SourceSection _sourceSection;
+    private final CallTargetMetrics _metrics;
+
+    /** Root of {@code body}, which is tagged as such; the source section is null for roots built by the language. */
+    public BajicRootNode(BajicLanguage language, FrameDescriptor frameDescriptor, BajicNode body, String name,
+            SourceSection sourceSection) {
+        super(language, frameDescriptor);
+        _body = body;
+        _name = name;
+        _sourceSection = sourceSection;
+        body.setRootBody();
+        BajicMetrics metrics = language == null ? null : language.getMetrics();
+        _metrics = metrics == null ? null : metrics.callTarget(name, sourceSection == null ? "" : sourceSection.getSource().getName());
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        if (_metrics == null) {
+            return _body.executeGeneric(frame);
+        }
+        long start = System.nanoTime();
+        try {
+            return _body.executeGeneric(frame);
+        } finally {
+            _metrics.record(System.nanoTime() - start, CompilerDirectives.inCompiledCode());
+        }
+    }
+
+    @Override
+    public SourceSection getSourceSection() {
+        return _sourceSection;
+    }
+
+    @Override
+    public String getName() {
+        return _name;
+    }
+
+    @Override
+    public String toString() {
+        return _name;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicDate;
+import org.bajic.runtime.BajicRope;
+
+import com.oracle.truffle.api.dsl.ImplicitCast;
+import com.oracle.truffle.api.dsl.TypeSystem;
+
+/**
+ * Types the nodes specialize on. Integers widen to doubles implicitly, so a double specialization also covers mixed
+ * operands, and integer arithmetic that overflows falls back to it. Ropes flatten to strings implicitly, so only the
+ * nodes that keep them as ropes need to know about them.
+ */
+@TypeSystem({ long.class, double.class, boolean.class, String.class, BajicRope.class, BajicDate.class })
+public abstract class BajicTypes {
+
+    @ImplicitCast
+    public static double castDouble(long value) {
+        return value;
+    }
+
+    @ImplicitCast
+    public static String castString(BajicRope rope) {
+        return rope.toString();
+    }
+}
\ No newline at end of file
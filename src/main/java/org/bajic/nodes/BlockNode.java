@@ -0,0 +1,30 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicNull;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Statements run in order; the value of the block is the one of the last statement.
+ */
+@NodeInfo(shortName = "block")
+public final class BlockNode extends BajicNode {
+
+    @Children private final BajicNode[] _statements;
+
+    public BlockNode(BajicNode[] statements) {
+        _statements = statements;
+    }
+
+    @Override
+    @ExplodeLoop
+    public Object executeGeneric(VirtualFrame frame) {
+        Object value = BajicNull.INSTANCE;
+        for (BajicNode statement : _statements) {
+            value = statement.executeGeneric(frame);
+        }
+        return value;
+    }
+}
\ No newline at end of file
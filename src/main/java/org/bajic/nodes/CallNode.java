@@ -0,0 +1,38 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicFunction;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.StandardTags;
+import com.oracle.truffle.api.instrumentation.Tag;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = "call")
+public final class CallNode extends BajicNode {
+
+    @Child private BajicNode _callee;
+    @Children private final BajicNode[] _arguments;
+    @Child private DispatchNode _dispatch = DispatchNodeGen.create();
+
+    public CallNode(BajicNode callee, BajicNode[] arguments) {
+        _callee = callee;
+        _arguments = arguments;
+    }
+
+    @Override
+    @ExplodeLoop
+    public Object executeGeneric(VirtualFrame frame) {
+        Object function = _callee.executeGeneric(frame);
+        Object[] values = new Object[BajicFunction.FIRST_ARGUMENT + _arguments.length];
+        for (int i = 0; i < _arguments.length; i++) {
+            values[BajicFunction.FIRST_ARGUMENT + i] = _arguments[i].executeGeneric(frame);
+        }
+        return _dispatch.executeDispatch(function, values);
+    }
+
+    @Override
+    public boolean hasTag(Class<? extends Tag> tag) {
+        return tag == StandardTags.CallTag.class || super.hasTag(tag);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.BajicFunction;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.IndirectCallNode;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Calls a function value. Call sites that keep calling the same few lambdas call their targets directly, which lets
+ * the compiler inline them; the others go through an indirect call.
+ */
+public abstract class DispatchNode extends Node {
+
+    protected static final int INLINE_CACHE_SIZE = 3;
+
+    /** Calls {@code function}; the first element of {@code arguments} is left for its enclosing frame. */
+    public abstract Object executeDispatch(Object function, Object[] arguments);
+
+    @Specialization(guards = "function.getCallTarget() == cachedTarget", limit = "INLINE_CACHE_SIZE")
+    protected static Object doDirect(BajicFunction function, Object[] arguments,
+            @Cached("function.getCallTarget()") RootCallTarget cachedTarget,
+            @Cached("create(cachedTarget)") DirectCallNode callNode) {
+        arguments[BajicFunction.ENCLOSING_FRAME_ARGUMENT] = function.getEnclosingFrame();
+        return callNode.call(arguments);
+    }
+
+    @Specialization(replaces = "doDirect")
+    protected static Object doIndirect(BajicFunction function, Object[] arguments,
+            @Cached IndirectCallNode callNode) {
+        arguments[BajicFunction.ENCLOSING_FRAME_ARGUMENT] = function.getEnclosingFrame();
+        return callNode.call(function.getCallTarget(), arguments);
+    }
+
+    @Fallback
+    protected Object notCallable(Object function, Object[] arguments) {
+        throw BajicException.typeError(this, "Calling", function);
+    }
+}
\ No newline at end of file
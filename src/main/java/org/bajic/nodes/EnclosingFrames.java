@@ -0,0 +1,21 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicFunction;
+
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+
+public final class EnclosingFrames {
+
+    private EnclosingFrames() {}
+
+    /** The frame {@code depth} levels up from {@code frame}, following the frames lambdas captured when created. */
+    @ExplodeLoop
+    public static Frame get(Frame frame, int depth) {
+        Frame enclosing = frame;
+        for (int i = 0; i < depth; i++) {
+            enclosing = (Frame)enclosing.getArguments()[BajicFunction.ENCLOSING_FRAME_ARGUMENT];
+        }
+        return enclosing;
+    }
+}
\ No newline at end of file
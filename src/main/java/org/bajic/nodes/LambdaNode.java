@@ -0,0 +1,28 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicFunction;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * A lambda using locals of the script or lambda it is written in, which captures the current frame each time it is
+ * evaluated. Lambdas that do not are constants.
+ */
+@NodeInfo(shortName = "=>")
+public final class LambdaNode extends BajicNode {
+
+    private final RootCallTarget _callTarget;
+    private final int _arity;
+
+    public LambdaNode(RootCallTarget callTarget, int arity) {
+        _callTarget = callTarget;
+        _arity = arity;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        return new BajicFunction(_callTarget, _arity, frame.materialize());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package org.bajic.nodes;
+
+/**
+ * A value known when the script is compiled: a literal, a lambda that captures nothing, or a folded expression.
+ */
+public abstract class LiteralNode extends BajicNode {
+
+    public abstract Object getValue();
+
+    public static LiteralNode create(Object value) {
+        if (value instanceof Long number) {
+            return new LongLiteralNode(number);
+        } else if (value instanceof Double number) {
+            return new DoubleLiteralNode(number);
+        } else if (value instanceof Boolean bool) {
+            return new BooleanLiteralNode(bool);
+        }
+        return new ObjectLiteralNode(value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package org.bajic.nodes;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = "const")
+public final class LongLiteralNode extends LiteralNode {
+
+    private final long _value;
+
+    public LongLiteralNode(long value) {
+        _value = value;
+    }
+
+    @Override
+    public long executeLong(VirtualFrame frame) {
+        return _value;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        return _value;
+    }
+
+    @Override
+    public Object getValue() {
+        return _value;
+    }
+}
\ No newline at end of file
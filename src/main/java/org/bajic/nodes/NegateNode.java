@@ -0,0 +1,28 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeChild("operand")
+@NodeInfo(shortName = "-")
+public abstract class NegateNode extends BajicNode {
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected long doLong(long operand) {
+        return Math.negateExact(operand);
+    }
+
+    @Specialization
+    protected double doDouble(double operand) {
+        return -operand;
+    }
+
+    @Fallback
+    protected Object typeError(Object operand) {
+        throw BajicException.typeError(this, "-", operand);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package org.bajic.nodes;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * {@code New Name(arguments)}: reads the class named {@code Name} and instantiates it.
+ */
+@NodeInfo(shortName = "New")
+public final class NewNode extends BajicNode {
+
+    @Child private BajicNode _type;
+    @Children private final BajicNode[] _arguments;
+    @Child private AllocateNode _allocate = AllocateNodeGen.create();
+
+    public NewNode(BajicNode type, BajicNode[] arguments) {
+        _type = type;
+        _arguments = arguments;
+    }
+
+    @Override
+    @ExplodeLoop
+    public Object executeGeneric(VirtualFrame frame) {
+        Object type = _type.executeGeneric(frame);
+        Object[] values = new Object[_arguments.length];
+        for (int i = 0; i < _arguments.length; i++) {
+            values[i] = _arguments[i].executeGeneric(frame);
+        }
+        return _allocate.executeAllocate(type, values);
+    }
+}
\ No newline at end of file
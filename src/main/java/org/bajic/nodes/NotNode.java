@@ -0,0 +1,31 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Logical negation of a boolean, bitwise complement of an integer.
+ */
+@NodeChild("operand")
+@NodeInfo(shortName = "Not")
+public abstract class NotNode extends BajicNode {
+
+    @Specialization
+    protected boolean doBoolean(boolean operand) {
+        return !operand;
+    }
+
+    @Specialization
+    protected long doLong(long operand) {
+        return ~operand;
+    }
+
+    @Fallback
+    protected Object typeError(Object operand) {
+        throw BajicException.typeError(this, "Not", operand);
+    }
+}
\ No newline at end of file
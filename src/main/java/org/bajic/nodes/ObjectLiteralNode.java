@@ -0,0 +1,27 @@
+package org.bajic.nodes;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * A string, date or lambda, decoded when the script is compiled.
+ */
+@NodeInfo(shortName = "const")
+public final class ObjectLiteralNode extends LiteralNode {
+
+    private final Object _value;
+
+    public ObjectLiteralNode(Object value) {
+        _value = value;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        return _value;
+    }
+
+    @Override
+    public Object getValue() {
+        return _value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicFunction;
+import org.bajic.runtime.BajicNull;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Parameter of a lambda, copied to its frame slot on entry. Parameters the caller did not pass are
+ * {@link BajicNull Nothing}.
+ */
+@NodeInfo(shortName = "arg")
+public final class ReadArgumentNode extends BajicNode {
+
+    private final int _index;
+
+    public ReadArgumentNode(int index) {
+        _index = index;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object[] arguments = frame.getArguments();
+        int index = BajicFunction.FIRST_ARGUMENT + _index;
+        return index < arguments.length ? arguments[index] : BajicNull.INSTANCE;
+    }
+}
\ No newline at end of file
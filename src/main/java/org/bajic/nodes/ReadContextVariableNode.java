@@ -0,0 +1,33 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicContext;
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Read of a {@code %} context variable from the polyglot bindings, where the host puts the parameters of a script.
+ */
+@NodeInfo(shortName = "read")
+public final class ReadContextVariableNode extends BajicNode {
+
+    private final String _key;
+    private final String _name;
+
+    public ReadContextVariableNode(String key, String name) {
+        _key = key;
+        _name = name;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object value = BajicContext.get(this).getContextVariable(_key);
+        if (value == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw new BajicException("Undefined variable " + _name, this);
+        }
+        return value;
+    }
+}
\ No newline at end of file
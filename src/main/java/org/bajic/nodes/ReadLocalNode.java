@@ -0,0 +1,56 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Read of a {@code @} local or a lambda parameter from its frame slot. The typed specializations read the primitive
+ * straight from the frame as long as the slot holds that type.
+ */
+@NodeInfo(shortName = "read")
+public abstract class ReadLocalNode extends BajicNode {
+
+    protected final int _slot;
+    private final String _name;
+
+    protected ReadLocalNode(int slot, String name) {
+        _slot = slot;
+        _name = name;
+    }
+
+    @Specialization(guards = "frame.isLong(_slot)")
+    protected long readLong(VirtualFrame frame) {
+        return frame.getLong(_slot);
+    }
+
+    @Specialization(guards = "frame.isDouble(_slot)")
+    protected double readDouble(VirtualFrame frame) {
+        return frame.getDouble(_slot);
+    }
+
+    @Specialization(guards = "frame.isBoolean(_slot)")
+    protected boolean readBoolean(VirtualFrame frame) {
+        return frame.getBoolean(_slot);
+    }
+
+    @Specialization(replaces = { "readLong", "readDouble", "readBoolean" })
+    protected Object readObject(VirtualFrame frame) {
+        Object value;
+        if (frame.isObject(_slot)) {
+            value = frame.getObject(_slot);
+        } else {
+            CompilerDirectives.transferToInterpreter();
+            value = frame.getValue(_slot);
+            frame.setObject(_slot, value);
+        }
+        if (value == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw new BajicException("Undefined variable " + _name, this);
+        }
+        return value;
+    }
+}
\ No newline at end of file
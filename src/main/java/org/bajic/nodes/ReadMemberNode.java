@@ -0,0 +1,46 @@
+package org.bajic.nodes;
+
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.BajicObject;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+
+/**
+ * Read of {@code value.Member}. The library caches the location of the member for the last few shapes it has seen, so
+ * a read of an object of one of them is a shape check and a field load.
+ */
+@NodeInfo(shortName = ".")
+public final class ReadMemberNode extends BajicNode {
+
+    static final int INLINE_CACHE_SIZE = 3;
+
+    private final Symbol _member;
+    private final String _name;
+    @Child private BajicNode _receiver;
+    @Child private DynamicObjectLibrary _objects = DynamicObjectLibrary.getFactory().createDispatched(INLINE_CACHE_SIZE);
+
+    public ReadMemberNode(BajicNode receiver, Symbol member, String name) {
+        _receiver = receiver;
+        _member = member;
+        _name = name;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object receiver = _receiver.executeGeneric(frame);
+        if (!(receiver instanceof BajicObject object)) {
+            CompilerDirectives.transferToInterpreter();
+            throw BajicException.typeError(this, "." + _name, receiver);
+        }
+        Object value = _objects.getOrDefault(object, _member, null);
+        if (value == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw new BajicException(object.getBajicClass().getName() + " has no member " + _name, this);
+        }
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Read of a local of an enclosing script or lambda, {@code depth} frames up the chain of captured frames.
+ */
+@NodeInfo(shortName = "read")
+public final class ReadOuterLocalNode extends BajicNode {
+
+    private final int _depth;
+    private final int _slot;
+    private final String _name;
+
+    public ReadOuterLocalNode(int depth, int slot, String name) {
+        _depth = depth;
+        _slot = slot;
+        _name = name;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object value = EnclosingFrames.get(frame, _depth).getValue(_slot);
+        if (value == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw new BajicException("Undefined variable " + _name, this);
+        }
+        return value;
+    }
+}
\ No newline at end of file
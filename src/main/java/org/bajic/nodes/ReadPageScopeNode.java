@@ -0,0 +1,33 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicContext;
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Read of a {@code $} page-scope variable from its slot in the context.
+ */
+@NodeInfo(shortName = "read")
+public final class ReadPageScopeNode extends BajicNode {
+
+    private final int _index;
+    private final String _name;
+
+    public ReadPageScopeNode(int index, String name) {
+        _index = index;
+        _name = name;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object value = BajicContext.get(this).getPageScope(_index);
+        if (value == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw new BajicException("Undefined variable " + _name, this);
+        }
+        return value;
+    }
+}
\ No newline at end of file
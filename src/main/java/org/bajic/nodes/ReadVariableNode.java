@@ -0,0 +1,31 @@
+package org.bajic.nodes;
+
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.runtime.BajicContext;
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = "read")
+public final class ReadVariableNode extends BajicNode {
+
+    private final Symbol _symbol;
+    private final String _name;
+
+    public ReadVariableNode(Symbol symbol, String name) {
+        _symbol = symbol;
+        _name = name;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object value = BajicContext.get(this).getVariable(_symbol);
+        if (value == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw new BajicException("Undefined variable " + _name, this);
+        }
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicContext;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Assignment of a {@code %} context variable in the polyglot bindings, where the host can read it back.
+ */
+@NodeInfo(shortName = ":=")
+public final class WriteContextVariableNode extends BajicNode {
+
+    private final String _key;
+    @Child private BajicNode _value;
+
+    public WriteContextVariableNode(String key, BajicNode value) {
+        _key = key;
+        _value = value;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object value = _value.executeGeneric(frame);
+        BajicContext.get(this).setContextVariable(_key, value);
+        return value;
+    }
+}
\ No newline at end of file
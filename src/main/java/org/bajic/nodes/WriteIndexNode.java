@@ -0,0 +1,89 @@
+package org.bajic.nodes;
+
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.runtime.BajicArray;
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.BajicObject;
+import org.bajic.runtime.ForeignElements;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+
+/**
+ * Assignment of {@code value[index]}, the counterpart of {@link org.bajic.nodes.binary.IndexNode}. Writing just past
+ * the last element of an array appends to it; writing an element its store cannot hold generalizes the store. Arrays,
+ * lists and buffers of the host are written in place.
+ */
+@NodeChild("receiver")
+@NodeChild("index")
+@NodeChild("value")
+@NodeInfo(shortName = ":=")
+public abstract class WriteIndexNode extends BajicNode {
+
+    protected static final int INLINE_CACHE_SIZE = 3;
+
+    @Child private DynamicObjectLibrary _objects = DynamicObjectLibrary.getFactory().createDispatched(INLINE_CACHE_SIZE);
+
+    protected static Symbol memberSymbol(String name) {
+        return BajicObject.memberSymbol(name);
+    }
+
+    @Specialization(guards = {"array.isLongStore()", "array.canWrite(index)"})
+    protected long doLongElement(BajicArray array, long index, long value) {
+        array.setLong((int)index, value);
+        return value;
+    }
+
+    @Specialization(guards = {"array.isDoubleStore()", "array.canWrite(index)"})
+    protected double doDoubleElement(BajicArray array, long index, double value) {
+        array.setDouble((int)index, value);
+        return value;
+    }
+
+    @Specialization(guards = "array.canWrite(index)")
+    protected Object doElement(BajicArray array, long index, Object value) {
+        array.set((int)index, value);
+        return value;
+    }
+
+    @Specialization(guards = "!array.canWrite(index)")
+    protected Object outOfBounds(BajicArray array, long index, Object value) {
+        throw BajicException.outOfBounds(this, array, index);
+    }
+
+    @Specialization(guards = "name.equals(cachedName)", limit = "INLINE_CACHE_SIZE")
+    protected Object doCachedMember(BajicObject object, String name, Object value,
+            @Cached("name") String cachedName,
+            @Cached("memberSymbol(name)") Symbol member) {
+        _objects.put(object, member, value);
+        return value;
+    }
+
+    @Specialization(replaces = "doCachedMember")
+    protected Object doMember(BajicObject object, String name, Object value) {
+        _objects.put(object, memberSymbol(name), value);
+        return value;
+    }
+
+    @Specialization(guards = "isIndexable(receivers, receiver)", limit = "INLINE_CACHE_SIZE")
+    protected Object doForeign(Object receiver, long index, Object value,
+            @CachedLibrary("receiver") InteropLibrary receivers) {
+        ForeignElements.write(receivers, receiver, index, value, this);
+        return value;
+    }
+
+    protected static boolean isIndexable(InteropLibrary receivers, Object receiver) {
+        return ForeignElements.isIndexable(receivers, receiver);
+    }
+
+    @Fallback
+    protected Object typeError(Object receiver, Object index, Object value) {
+        throw BajicException.typeError(this, "[] :=", receiver, index);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package org.bajic.nodes;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Assignment of a {@code @} local or a lambda parameter. The slot keeps a primitive kind as long as every value written
+ * to it has that type, and becomes an object slot for good otherwise.
+ */
+@NodeChild("value")
+@NodeInfo(shortName = ":=")
+public abstract class WriteLocalNode extends BajicNode {
+
+    protected final int _slot;
+
+    protected WriteLocalNode(int slot) {
+        _slot = slot;
+    }
+
+    @Specialization(guards = "isKindOrIllegal(frame, LONG)")
+    protected long writeLong(VirtualFrame frame, long value) {
+        frame.getFrameDescriptor().setSlotKind(_slot, FrameSlotKind.Long);
+        frame.setLong(_slot, value);
+        return value;
+    }
+
+    @Specialization(guards = "isKindOrIllegal(frame, DOUBLE)")
+    protected double writeDouble(VirtualFrame frame, double value) {
+        frame.getFrameDescriptor().setSlotKind(_slot, FrameSlotKind.Double);
+        frame.setDouble(_slot, value);
+        return value;
+    }
+
+    @Specialization(guards = "isKindOrIllegal(frame, BOOLEAN)")
+    protected boolean writeBoolean(VirtualFrame frame, boolean value) {
+        frame.getFrameDescriptor().setSlotKind(_slot, FrameSlotKind.Boolean);
+        frame.setBoolean(_slot, value);
+        return value;
+    }
+
+    @Specialization(replaces = { "writeLong", "writeDouble", "writeBoolean" })
+    protected Object writeObject(VirtualFrame frame, Object value) {
+        frame.getFrameDescriptor().setSlotKind(_slot, FrameSlotKind.Object);
+        frame.setObject(_slot, value);
+        return value;
+    }
+
+    protected static final FrameSlotKind LONG = FrameSlotKind.Long;
+    protected static final FrameSlotKind DOUBLE = FrameSlotKind.Double;
+    protected static final FrameSlotKind BOOLEAN = FrameSlotKind.Boolean;
+
+    protected boolean isKindOrIllegal(VirtualFrame frame, FrameSlotKind expected) {
+        FrameSlotKind kind = frame.getFrameDescriptor().getSlotKind(_slot);
+        return kind == expected || kind == FrameSlotKind.Illegal;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package org.bajic.nodes;
+
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.BajicObject;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+
+/**
+ * Assignment of {@code value.Member}, which adds the member to the object when it does not have it yet. Like
+ * {@link ReadMemberNode}, it is cached on the shapes it sees, as is the transition to the shape with the new member.
+ */
+@NodeInfo(shortName = ":=")
+public final class WriteMemberNode extends BajicNode {
+
+    private final Symbol _member;
+    private final String _name;
+    @Child private BajicNode _receiver;
+    @Child private BajicNode _value;
+    @Child private DynamicObjectLibrary _objects = DynamicObjectLibrary.getFactory().createDispatched(ReadMemberNode.INLINE_CACHE_SIZE);
+
+    public WriteMemberNode(BajicNode receiver, Symbol member, String name, BajicNode value) {
+        _receiver = receiver;
+        _member = member;
+        _name = name;
+        _value = value;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object receiver = _receiver.executeGeneric(frame);
+        Object value = _value.executeGeneric(frame);
+        if (!(receiver instanceof BajicObject object)) {
+            CompilerDirectives.transferToInterpreter();
+            throw BajicException.typeError(this, "." + _name, receiver);
+        }
+        _objects.put(object, _member, value);
+        return value;
+    }
+}
\ No newline at end of file
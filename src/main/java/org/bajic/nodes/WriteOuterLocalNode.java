@@ -0,0 +1,28 @@
+package org.bajic.nodes;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Assignment of a local of an enclosing script or lambda, {@code depth} frames up the chain of captured frames.
+ */
+@NodeInfo(shortName = ":=")
+public final class WriteOuterLocalNode extends BajicNode {
+
+    private final int _depth;
+    private final int _slot;
+    @Child private BajicNode _value;
+
+    public WriteOuterLocalNode(int depth, int slot, BajicNode value) {
+        _depth = depth;
+        _slot = slot;
+        _value = value;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object value = _value.executeGeneric(frame);
+        EnclosingFrames.get(frame, _depth).setObject(_slot, value);
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package org.bajic.nodes;
+
+import org.bajic.runtime.BajicContext;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Assignment of a {@code $} page-scope variable to its slot in the context.
+ */
+@NodeInfo(shortName = ":=")
+public final class WritePageScopeNode extends BajicNode {
+
+    private final int _index;
+    @Child private BajicNode _value;
+
+    public WritePageScopeNode(int index, BajicNode value) {
+        _index = index;
+        _value = value;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object value = _value.executeGeneric(frame);
+        BajicContext.get(this).setPageScope(_index, value);
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package org.bajic.nodes;
+
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.runtime.BajicContext;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Assignment or declaration of a variable, whose value is the one assigned.
+ */
+@NodeInfo(shortName = ":=")
+public final class WriteVariableNode extends BajicNode {
+
+    private final Symbol _symbol;
+    @Child private BajicNode _value;
+
+    public WriteVariableNode(Symbol symbol, BajicNode value) {
+        _symbol = symbol;
+        _value = value;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object value = _value.executeGeneric(frame);
+        BajicContext.get(this).setVariable(_symbol, value);
+        return value;
+    }
+}
\ No newline at end of file
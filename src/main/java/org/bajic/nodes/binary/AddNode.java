@@ -0,0 +1,57 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicDate;
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Addition of numbers, concatenation of strings, and moving a date by a number of days.
+ */
+@NodeInfo(shortName = "+")
+public abstract class AddNode extends BinaryNode {
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected long doLong(long left, long right) {
+        return Math.addExact(left, right);
+    }
+
+    @Specialization
+    protected double doDouble(double left, double right) {
+        return left + right;
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected String doString(String left, String right) {
+        return left.concat(right);
+    }
+
+    @Specialization
+    protected BajicDate doDatePlusWholeDays(BajicDate left, long right) {
+        return new BajicDate(BajicDate.plusDays(left.millis(), right));
+    }
+
+    @Specialization
+    protected BajicDate doWholeDaysPlusDate(long left, BajicDate right) {
+        return new BajicDate(BajicDate.plusDays(right.millis(), left));
+    }
+
+    @Specialization(replaces = "doDatePlusWholeDays")
+    protected BajicDate doDatePlusDays(BajicDate left, double right) {
+        return new BajicDate(BajicDate.plusDays(left.millis(), right));
+    }
+
+    @Specialization(replaces = "doWholeDaysPlusDate")
+    protected BajicDate doDaysPlusDate(double left, BajicDate right) {
+        return new BajicDate(BajicDate.plusDays(right.millis(), left));
+    }
+
+    @Fallback
+    protected Object typeError(Object left, Object right) {
+        throw BajicException.typeError(this, "+", left, right);
+    }
+}
\ No newline at end of file
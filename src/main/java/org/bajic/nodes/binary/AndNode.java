@@ -0,0 +1,29 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Logical and of booleans, evaluating both of them, and bitwise and of integers.
+ */
+@NodeInfo(shortName = "And")
+public abstract class AndNode extends BinaryNode {
+
+    @Specialization
+    protected boolean doBoolean(boolean left, boolean right) {
+        return left & right;
+    }
+
+    @Specialization
+    protected long doLong(long left, long right) {
+        return left & right;
+    }
+
+    @Fallback
+    protected Object typeError(Object left, Object right) {
+        throw BajicException.typeError(this, "And", left, right);
+    }
+}
\ No newline at end of file
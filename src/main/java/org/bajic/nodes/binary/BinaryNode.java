@@ -0,0 +1,14 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.nodes.BajicNode;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+
+/**
+ * Base of the nodes of the {@link org.bajic.compiler.parser.BinaryOperator}s that evaluate both operands. Each
+ * subclass specializes on the operand types it has seen so far and rewrites itself when new ones show up.
+ */
+@NodeChild("left")
+@NodeChild("right")
+public abstract class BinaryNode extends BajicNode {
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.compiler.parser.BinaryOperator;
+import org.bajic.nodes.BajicNode;
+
+/**
+ * Creates the node of a {@link BinaryOperator}, for the compiler and for the bytecode instructions that fall back to
+ * running it.
+ */
+public final class BinaryNodes {
+
+    private BinaryNodes() {}
+
+    public static BajicNode create(BinaryOperator operator, BajicNode left, BajicNode right) {
+        return switch (operator) {
+            case Eq -> EqNodeGen.create(left, right);
+            case Ne -> NeNodeGen.create(left, right);
+            case Lt -> LtNodeGen.create(left, right);
+            case Gt -> GtNodeGen.create(left, right);
+            case Lte -> LteNodeGen.create(left, right);
+            case Gte -> GteNodeGen.create(left, right);
+            case Cat -> CatNodeGen.create(left, right);
+            case Add -> AddNodeGen.create(left, right);
+            case Sub -> SubNodeGen.create(left, right);
+            case Mul -> MulNodeGen.create(left, right);
+            case Div -> DivNodeGen.create(left, right);
+            case Pow -> PowNodeGen.create(left, right);
+            case In -> InNodeGen.create(left, right);
+            case Or -> OrNodeGen.create(left, right);
+            case OrElse -> new OrElseNode(left, right);
+            case And -> AndNodeGen.create(left, right);
+            case AndAlso -> new AndAlsoNode(left, right);
+            case BitOr -> BitOrNodeGen.create(left, right);
+            case BitAnd -> BitAndNodeGen.create(left, right);
+            case Invalid -> throw new IllegalArgumentException("Invalid operator");
+        };
+    }
+}
\ No newline at end of file
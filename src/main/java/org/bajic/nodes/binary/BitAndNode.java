@@ -0,0 +1,21 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = "BitAnd")
+public abstract class BitAndNode extends BinaryNode {
+
+    @Specialization
+    protected long doLong(long left, long right) {
+        return left & right;
+    }
+
+    @Fallback
+    protected Object typeError(Object left, Object right) {
+        throw BajicException.typeError(this, "BitAnd", left, right);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicRope;
+import org.bajic.runtime.BajicValues;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * String concatenation. Operands that are not strings are concatenated as they are displayed. Long results are
+ * {@link BajicRope ropes}, which operands that are ropes themselves extend without being flattened.
+ */
+@NodeInfo(shortName = "&")
+public abstract class CatNode extends BinaryNode {
+
+    protected static boolean isText(Object value) {
+        return BajicRope.isText(value);
+    }
+
+    @Specialization(guards = { "isText(left)", "isText(right)" })
+    protected Object doText(Object left, Object right) {
+        return BajicRope.concat(left, right);
+    }
+
+    @Specialization(guards = "isText(left)")
+    protected Object doTextLong(Object left, long right) {
+        return BajicRope.concat(left, toString(right));
+    }
+
+    @Specialization(guards = "isText(right)")
+    protected Object doLongText(long left, Object right) {
+        return BajicRope.concat(toString(left), right);
+    }
+
+    @Specialization(guards = "isText(left)")
+    protected Object doTextDouble(Object left, double right) {
+        return BajicRope.concat(left, BajicValues.toDisplayString(right));
+    }
+
+    @Specialization(guards = "isText(right)")
+    protected Object doDoubleText(double left, Object right) {
+        return BajicRope.concat(BajicValues.toDisplayString(left), right);
+    }
+
+    @Specialization(replaces = { "doText", "doTextLong", "doLongText", "doTextDouble", "doDoubleText" })
+    protected Object doGeneric(Object left, Object right) {
+        return BajicRope.concat(toText(left), toText(right));
+    }
+
+    @TruffleBoundary
+    private static String toString(long value) {
+        return Long.toString(value);
+    }
+
+    private static Object toText(Object value) {
+        return isText(value) ? value : BajicValues.toDisplayString(value);
+    }
+}
\ No newline at end of file
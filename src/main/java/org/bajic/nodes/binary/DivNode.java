@@ -0,0 +1,24 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Division, which is always done on doubles: {@code 7 / 2} is {@code 3.5}.
+ */
+@NodeInfo(shortName = "/")
+public abstract class DivNode extends BinaryNode {
+
+    @Specialization
+    protected double doDouble(double left, double right) {
+        return left / right;
+    }
+
+    @Fallback
+    protected Object typeError(Object left, Object right) {
+        throw BajicException.typeError(this, "/", left, right);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicDate;
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = ">")
+public abstract class GtNode extends BinaryNode {
+
+    @Specialization
+    protected boolean doLong(long left, long right) {
+        return left > right;
+    }
+
+    @Specialization
+    protected boolean doDouble(double left, double right) {
+        return left > right;
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected boolean doString(String left, String right) {
+        return left.compareTo(right) > 0;
+    }
+
+    @Specialization
+    protected boolean doDate(BajicDate left, BajicDate right) {
+        return left.millis() > right.millis();
+    }
+
+    @Fallback
+    protected Object typeError(Object left, Object right) {
+        throw BajicException.typeError(this, ">", left, right);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicArray;
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.BajicValues;
+import org.bajic.runtime.ForeignElements;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Membership of the left operand in the right one: for arrays, whether an element is {@code =} to the left operand;
+ * for strings, whether the left one is a substring of the right one. Arrays, lists and buffers of the host are searched
+ * in place.
+ */
+@NodeInfo(shortName = "In")
+public abstract class InNode extends BinaryNode {
+
+    protected static final int INLINE_CACHE_SIZE = 3;
+
+    @Specialization
+    @TruffleBoundary
+    protected boolean doString(String left, String right) {
+        return right.contains(left);
+    }
+
+    @Specialization
+    protected boolean doArray(Object left, BajicArray right) {
+        return right.contains(left);
+    }
+
+    @Specialization(guards = "isIndexable(values, right)", limit = "INLINE_CACHE_SIZE")
+    protected boolean doForeign(Object left, Object right,
+            @CachedLibrary("right") InteropLibrary values,
+            @CachedLibrary(limit = "INLINE_CACHE_SIZE") InteropLibrary elements) {
+        long size = ForeignElements.size(values, right);
+        for (long i = 0; i < size; i++) {
+            if (BajicValues.areEqual(ForeignElements.read(values, elements, right, i, this), left)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected static boolean isIndexable(InteropLibrary values, Object value) {
+        return ForeignElements.isIndexable(values, value);
+    }
+
+    @Fallback
+    protected Object typeError(Object left, Object right) {
+        throw BajicException.typeError(this, "In", left, right);
+    }
+}
\ No newline at end of file
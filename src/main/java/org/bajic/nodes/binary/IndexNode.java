@@ -0,0 +1,94 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.runtime.BajicArray;
+import org.bajic.runtime.BajicArray.StoreChangedException;
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.BajicObject;
+import org.bajic.runtime.ForeignElements;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+
+/**
+ * Read of {@code value[index]}. Elements of arrays are read straight from their {@code long[]} or {@code double[]}
+ * store while it stays the one they use, without boxing, and boxed from any store otherwise. Indexing an object by the
+ * name of a member reads that member; the symbols of the last few names are cached so that a constant name costs no
+ * lookup. Arrays, lists and buffers of the host are read in place through their {@link InteropLibrary}.
+ */
+@NodeInfo(shortName = "[]")
+public abstract class IndexNode extends BinaryNode {
+
+    protected static final int INLINE_CACHE_SIZE = 3;
+
+    @Child private DynamicObjectLibrary _objects = DynamicObjectLibrary.getFactory().createDispatched(INLINE_CACHE_SIZE);
+
+    protected static Symbol memberSymbol(String name) {
+        return BajicObject.memberSymbol(name);
+    }
+
+    @Specialization(guards = {"array.isLongStore()", "array.inBounds(index)"},
+            rewriteOn = StoreChangedException.class)
+    protected long doLongElement(BajicArray array, long index) {
+        return array.getLong((int)index);
+    }
+
+    @Specialization(guards = {"array.isDoubleStore()", "array.inBounds(index)"},
+            rewriteOn = StoreChangedException.class)
+    protected double doDoubleElement(BajicArray array, long index) {
+        return array.getDouble((int)index);
+    }
+
+    @Specialization(guards = "array.inBounds(index)")
+    protected Object doElement(BajicArray array, long index) {
+        return array.get((int)index);
+    }
+
+    @Specialization(guards = "!array.inBounds(index)")
+    protected Object outOfBounds(BajicArray array, long index) {
+        throw BajicException.outOfBounds(this, array, index);
+    }
+
+    @Specialization(guards = "name.equals(cachedName)", limit = "INLINE_CACHE_SIZE")
+    protected Object doCachedMember(BajicObject object, String name,
+            @Cached("name") String cachedName,
+            @Cached("memberSymbol(name)") Symbol member) {
+        return readMember(object, member, name);
+    }
+
+    @Specialization(replaces = "doCachedMember")
+    protected Object doMember(BajicObject object, String name) {
+        return readMember(object, memberSymbol(name), name);
+    }
+
+    private Object readMember(BajicObject object, Symbol member, String name) {
+        Object value = _objects.getOrDefault(object, member, null);
+        if (value == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw new BajicException(object.getBajicClass().getName() + " has no member " + name, this);
+        }
+        return value;
+    }
+
+    @Specialization(guards = "isIndexable(values, value)", limit = "INLINE_CACHE_SIZE")
+    protected Object doForeign(Object value, long index,
+            @CachedLibrary("value") InteropLibrary values,
+            @CachedLibrary(limit = "INLINE_CACHE_SIZE") InteropLibrary elements) {
+        return ForeignElements.read(values, elements, value, index, this);
+    }
+
+    protected static boolean isIndexable(InteropLibrary values, Object value) {
+        return ForeignElements.isIndexable(values, value);
+    }
+
+    @Fallback
+    protected Object typeError(Object value, Object index) {
+        throw BajicException.typeError(this, "[]", value, index);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = "*")
+public abstract class MulNode extends BinaryNode {
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected long doLong(long left, long right) {
+        return Math.multiplyExact(left, right);
+    }
+
+    @Specialization
+    protected double doDouble(double left, double right) {
+        return left * right;
+    }
+
+    @Fallback
+    protected Object typeError(Object left, Object right) {
+        throw BajicException.typeError(this, "*", left, right);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicDate;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = "<>")
+public abstract class NeNode extends BinaryNode {
+
+    @Specialization
+    protected boolean doLong(long left, long right) {
+        return left != right;
+    }
+
+    @Specialization
+    protected boolean doDouble(double left, double right) {
+        return left != right;
+    }
+
+    @Specialization
+    protected boolean doBoolean(boolean left, boolean right) {
+        return left != right;
+    }
+
+    @Specialization
+    @TruffleBoundary
+    protected boolean doString(String left, String right) {
+        return !left.equals(right);
+    }
+
+    @Specialization
+    protected boolean doDate(BajicDate left, BajicDate right) {
+        return left.millis() != right.millis();
+    }
+
+    /** Values of different types are never equal; Nothing and lambdas are only equal to themselves. */
+    @Fallback
+    protected boolean doGeneric(Object left, Object right) {
+        return left != right;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.nodes.BajicNode;
+
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Evaluates the right operand only when the left one is false.
+ */
+@NodeInfo(shortName = "OrElse")
+public final class OrElseNode extends ShortCircuitNode {
+
+    public OrElseNode(BajicNode left, BajicNode right) {
+        super(left, right);
+    }
+
+    @Override
+    protected boolean isEvaluateRight(boolean left) {
+        return !left;
+    }
+
+    @Override
+    protected String getOperatorName() {
+        return "OrElse";
+    }
+}
\ No newline at end of file
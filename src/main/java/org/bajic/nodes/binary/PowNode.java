@@ -0,0 +1,24 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Exponentiation, which is always done on doubles.
+ */
+@NodeInfo(shortName = "^")
+public abstract class PowNode extends BinaryNode {
+
+    @Specialization
+    protected double doDouble(double left, double right) {
+        return Math.pow(left, right);
+    }
+
+    @Fallback
+    protected Object typeError(Object left, Object right) {
+        throw BajicException.typeError(this, "^", left, right);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.nodes.BajicNode;
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.api.profiles.CountingConditionProfile;
+
+/**
+ * Base of {@code OrElse} and {@code AndAlso}, which only evaluate their right operand when the left one does not decide
+ * the result. The branch is profiled with counts, so the compiler can lay out the likely path and drop a never taken
+ * one.
+ */
+public abstract class ShortCircuitNode extends BajicNode {
+
+    @Child private BajicNode _left;
+    @Child private BajicNode _right;
+    private final CountingConditionProfile _evaluateRight = CountingConditionProfile.create();
+
+    protected ShortCircuitNode(BajicNode left, BajicNode right) {
+        _left = left;
+        _right = right;
+    }
+
+    @Override
+    public final Object executeGeneric(VirtualFrame frame) {
+        return executeBoolean(frame);
+    }
+
+    @Override
+    public final boolean executeBoolean(VirtualFrame frame) {
+        boolean left;
+        try {
+            left = _left.executeBoolean(frame);
+        } catch (UnexpectedResultException e) {
+            throw BajicException.typeError(this, getOperatorName(), e.getResult());
+        }
+        if (_evaluateRight.profile(isEvaluateRight(left))) {
+            try {
+                return _right.executeBoolean(frame);
+            } catch (UnexpectedResultException e) {
+                throw BajicException.typeError(this, getOperatorName(), e.getResult());
+            }
+        }
+        return left;
+    }
+
+    /** Tells whether the right operand decides the result, given the value of the left one. */
+    protected abstract boolean isEvaluateRight(boolean left);
+
+    protected abstract String getOperatorName();
+}
\ No newline at end of file
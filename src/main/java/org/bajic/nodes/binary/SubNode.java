@@ -0,0 +1,45 @@
+package org.bajic.nodes.binary;
+
+import org.bajic.runtime.BajicDate;
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Subtraction of numbers, moving a date back by a number of days, and the days between two dates.
+ */
+@NodeInfo(shortName = "-")
+public abstract class SubNode extends BinaryNode {
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected long doLong(long left, long right) {
+        return Math.subtractExact(left, right);
+    }
+
+    @Specialization
+    protected double doDouble(double left, double right) {
+        return left - right;
+    }
+
+    @Specialization
+    protected BajicDate doDateMinusWholeDays(BajicDate left, long right) {
+        return new BajicDate(BajicDate.plusDays(left.millis(), -right));
+    }
+
+    @Specialization(replaces = "doDateMinusWholeDays")
+    protected BajicDate doDateMinusDays(BajicDate left, double right) {
+        return new BajicDate(BajicDate.plusDays(left.millis(), -right));
+    }
+
+    @Specialization
+    protected double doDateDifference(BajicDate left, BajicDate right) {
+        return BajicDate.daysBetween(right.millis(), left.millis());
+    }
+
+    @Fallback
+    protected Object typeError(Object left, Object right) {
+        throw BajicException.typeError(this, "-", left, right);
+    }
+}
\ No newline at end of file
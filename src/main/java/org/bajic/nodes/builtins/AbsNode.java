@@ -0,0 +1,26 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = "Abs")
+public abstract class AbsNode extends UnaryBuiltinNode {
+
+    @Specialization(rewriteOn = ArithmeticException.class)
+    protected long doLong(long value) {
+        return Math.absExact(value);
+    }
+
+    @Specialization
+    protected double doDouble(double value) {
+        return Math.abs(value);
+    }
+
+    @Fallback
+    protected Object typeError(Object value) {
+        throw BajicException.typeError(this, "Abs", value);
+    }
+}
\ No newline at end of file
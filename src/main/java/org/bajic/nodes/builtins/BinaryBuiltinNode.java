@@ -0,0 +1,13 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.nodes.BajicNode;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+
+/**
+ * Base of the nodes of the builtins that take two arguments.
+ */
+@NodeChild("first")
+@NodeChild("second")
+public abstract class BinaryBuiltinNode extends BajicNode {
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * The largest integer not greater than the number: an Integer, unless it is too large for one.
+ */
+@NodeInfo(shortName = "Floor")
+public abstract class FloorNode extends UnaryBuiltinNode {
+
+    protected static boolean fitsInLong(double value) {
+        return Math.abs(value) < 0x1p63;
+    }
+
+    @Specialization
+    protected long doLong(long value) {
+        return value;
+    }
+
+    @Specialization(guards = "fitsInLong(value)")
+    protected long doDouble(double value) {
+        return (long)Math.floor(value);
+    }
+
+    @Specialization(guards = "!fitsInLong(value)")
+    protected double doLarge(double value) {
+        return Math.floor(value);
+    }
+
+    @Fallback
+    protected Object typeError(Object value) {
+        throw BajicException.typeError(this, "Floor", value);
+    }
+}
\ No newline at end of file
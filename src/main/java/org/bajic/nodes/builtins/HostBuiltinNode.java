@@ -0,0 +1,71 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.builtins.HostFunction;
+import org.bajic.nodes.BajicNode;
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.BajicContext;
+import org.bajic.runtime.BajicNull;
+import org.bajic.runtime.BajicRope;
+import org.bajic.runtime.BajicValues;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Call of a builtin defined by a {@link HostFunction}. The function is not compiled with the script: it is called as
+ * it is, with ropes flattened to strings. A result that is not a value of the language, such as a {@code List} or a
+ * {@code LocalDate}, is given to the script as a host object.
+ */
+@NodeInfo(shortName = "host")
+public final class HostBuiltinNode extends BajicNode {
+
+    private final String _name;
+    private final HostFunction _function;
+    @Children private final BajicNode[] _arguments;
+
+    public HostBuiltinNode(String name, HostFunction function, BajicNode[] arguments) {
+        _name = name;
+        _function = function;
+        _arguments = arguments;
+    }
+
+    @Override
+    @ExplodeLoop
+    public Object executeGeneric(VirtualFrame frame) {
+        Object[] values = new Object[_arguments.length];
+        for (int i = 0; i < _arguments.length; i++) {
+            values[i] = _arguments[i].executeGeneric(frame);
+        }
+        return call(values);
+    }
+
+    @TruffleBoundary
+    private Object call(Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof BajicRope rope) {
+                values[i] = rope.toString();
+            }
+        }
+        Object result;
+        try {
+            result = _function.call(values);
+        } catch (AbstractTruffleException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BajicException(_name + " failed: " + e.getMessage(), this);
+        }
+        if (result == null) {
+            return BajicNull.INSTANCE;
+        }
+        result = BajicValues.fromForeign(result);
+        if (result instanceof Long || result instanceof Double || result instanceof Boolean || result instanceof String
+                || result instanceof TruffleObject) {
+            return result;
+        }
+        return BajicContext.get(this).getEnv().asGuestValue(result);
+    }
+}
\ No newline at end of file
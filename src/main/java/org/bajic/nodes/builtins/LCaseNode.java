@@ -0,0 +1,28 @@
+package org.bajic.nodes.builtins;
+
+import java.util.Locale;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * The string lower case.
+ */
+@NodeInfo(shortName = "LCase")
+public abstract class LCaseNode extends UnaryBuiltinNode {
+
+    @Specialization
+    @TruffleBoundary
+    protected String doString(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    @Fallback
+    protected Object typeError(Object value) {
+        throw BajicException.typeError(this, "LCase", value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.runtime.BajicArray;
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.BajicRope;
+import org.bajic.runtime.ForeignElements;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Number of characters of a string, which for a rope does not flatten it, or of elements of an array. For a buffer of
+ * the host, the number of bytes.
+ */
+@NodeInfo(shortName = "Len")
+public abstract class LenNode extends UnaryBuiltinNode {
+
+    protected static final int INLINE_CACHE_SIZE = 3;
+
+    @Specialization
+    protected long doRope(BajicRope value) {
+        return value.length();
+    }
+
+    @Specialization
+    protected long doString(String value) {
+        return value.length();
+    }
+
+    @Specialization
+    protected long doArray(BajicArray value) {
+        return value.length();
+    }
+
+    @Specialization(guards = "isIndexable(values, value)", limit = "INLINE_CACHE_SIZE")
+    protected long doForeign(Object value, @CachedLibrary("value") InteropLibrary values) {
+        return ForeignElements.size(values, value);
+    }
+
+    protected static boolean isIndexable(InteropLibrary values, Object value) {
+        return ForeignElements.isIndexable(values, value);
+    }
+
+    @Fallback
+    protected Object typeError(Object value) {
+        throw BajicException.typeError(this, "Len", value);
+    }
+}
\ No newline at end of file
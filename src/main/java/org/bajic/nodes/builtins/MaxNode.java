@@ -0,0 +1,26 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = "Max")
+public abstract class MaxNode extends BinaryBuiltinNode {
+
+    @Specialization
+    protected long doLong(long first, long second) {
+        return Math.max(first, second);
+    }
+
+    @Specialization
+    protected double doDouble(double first, double second) {
+        return Math.max(first, second);
+    }
+
+    @Fallback
+    protected Object typeError(Object first, Object second) {
+        throw BajicException.typeError(this, "Max", first, second);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * The last characters of a string; the whole string when it is shorter than that.
+ */
+@NodeInfo(shortName = "Right")
+public abstract class RightNode extends BinaryBuiltinNode {
+
+    @Specialization
+    @TruffleBoundary
+    protected String doString(String value, long length) {
+        int count = (int)Math.max(0, Math.min(length, value.length()));
+        return value.substring(value.length() - count, value.length());
+    }
+
+    @Fallback
+    protected Object typeError(Object value, Object length) {
+        throw BajicException.typeError(this, "Right", value, length);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * The nearest integer, halves going to the even one: an Integer, unless it is too large for one.
+ */
+@NodeInfo(shortName = "Round")
+public abstract class RoundNode extends UnaryBuiltinNode {
+
+    protected static boolean fitsInLong(double value) {
+        return Math.abs(value) < 0x1p63;
+    }
+
+    @Specialization
+    protected long doLong(long value) {
+        return value;
+    }
+
+    @Specialization(guards = "fitsInLong(value)")
+    protected long doDouble(double value) {
+        return (long)Math.rint(value);
+    }
+
+    @Specialization(guards = "!fitsInLong(value)")
+    protected double doLarge(double value) {
+        return Math.rint(value);
+    }
+
+    @Fallback
+    protected Object typeError(Object value) {
+        throw BajicException.typeError(this, "Round", value);
+    }
+}
\ No newline at end of file
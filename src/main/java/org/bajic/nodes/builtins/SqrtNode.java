@@ -0,0 +1,21 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = "Sqrt")
+public abstract class SqrtNode extends UnaryBuiltinNode {
+
+    @Specialization
+    protected double doDouble(double value) {
+        return Math.sqrt(value);
+    }
+
+    @Fallback
+    protected Object typeError(Object value) {
+        throw BajicException.typeError(this, "Sqrt", value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.runtime.BajicArray;
+import org.bajic.runtime.BajicArray.StoreChangedException;
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.ForeignElements;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Sum of the elements of an array of numbers, added straight from its store when it is a primitive one. The sum of
+ * integers is an integer, unless it overflows. Arrays, lists and buffers of the host are summed in place.
+ */
+@NodeInfo(shortName = "Sum")
+public abstract class SumNode extends UnaryBuiltinNode {
+
+    protected static final int INLINE_CACHE_SIZE = 3;
+
+    @Specialization(guards = "array.isLongStore()",
+            rewriteOn = { ArithmeticException.class, StoreChangedException.class })
+    protected long doLongs(BajicArray array) {
+        long sum = 0;
+        for (int i = 0; i < array.length(); i++) {
+            sum = Math.addExact(sum, array.getLong(i));
+        }
+        return sum;
+    }
+
+    @Specialization(guards = "array.isLongStore()", replaces = "doLongs", rewriteOn = StoreChangedException.class)
+    protected double doLargeLongs(BajicArray array) {
+        double sum = 0;
+        for (int i = 0; i < array.length(); i++) {
+            sum += array.getLong(i);
+        }
+        return sum;
+    }
+
+    @Specialization(guards = "array.isDoubleStore()", rewriteOn = StoreChangedException.class)
+    protected double doDoubles(BajicArray array) {
+        double sum = 0;
+        for (int i = 0; i < array.length(); i++) {
+            sum += array.getDouble(i);
+        }
+        return sum;
+    }
+
+    @Specialization
+    protected double doObjects(BajicArray array) {
+        double sum = 0;
+        for (int i = 0; i < array.length(); i++) {
+            Object element = array.get(i);
+            if (!(element instanceof Long || element instanceof Double)) {
+                CompilerDirectives.transferToInterpreter();
+                throw BajicException.typeError(this, "Sum", array);
+            }
+            sum += ((Number)element).doubleValue();
+        }
+        return sum;
+    }
+
+    /** Sum of a host array, list or buffer, an integer while the elements are integers and it does not overflow. */
+    @Specialization(guards = "isIndexable(values, value)", limit = "INLINE_CACHE_SIZE")
+    protected Object doForeign(Object value,
+            @CachedLibrary("value") InteropLibrary values,
+            @CachedLibrary(limit = "INLINE_CACHE_SIZE") InteropLibrary elements) {
+        long size = ForeignElements.size(values, value);
+        long longSum = 0;
+        double sum = 0;
+        boolean integral = true;
+        for (long i = 0; i < size; i++) {
+            Object element = ForeignElements.read(values, elements, value, i, this);
+            if (integral && element instanceof Long l) {
+                long added = longSum + l;
+                // No overflow as long as the sum has the sign of either operand.
+                if (((longSum ^ added) & (l ^ added)) >= 0) {
+                    longSum = added;
+                    continue;
+                }
+            }
+            if (integral) {
+                integral = false;
+                sum = longSum;
+            }
+            if (element instanceof Long l) {
+                sum += l;
+            } else if (element instanceof Double d) {
+                sum += d;
+            } else {
+                CompilerDirectives.transferToInterpreter();
+                throw BajicException.typeError(this, "Sum", value);
+            }
+        }
+        return integral ? (Object)longSum : (Object)sum;
+    }
+
+    protected static boolean isIndexable(InteropLibrary values, Object value) {
+        return ForeignElements.isIndexable(values, value);
+    }
+
+    @Fallback
+    protected Object typeError(Object value) {
+        throw BajicException.typeError(this, "Sum", value);
+    }
+}
\ No newline at end of file
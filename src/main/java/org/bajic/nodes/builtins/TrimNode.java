@@ -0,0 +1,26 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * The string without its leading and trailing white space.
+ */
+@NodeInfo(shortName = "Trim")
+public abstract class TrimNode extends UnaryBuiltinNode {
+
+    @Specialization
+    @TruffleBoundary
+    protected String doString(String value) {
+        return value.strip();
+    }
+
+    @Fallback
+    protected Object typeError(Object value) {
+        throw BajicException.typeError(this, "Trim", value);
+    }
+}
\ No newline at end of file
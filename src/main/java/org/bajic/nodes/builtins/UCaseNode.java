@@ -0,0 +1,28 @@
+package org.bajic.nodes.builtins;
+
+import java.util.Locale;
+
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * The string upper case.
+ */
+@NodeInfo(shortName = "UCase")
+public abstract class UCaseNode extends UnaryBuiltinNode {
+
+    @Specialization
+    @TruffleBoundary
+    protected String doString(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+
+    @Fallback
+    protected Object typeError(Object value) {
+        throw BajicException.typeError(this, "UCase", value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package org.bajic.nodes.builtins;
+
+import org.bajic.nodes.BajicNode;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+
+/**
+ * Base of the nodes of the builtins that take one argument.
+ */
+@NodeChild("argument")
+public abstract class UnaryBuiltinNode extends BajicNode {
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package org.bajic.nodes.builtins;
+
+import java.time.LocalDate;
+
+import org.bajic.runtime.BajicDate;
+import org.bajic.runtime.BajicException;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+@NodeInfo(shortName = "Year")
+public abstract class YearNode extends UnaryBuiltinNode {
+
+    @Specialization
+    @TruffleBoundary
+    protected long doDate(BajicDate value) {
+        return LocalDate.ofEpochDay(Math.floorDiv(value.millis(), BajicDate.MILLIS_PER_DAY)).getYear();
+    }
+
+    @Fallback
+    protected Object typeError(Object value) {
+        throw BajicException.typeError(this, "Year", value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,421 @@
+package org.bajic.nodes.bytecode;
+
+import java.util.concurrent.locks.Lock;
+
+import org.bajic.compiler.parser.BinaryOperator;
+import org.bajic.compiler.parser.Symbol;
+import org.bajic.nodes.BajicNode;
+import org.bajic.nodes.DispatchNode;
+import org.bajic.nodes.DispatchNodeGen;
+import org.bajic.nodes.EnclosingFrames;
+import org.bajic.nodes.binary.BinaryNodes;
+import org.bajic.runtime.BajicContext;
+import org.bajic.runtime.BajicException;
+import org.bajic.runtime.BajicFunction;
+import org.bajic.runtime.BajicNull;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.HostCompilerDirectives.BytecodeInterpreterSwitch;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeInfo;
+
+/**
+ * Body of a script or lambda compiled to {@link Opcodes bytecode} instead of a tree of nodes. Literals, variables,
+ * blocks, calls and the short-circuit operators are instructions, so a script that is loaded but seldom run holds a
+ * byte array and a few nodes instead of one node per expression. The operand stack lives in the frame slots after the
+ * locals, which keeps primitives unboxed and lets the compiler turn it into plain values.
+ * <p>
+ * Operators on numbers quicken their instruction to the types they see. Nodes are only kept for what has no
+ * instruction, such as member access or intrinsic builtins, which run on operands read from the stack, and for the
+ * operators whose operands were not numbers, created the first time they are.
+ */
+@NodeInfo(shortName = "bytecode")
+public final class BytecodeNode extends BajicNode {
+
+    @CompilationFinal(dimensions = 1) private static final BinaryOperator[] OPERATORS = BinaryOperator.values();
+
+    @CompilationFinal(dimensions = 1) private final byte[] _code;
+    @CompilationFinal(dimensions = 1) private final Object[] _constants;
+    @Children private final BajicNode[] _nodes;
+    @Children private final DispatchNode[] _calls;
+    /** Start and length of the source of each node site, for the operator nodes created when quickening. */
+    @CompilationFinal(dimensions = 1) private final int[] _siteSpans;
+    private final int _stackBase;
+
+    /**
+     * Body running {@code code}. The node sites of {@code NODE} instructions hold their node, the ones of
+     * {@code BINARY} instructions are null until needed. The operand stack starts at frame slot {@code stackBase}.
+     */
+    public BytecodeNode(byte[] code, Object[] constants, BajicNode[] nodes, int[] siteSpans, int callSites, int stackBase) {
+        _code = code;
+        _constants = constants;
+        _nodes = nodes;
+        _siteSpans = siteSpans;
+        _calls = new DispatchNode[callSites];
+        for (int i = 0; i < callSites; i++) {
+            _calls[i] = DispatchNodeGen.create();
+        }
+        _stackBase = stackBase;
+    }
+
+    /** Size of the instructions, in bytes. */
+    public int getCodeLength() {
+        return _code.length;
+    }
+
+    private int operand(int bci, int index) {
+        return (_code[bci + 1 + 2 * index] & 0xFF) << 8 | _code[bci + 2 + 2 * index] & 0xFF;
+    }
+
+    @Override
+    @ExplodeLoop(kind = ExplodeLoop.LoopExplosionKind.MERGE_EXPLODE)
+    @BytecodeInterpreterSwitch
+    public Object executeGeneric(VirtualFrame frame) {
+        int bci = 0;
+        int sp = _stackBase;
+        while (true) {
+            byte opcode = _code[bci];
+            switch (opcode) {
+                case Opcodes.CONST:
+                    push(frame, sp++, _constants[operand(bci, 0)]);
+                    bci += 3;
+                    break;
+                case Opcodes.POP:
+                    sp--;
+                    bci += 1;
+                    break;
+                case Opcodes.LOAD_ARG: {
+                    Object[] arguments = frame.getArguments();
+                    int index = BajicFunction.FIRST_ARGUMENT + operand(bci, 0);
+                    push(frame, sp++, index < arguments.length ? arguments[index] : BajicNull.INSTANCE);
+                    bci += 3;
+                    break;
+                }
+                case Opcodes.LOAD_LOCAL: {
+                    int slot = operand(bci, 0);
+                    if (frame.isLong(slot) || frame.isDouble(slot) || frame.isBoolean(slot)) {
+                        frame.copy(slot, sp++);
+                    } else {
+                        push(frame, sp++, defined(frame.getValue(slot), operand(bci, 1)));
+                    }
+                    bci += 5;
+                    break;
+                }
+                case Opcodes.STORE_LOCAL:
+                    frame.copy(sp - 1, operand(bci, 0));
+                    bci += 3;
+                    break;
+                case Opcodes.LOAD_OUTER: {
+                    Object value = EnclosingFrames.get(frame, operand(bci, 0)).getValue(operand(bci, 1));
+                    push(frame, sp++, defined(value, operand(bci, 2)));
+                    bci += 7;
+                    break;
+                }
+                case Opcodes.STORE_OUTER:
+                    EnclosingFrames.get(frame, operand(bci, 0)).setObject(operand(bci, 1), frame.getValue(sp - 1));
+                    bci += 5;
+                    break;
+                case Opcodes.LOAD_PAGE:
+                    push(frame, sp++, defined(BajicContext.get(this).getPageScope(operand(bci, 0)), operand(bci, 1)));
+                    bci += 5;
+                    break;
+                case Opcodes.STORE_PAGE:
+                    BajicContext.get(this).setPageScope(operand(bci, 0), frame.getValue(sp - 1));
+                    bci += 3;
+                    break;
+                case Opcodes.LOAD_CONTEXT: {
+                    Object value = BajicContext.get(this).getContextVariable((String)_constants[operand(bci, 0)]);
+                    push(frame, sp++, defined(value, operand(bci, 1)));
+                    bci += 5;
+                    break;
+                }
+                case Opcodes.STORE_CONTEXT:
+                    BajicContext.get(this).setContextVariable((String)_constants[operand(bci, 0)], frame.getValue(sp - 1));
+                    bci += 3;
+                    break;
+                case Opcodes.LOAD_VAR: {
+                    Object value = BajicContext.get(this).getVariable((Symbol)_constants[operand(bci, 0)]);
+                    push(frame, sp++, defined(value, operand(bci, 1)));
+                    bci += 5;
+                    break;
+                }
+                case Opcodes.STORE_VAR:
+                    BajicContext.get(this).setVariable((Symbol)_constants[operand(bci, 0)], frame.getValue(sp - 1));
+                    bci += 3;
+                    break;
+                case Opcodes.BINARY:
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    quicken(frame, bci, sp, opcode);
+                    break;
+                case Opcodes.BINARY_LONG:
+                    if (frame.isLong(sp - 2) && frame.isLong(sp - 1)) {
+                        try {
+                            longForm(frame, OPERATORS[operand(bci, 0)], sp - 2, frame.getLong(sp - 2), frame.getLong(sp - 1));
+                            sp--;
+                            bci += 5;
+                        } catch (ArithmeticException e) {
+                            CompilerDirectives.transferToInterpreterAndInvalidate();
+                            _code[bci] = Opcodes.BINARY_DOUBLE;
+                        }
+                    } else {
+                        CompilerDirectives.transferToInterpreterAndInvalidate();
+                        quicken(frame, bci, sp, opcode);
+                    }
+                    break;
+                case Opcodes.BINARY_NUMBER:
+                    if (frame.isLong(sp - 2) && frame.isLong(sp - 1)) {
+                        try {
+                            longForm(frame, OPERATORS[operand(bci, 0)], sp - 2, frame.getLong(sp - 2), frame.getLong(sp - 1));
+                            sp--;
+                            bci += 5;
+                        } catch (ArithmeticException e) {
+                            CompilerDirectives.transferToInterpreterAndInvalidate();
+                            _code[bci] = Opcodes.BINARY_DOUBLE;
+                        }
+                    } else if (isNumber(frame, sp - 2) && isNumber(frame, sp - 1)) {
+                        doubleForm(frame, OPERATORS[operand(bci, 0)], sp - 2, number(frame, sp - 2), number(frame, sp - 1));
+                        sp--;
+                        bci += 5;
+                    } else {
+                        CompilerDirectives.transferToInterpreterAndInvalidate();
+                        quicken(frame, bci, sp, opcode);
+                    }
+                    break;
+                case Opcodes.BINARY_DOUBLE:
+                    if (isNumber(frame, sp - 2) && isNumber(frame, sp - 1)) {
+                        doubleForm(frame, OPERATORS[operand(bci, 0)], sp - 2, number(frame, sp - 2), number(frame, sp - 1));
+                        sp--;
+                        bci += 5;
+                    } else {
+                        CompilerDirectives.transferToInterpreterAndInvalidate();
+                        quicken(frame, bci, sp, opcode);
+                    }
+                    break;
+                case Opcodes.BINARY_NODE: {
+                    BajicNode node = _nodes[operand(bci, 1)];
+                    if (node == null) {
+                        // Quickened by another thread, which is still publishing the node.
+                        CompilerDirectives.transferToInterpreterAndInvalidate();
+                        node = operatorNode(bci, sp);
+                    }
+                    Object value = node.executeGeneric(frame);
+                    push(frame, --sp - 1, value);
+                    bci += 5;
+                    break;
+                }
+                case Opcodes.NODE: {
+                    Object value = _nodes[operand(bci, 0)].executeGeneric(frame);
+                    sp -= operand(bci, 1);
+                    push(frame, sp++, value);
+                    bci += 5;
+                    break;
+                }
+                case Opcodes.CALL: {
+                    int count = operand(bci, 1);
+                    Object value = call(frame, operand(bci, 0), sp, count);
+                    sp -= count + 1;
+                    push(frame, sp++, value);
+                    bci += 5;
+                    break;
+                }
+                case Opcodes.JUMP:
+                    bci = operand(bci, 0);
+                    break;
+                case Opcodes.AND_ALSO:
+                    if (!booleanOperand(frame, sp - 1, BinaryOperator.AndAlso)) {
+                        bci = operand(bci, 0);
+                    } else {
+                        sp--;
+                        bci += 3;
+                    }
+                    break;
+                case Opcodes.OR_ELSE:
+                    if (booleanOperand(frame, sp - 1, BinaryOperator.OrElse)) {
+                        bci = operand(bci, 0);
+                    } else {
+                        sp--;
+                        bci += 3;
+                    }
+                    break;
+                case Opcodes.CHECK_BOOLEAN:
+                    booleanOperand(frame, sp - 1, OPERATORS[operand(bci, 0)]);
+                    bci += 3;
+                    break;
+                case Opcodes.RETURN:
+                    return frame.getValue(sp - 1);
+                default:
+                    throw CompilerDirectives.shouldNotReachHere("Unknown opcode " + opcode);
+            }
+        }
+    }
+
+    /** Stores {@code value} to {@code slot}, unboxed when it is a primitive. */
+    private static void push(VirtualFrame frame, int slot, Object value) {
+        if (value instanceof Long number) {
+            frame.setLong(slot, number);
+        } else if (value instanceof Double number) {
+            frame.setDouble(slot, number);
+        } else if (value instanceof Boolean bool) {
+            frame.setBoolean(slot, bool);
+        } else {
+            frame.setObject(slot, value);
+        }
+    }
+
+    private Object defined(Object value, int name) {
+        if (value == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw new BajicException("Undefined variable " + _constants[name], this);
+        }
+        return value;
+    }
+
+    private static boolean isNumber(VirtualFrame frame, int slot) {
+        return frame.isLong(slot) || frame.isDouble(slot);
+    }
+
+    private static double number(VirtualFrame frame, int slot) {
+        return frame.isLong(slot) ? frame.getLong(slot) : frame.getDouble(slot);
+    }
+
+    private boolean booleanOperand(VirtualFrame frame, int slot, BinaryOperator operator) {
+        if (frame.isBoolean(slot)) {
+            return frame.getBoolean(slot);
+        }
+        Object value = frame.getValue(slot);
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        CompilerDirectives.transferToInterpreter();
+        throw BajicException.typeError(this, operator.name(), value);
+    }
+
+    @ExplodeLoop
+    private Object call(VirtualFrame frame, int site, int sp, int count) {
+        Object function = frame.getValue(sp - count - 1);
+        Object[] arguments = new Object[BajicFunction.FIRST_ARGUMENT + count];
+        for (int i = 0; i < count; i++) {
+            arguments[BajicFunction.FIRST_ARGUMENT + i] = frame.getValue(sp - count + i);
+        }
+        return _calls[site].executeDispatch(function, arguments);
+    }
+
+    private static boolean hasLongForm(BinaryOperator operator) {
+        return switch (operator) {
+            case Add, Sub, Mul, Eq, Ne, Lt, Gt, Lte, Gte, And, Or, BitAnd, BitOr -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean hasDoubleForm(BinaryOperator operator) {
+        return switch (operator) {
+            case Add, Sub, Mul, Div, Pow, Eq, Ne, Lt, Gt, Lte, Gte -> true;
+            default -> false;
+        };
+    }
+
+    /** The operator on two integers, as its node specializes it; throws ArithmeticException before storing on overflow. */
+    private static void longForm(VirtualFrame frame, BinaryOperator operator, int slot, long left, long right) {
+        if (operator == BinaryOperator.Add) {
+            frame.setLong(slot, Math.addExact(left, right));
+        } else if (operator == BinaryOperator.Sub) {
+            frame.setLong(slot, Math.subtractExact(left, right));
+        } else if (operator == BinaryOperator.Mul) {
+            frame.setLong(slot, Math.multiplyExact(left, right));
+        } else if (operator == BinaryOperator.And || operator == BinaryOperator.BitAnd) {
+            frame.setLong(slot, left & right);
+        } else if (operator == BinaryOperator.Or || operator == BinaryOperator.BitOr) {
+            frame.setLong(slot, left | right);
+        } else if (operator == BinaryOperator.Eq) {
+            frame.setBoolean(slot, left == right);
+        } else if (operator == BinaryOperator.Ne) {
+            frame.setBoolean(slot, left != right);
+        } else if (operator == BinaryOperator.Lt) {
+            frame.setBoolean(slot, left < right);
+        } else if (operator == BinaryOperator.Gt) {
+            frame.setBoolean(slot, left > right);
+        } else if (operator == BinaryOperator.Lte) {
+            frame.setBoolean(slot, left <= right);
+        } else if (operator == BinaryOperator.Gte) {
+            frame.setBoolean(slot, left >= right);
+        } else {
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    /** The operator on two numbers, in floating point, as its node specializes it. */
+    private static void doubleForm(VirtualFrame frame, BinaryOperator operator, int slot, double left, double right) {
+        if (operator == BinaryOperator.Add) {
+            frame.setDouble(slot, left + right);
+        } else if (operator == BinaryOperator.Sub) {
+            frame.setDouble(slot, left - right);
+        } else if (operator == BinaryOperator.Mul) {
+            frame.setDouble(slot, left * right);
+        } else if (operator == BinaryOperator.Div) {
+            frame.setDouble(slot, left / right);
+        } else if (operator == BinaryOperator.Pow) {
+            frame.setDouble(slot, Math.pow(left, right));
+        } else if (operator == BinaryOperator.Eq) {
+            frame.setBoolean(slot, left == right);
+        } else if (operator == BinaryOperator.Ne) {
+            frame.setBoolean(slot, left != right);
+        } else if (operator == BinaryOperator.Lt) {
+            frame.setBoolean(slot, left < right);
+        } else if (operator == BinaryOperator.Gt) {
+            frame.setBoolean(slot, left > right);
+        } else if (operator == BinaryOperator.Lte) {
+            frame.setBoolean(slot, left <= right);
+        } else if (operator == BinaryOperator.Gte) {
+            frame.setBoolean(slot, left >= right);
+        } else {
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    /**
+     * Rewrites the {@code BINARY} instruction at {@code bci}, which cannot run on the operands on the stack as it is,
+     * to the next form that can; the loop then runs it again.
+     */
+    private void quicken(VirtualFrame frame, int bci, int sp, byte from) {
+        CompilerAsserts.neverPartOfCompilation();
+        BinaryOperator operator = OPERATORS[operand(bci, 0)];
+        boolean longs = frame.isLong(sp - 2) && frame.isLong(sp - 1);
+        boolean numbers = isNumber(frame, sp - 2) && isNumber(frame, sp - 1);
+        byte to;
+        if (from == Opcodes.BINARY && longs && hasLongForm(operator)) {
+            to = Opcodes.BINARY_LONG;
+        } else if ((from == Opcodes.BINARY || from == Opcodes.BINARY_LONG) && numbers && hasLongForm(operator)
+                && hasDoubleForm(operator)) {
+            to = Opcodes.BINARY_NUMBER;
+        } else if (from == Opcodes.BINARY && numbers && hasDoubleForm(operator)) {
+            to = Opcodes.BINARY_DOUBLE;
+        } else {
+            operatorNode(bci, sp);
+            to = Opcodes.BINARY_NODE;
+        }
+        _code[bci] = to;
+    }
+
+    /** The node of the operator of the {@code BINARY} instruction at {@code bci}, created on first use. */
+    private BajicNode operatorNode(int bci, int sp) {
+        CompilerAsserts.neverPartOfCompilation();
+        int site = operand(bci, 1);
+        Lock lock = getLock();
+        lock.lock();
+        try {
+            BajicNode node = _nodes[site];
+            if (node == null) {
+                node = BinaryNodes.create(OPERATORS[operand(bci, 0)], new StackSlotNode(sp - 2), new StackSlotNode(sp - 1));
+                node.setSourceSection(_siteSpans[2 * site], _siteSpans[2 * site + 1]);
+                _nodes[site] = insert(node);
+                notifyInserted(node);
+            }
+            return node;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
\ No newline at end of file
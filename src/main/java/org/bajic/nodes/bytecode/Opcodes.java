@@ -0,0 +1,74 @@
+package org.bajic.nodes.bytecode;
+
+/**
+ * Instructions of a {@link BytecodeNode}. Each is one opcode byte followed by its operands, unsigned 16-bit values in
+ * big-endian order. Instructions work on an operand stack kept in frame slots after the ones of the locals; the
+ * comment of each gives its operands, then what it pops and pushes.
+ * <p>
+ * {@code BINARY} instructions quicken themselves on their first run: into {@code BINARY_LONG} when both operands are
+ * integers, {@code BINARY_NUMBER} when they are numbers and the operator has an integer form, {@code BINARY_DOUBLE}
+ * when it has not or after an integer overflow, and {@code BINARY_NODE} for everything else, which runs the node of the
+ * operator. A quickened instruction that sees other operands moves further down that list, never back up.
+ */
+public final class Opcodes {
+
+    private Opcodes() {}
+
+    /** constant; pushes the constant. */
+    public static final byte CONST = 0;
+    /** Pops a value. */
+    public static final byte POP = 1;
+    /** index; pushes the argument, or Nothing when it was not passed. */
+    public static final byte LOAD_ARG = 2;
+    /** slot, name constant; pushes the local. */
+    public static final byte LOAD_LOCAL = 3;
+    /** slot; stores the value on top of the stack to the local, leaving it there. */
+    public static final byte STORE_LOCAL = 4;
+    /** depth, slot, name constant; pushes the local of the frame {@code depth} captured frames up. */
+    public static final byte LOAD_OUTER = 5;
+    /** depth, slot; stores the top of the stack to the local of the frame {@code depth} captured frames up. */
+    public static final byte STORE_OUTER = 6;
+    /** index, name constant; pushes the page-scope variable. */
+    public static final byte LOAD_PAGE = 7;
+    /** index; stores the top of the stack to the page-scope variable. */
+    public static final byte STORE_PAGE = 8;
+    /** binding key constant, name constant; pushes the context variable. */
+    public static final byte LOAD_CONTEXT = 9;
+    /** binding key constant; stores the top of the stack to the context variable. */
+    public static final byte STORE_CONTEXT = 10;
+    /** symbol constant, name constant; pushes the variable of the symbol. */
+    public static final byte LOAD_VAR = 11;
+    /** symbol constant; stores the top of the stack to the variable of the symbol. */
+    public static final byte STORE_VAR = 12;
+    /** operator, site; pops the right then the left operand, pushes the result. Not quickened yet. */
+    public static final byte BINARY = 13;
+    /** Same as {@link #BINARY}, on two integers. */
+    public static final byte BINARY_LONG = 14;
+    /** Same as {@link #BINARY}, on two integers with the integer form of the operator, or else two numbers. */
+    public static final byte BINARY_NUMBER = 15;
+    /** Same as {@link #BINARY}, on two numbers, in floating point. */
+    public static final byte BINARY_DOUBLE = 16;
+    /** Same as {@link #BINARY}, running the node of the operator. */
+    public static final byte BINARY_NODE = 17;
+    /** site, count; runs the node of the site, which reads its {@code count} operands, pops them, pushes its value. */
+    public static final byte NODE = 18;
+    /** site, count; pops {@code count} arguments then the function, calls it, pushes its value. */
+    public static final byte CALL = 19;
+    /** target; jumps to {@code target}. */
+    public static final byte JUMP = 20;
+    /** target; jumps leaving the boolean on top of the stack when it is False, pops it otherwise. */
+    public static final byte AND_ALSO = 21;
+    /** target; jumps leaving the boolean on top of the stack when it is True, pops it otherwise. */
+    public static final byte OR_ELSE = 22;
+    /** operator; fails unless the top of the stack, the right operand of the operator, is a boolean. */
+    public static final byte CHECK_BOOLEAN = 23;
+    /** Returns the top of the stack. */
+    public static final byte RETURN = 24;
+
+    private static final int[] OPERAND_COUNTS = { 1, 0, 1, 2, 1, 3, 2, 2, 1, 2, 1, 2, 1, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 0 };
+
+    /** Length in bytes of the instruction of {@code opcode}, operands included. */
+    public static int length(byte opcode) {
+        return 1 + 2 * OPERAND_COUNTS[opcode];
+    }
+}
\ No newline at end of file
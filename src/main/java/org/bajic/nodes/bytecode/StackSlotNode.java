@@ -0,0 +1,50 @@
+package org.bajic.nodes.bytecode;
+
+import org.bajic.nodes.BajicNode;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+
+/**
+ * Operand of a node run by a {@link BytecodeNode}: the value the instructions before it left in a slot of the operand
+ * stack. The typed reads return the primitive the slot holds without boxing it.
+ */
+@NodeInfo(shortName = "operand")
+public final class StackSlotNode extends BajicNode {
+
+    private final int _slot;
+
+    public StackSlotNode(int slot) {
+        _slot = slot;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        return frame.getValue(_slot);
+    }
+
+    @Override
+    public long executeLong(VirtualFrame frame) throws UnexpectedResultException {
+        if (frame.isLong(_slot)) {
+            return frame.getLong(_slot);
+        }
+        throw new UnexpectedResultException(frame.getValue(_slot));
+    }
+
+    @Override
+    public double executeDouble(VirtualFrame frame) throws UnexpectedResultException {
+        if (frame.isDouble(_slot)) {
+            return frame.getDouble(_slot);
+        }
+        throw new UnexpectedResultException(frame.getValue(_slot));
+    }
+
+    @Override
+    public boolean executeBoolean(VirtualFrame frame) throws UnexpectedResultException {
+        if (frame.isBoolean(_slot)) {
+            return frame.getBoolean(_slot);
+        }
+        throw new UnexpectedResultException(frame.getValue(_slot));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,295 @@
+package org.bajic.runtime;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.ControlFlowException;
+
+/**
+ * An array, {@code [a, b]}, or a collection, {@code {a, b}}: both are indexed from 0 and grow by writing just past
+ * their last element, and only differ in how they are shown.
+ * <p>
+ * The elements are stored in a {@code long[]} as long as they are all integers, in a {@code double[]} as long as they
+ * are all numbers, and in an {@code Object[]} otherwise, so numeric arrays never box their elements. Writing an
+ * element the store cannot hold moves every element to the next, more general, store for good. Nodes specialize on
+ * the store and access it directly; the other methods work on any store.
+ * <p>
+ * Arrays can be shared by the threads of a context. Writes take the lock of the array, and the store is published
+ * before the length that makes its new elements readable, so that a read checked against the length finds them in
+ * whichever store it reads. Every access reads the store once: should another thread have generalized it since a
+ * node checked it, {@link #getLong} and {@link #getDouble} throw a {@link StoreChangedException} for the node to
+ * specialize again, and {@link #setLong} and {@link #setDouble} write through {@link #set}.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class BajicArray implements TruffleObject {
+
+    private volatile Object _store;
+    private volatile int _length;
+    private final boolean _collection;
+
+    private BajicArray(Object store, int length, boolean collection) {
+        _store = store;
+        _length = length;
+        _collection = collection;
+    }
+
+    /** An array of {@code values}, in the most specific store that holds them all. */
+    public static BajicArray of(Object[] values, boolean collection) {
+        boolean longs = true;
+        boolean doubles = true;
+        for (Object value : values) {
+            longs &= value instanceof Long;
+            doubles &= value instanceof Long || value instanceof Double;
+        }
+        if (longs) {
+            long[] store = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                store[i] = (Long)values[i];
+            }
+            return new BajicArray(store, values.length, collection);
+        } else if (doubles) {
+            double[] store = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                store[i] = ((Number)values[i]).doubleValue();
+            }
+            return new BajicArray(store, values.length, collection);
+        }
+        return new BajicArray(values, values.length, collection);
+    }
+
+    public boolean isCollection() {
+        return _collection;
+    }
+
+    public int length() {
+        return _length;
+    }
+
+    public boolean isLongStore() {
+        return _store instanceof long[];
+    }
+
+    public boolean isDoubleStore() {
+        return _store instanceof double[];
+    }
+
+    public boolean isObjectStore() {
+        return _store instanceof Object[];
+    }
+
+    public boolean inBounds(long index) {
+        return index >= 0 && index < _length;
+    }
+
+    /** Whether {@code index} can be written, which is the case of the elements and of the one just past the last. */
+    public boolean canWrite(long index) {
+        return index >= 0 && index <= _length;
+    }
+
+    /** Reads an element of a {@code long[]} store, or throws if another thread has generalized it since. */
+    public long getLong(int index) throws StoreChangedException {
+        Object store = _store;
+        if (!(store instanceof long[])) {
+            CompilerDirectives.transferToInterpreter();
+            throw new StoreChangedException();
+        }
+        return CompilerDirectives.castExact(store, long[].class)[index];
+    }
+
+    /** Reads an element of a {@code double[]} store, or throws if another thread has generalized it since. */
+    public double getDouble(int index) throws StoreChangedException {
+        Object store = _store;
+        if (!(store instanceof double[])) {
+            CompilerDirectives.transferToInterpreter();
+            throw new StoreChangedException();
+        }
+        return CompilerDirectives.castExact(store, double[].class)[index];
+    }
+
+    /** The element at {@code index}, boxed when the store is a primitive one. */
+    public Object get(int index) {
+        Object store = _store;
+        if (store instanceof long[] longs) {
+            return longs[index];
+        } else if (store instanceof double[] doubles) {
+            return doubles[index];
+        }
+        return ((Object[])store)[index];
+    }
+
+    /** Writes an element of a {@code long[]} store, or of whichever store another thread has generalized it to. */
+    public void setLong(int index, long value) {
+        synchronized (this) {
+            if (index == _length) {
+                grow();
+            }
+            if (_store instanceof long[]) {
+                CompilerDirectives.castExact(_store, long[].class)[index] = value;
+                return;
+            }
+        }
+        CompilerDirectives.transferToInterpreter();
+        set(index, value);
+    }
+
+    /** Writes an element of a {@code double[]} store, or of whichever store another thread has generalized it to. */
+    public void setDouble(int index, double value) {
+        synchronized (this) {
+            if (index == _length) {
+                grow();
+            }
+            if (_store instanceof double[]) {
+                CompilerDirectives.castExact(_store, double[].class)[index] = value;
+                return;
+            }
+        }
+        CompilerDirectives.transferToInterpreter();
+        set(index, value);
+    }
+
+    /** Writes an element, moving the elements to a more general store when the current one cannot hold it. */
+    @TruffleBoundary
+    public synchronized void set(int index, Object value) {
+        if (_store instanceof long[] && !(value instanceof Long)) {
+            generalize(value instanceof Double);
+        }
+        if (_store instanceof double[] && !(value instanceof Long || value instanceof Double)) {
+            generalize(false);
+        }
+        if (index == _length) {
+            grow();
+        }
+        if (_store instanceof long[] longs) {
+            longs[index] = (Long)value;
+        } else if (_store instanceof double[] doubles) {
+            doubles[index] = ((Number)value).doubleValue();
+        } else {
+            ((Object[])_store)[index] = value;
+        }
+    }
+
+    /** Moves the elements to a {@code double[]} store if {@code toDoubles} and the store is a {@code long[]} one. */
+    private void generalize(boolean toDoubles) {
+        int capacity = Math.max(_length, 4);
+        if (toDoubles) {
+            long[] longs = (long[])_store;
+            double[] doubles = new double[capacity];
+            for (int i = 0; i < _length; i++) {
+                doubles[i] = longs[i];
+            }
+            _store = doubles;
+            return;
+        }
+        Object[] objects = new Object[capacity];
+        for (int i = 0; i < _length; i++) {
+            objects[i] = get(i);
+        }
+        _store = objects;
+    }
+
+    @TruffleBoundary
+    private void grow() {
+        int capacity = java.lang.reflect.Array.getLength(_store);
+        if (_length == capacity) {
+            int grown = Math.max(4, capacity * 2);
+            if (_store instanceof long[] longs) {
+                _store = Arrays.copyOf(longs, grown);
+            } else if (_store instanceof double[] doubles) {
+                _store = Arrays.copyOf(doubles, grown);
+            } else {
+                _store = Arrays.copyOf((Object[])_store, grown);
+            }
+        }
+        _length++;
+    }
+
+    /** Whether an element is {@code =} to {@code value}. */
+    @TruffleBoundary
+    public boolean contains(Object value) {
+        int length = _length;
+        if (_store instanceof long[] longs && value instanceof Long l) {
+            for (int i = 0; i < length; i++) {
+                if (longs[i] == l) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (BajicValues.areEqual(get(i), value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        int length = _length;
+        var sb = new StringBuilder(_collection ? "{" : "[");
+        for (int i = 0; i < length; i++) {
+            sb.append(i == 0 ? "" : ", ").append(BajicValues.toDisplayString(get(i)));
+        }
+        return sb.append(_collection ? "}" : "]").toString();
+    }
+
+    @ExportMessage
+    boolean hasArrayElements() {
+        return true;
+    }
+
+    @ExportMessage
+    long getArraySize() {
+        return _length;
+    }
+
+    @ExportMessage
+    boolean isArrayElementReadable(long index) {
+        return inBounds(index);
+    }
+
+    @ExportMessage
+    Object readArrayElement(long index) throws InvalidArrayIndexException {
+        if (!inBounds(index)) {
+            throw InvalidArrayIndexException.create(index);
+        }
+        return get((int)index);
+    }
+
+    @ExportMessage
+    boolean isArrayElementModifiable(long index) {
+        return inBounds(index);
+    }
+
+    @ExportMessage
+    boolean isArrayElementInsertable(long index) {
+        return index == _length;
+    }
+
+    /** Lets the host write the arrays scripts return in place, appending just past the last element as scripts do. */
+    @ExportMessage
+    void writeArrayElement(long index, Object value) throws InvalidArrayIndexException {
+        if (!canWrite(index)) {
+            throw InvalidArrayIndexException.create(index);
+        }
+        set((int)index, BajicValues.fromForeign(value));
+    }
+
+    @ExportMessage
+    Object toDisplayString(boolean allowSideEffects) {
+        return toString();
+    }
+
+    /** Thrown by the reads of a primitive store which another thread has generalized since a node checked it. */
+    public static final class StoreChangedException extends ControlFlowException {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package org.bajic.runtime;
+
+import org.bajic.compiler.parser.Symbol;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A class declared by {@code Class Name(Field, ...)}. Its instances start with the root shape of the class and get
+ * the fields, in order, set to the arguments of {@code New}, so every instance built by the same {@code New} goes
+ * through the same shape transitions. The class is created when the script is compiled and shared by the contexts
+ * of the language, which lets {@code New} cache on it. The fields are shown as they are spelled in the declaration.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class BajicClass implements TruffleObject {
+
+    private final String _name;
+    @CompilationFinal(dimensions = 1) private final Symbol[] _fields;
+    private final String[] _fieldNames;
+    private final Shape _rootShape;
+
+    public BajicClass(String name, Symbol[] fields, String[] fieldNames) {
+        _name = name;
+        _fields = fields;
+        _fieldNames = fieldNames;
+        // Instances can be reached from several threads through the variables of a context, so shape changes must be
+        // thread-safe.
+        _rootShape = Shape.newBuilder().layout(BajicObject.class).dynamicType(this).shared(true).build();
+    }
+
+    public String getName() {
+        return _name;
+    }
+
+    public Symbol[] getFields() {
+        return _fields;
+    }
+
+    /** The spelling of {@code member} in the declaration, or its folded name for a member set outside of it. */
+    public String memberName(Symbol member) {
+        for (int i = 0; i < _fields.length; i++) {
+            if (_fields[i] == member) {
+                return _fieldNames[i];
+            }
+        }
+        return member.Name();
+    }
+
+    /** A new instance without any member yet. */
+    public BajicObject allocate() {
+        return new BajicObject(_rootShape);
+    }
+
+    @Override
+    public String toString() {
+        return "Class " + _name;
+    }
+
+    @ExportMessage
+    Object toDisplayString(boolean allowSideEffects) {
+        return toString();
+    }
+}
\ No newline at end of file
@@ -1,5 +1,94 @@
 package org.bajic.runtime;
 
+import java.util.Locale;
+
+import org.bajic.BajicLanguage;
+import org.bajic.compiler.parser.Symbol;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage.ContextReference;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * State of one context. The language, with the scripts it compiled, is shared by every context of an engine, and a
+ * context may be entered by several threads at once: its variables, page-scope ones and the others such as
+ * {@code μ} globals and {@code £} family variables, are kept in {@link ConcurrentSlots} indexed by slot or symbol id.
+ * <p>
+ * {@code %} context variables are the exception: they live in the polyglot bindings, under their {@link #bindingKey},
+ * so that the host passes the parameters of a script and reads its results there.
+ */
 public class BajicContext {
 
+    private static final ContextReference<BajicContext> REFERENCE = ContextReference.create(BajicLanguage.class);
+
+    private final BajicLanguage _language;
+    private Env _env;
+    private final ConcurrentSlots _variables = new ConcurrentSlots();
+    private final ConcurrentSlots _pageScope = new ConcurrentSlots();
+
+    public BajicContext(BajicLanguage language, Env env) {
+        _language = language;
+        _env = env;
+    }
+
+    public static BajicContext get(Node node) {
+        return REFERENCE.get(node);
+    }
+
+    public BajicLanguage getLanguage() {
+        return _language;
+    }
+
+    public Env getEnv() {
+        return _env;
+    }
+
+    /** Replaces the environment of a context pre-initialized in a native image by the one of the running process. */
+    public void patchEnv(Env env) {
+        _env = env;
+    }
+
+    /** The value of the page-scope variable at {@code index}, or {@code null} when it was never assigned. */
+    public Object getPageScope(int index) {
+        return _pageScope.get(index);
+    }
+
+    public void setPageScope(int index, Object value) {
+        _pageScope.set(index, value);
+    }
+
+    /** The value of {@code symbol}, or {@code null} when it was never assigned. */
+    public Object getVariable(Symbol symbol) {
+        return _variables.get(symbol.Id());
+    }
+
+    public void setVariable(Symbol symbol, Object value) {
+        _variables.set(symbol.Id(), value);
+    }
+
+    /** The key of the context variable {@code symbol} in the polyglot bindings. */
+    public static String bindingKey(Symbol symbol) {
+        return bindingKey(symbol.Path().isEmpty() ? symbol.Name() : symbol.Path() + "!" + symbol.Name());
+    }
+
+    /**
+     * The key of the context variable spelled {@code name}, with its path but without the {@code %} sigil, in the
+     * polyglot bindings. Like every name it is case-insensitive, so the key is in lower case.
+     */
+    public static String bindingKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /** The value of the context variable bound to {@code key}, or {@code null} when it is not bound. */
+    @TruffleBoundary
+    public Object getContextVariable(String key) {
+        Object value = _env.importSymbol(key);
+        return value == null ? null : BajicValues.fromForeign(value);
+    }
+
+    @TruffleBoundary
+    public void setContextVariable(String key, Object value) {
+        _env.exportSymbol(key, value);
+    }
 }
\ No newline at end of file
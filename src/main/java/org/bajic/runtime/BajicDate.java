@@ -0,0 +1,113 @@
+package org.bajic.runtime;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+/**
+ * A date literal or the result of date arithmetic: milliseconds since the epoch, in UTC. Adding or subtracting a number
+ * moves a date by that many days, fractions included, and subtracting two dates gives the days between them.
+ * <p>
+ * The arithmetic is done by the static methods on the packed {@code long}, the same one the lexer produces for a
+ * literal, so nodes only box their result.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class BajicDate implements TruffleObject, Comparable<BajicDate> {
+
+    public static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private final long _millis;
+
+    public BajicDate(long millis) {
+        _millis = millis;
+    }
+
+    public long millis() {
+        return _millis;
+    }
+
+    public static long plusDays(long millis, long days) {
+        return millis + days * MILLIS_PER_DAY;
+    }
+
+    public static long plusDays(long millis, double days) {
+        return millis + Math.round(days * MILLIS_PER_DAY);
+    }
+
+    public static double daysBetween(long from, long to) {
+        return (double)(to - from) / MILLIS_PER_DAY;
+    }
+
+    @Override
+    public int compareTo(BajicDate other) {
+        return Long.compare(_millis, other._millis);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof BajicDate date && date._millis == _millis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(_millis);
+    }
+
+    /** Formats the date the way it is written in a literal, without the {@code #} delimiters. */
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(Math.floorDiv(_millis, 1000), 0, ZoneOffset.UTC);
+        String date = String.format("%02d/%02d/%04d", dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getYear());
+        if (dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            return date;
+        }
+        return date + String.format(" %02d:%02d:%02d", dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond());
+    }
+
+    @ExportMessage
+    boolean isDate() {
+        return true;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    LocalDate asDate() {
+        return Instant.ofEpochMilli(_millis).atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+
+    @ExportMessage
+    boolean isTime() {
+        return true;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    LocalTime asTime() {
+        return Instant.ofEpochMilli(_millis).atOffset(ZoneOffset.UTC).toLocalTime();
+    }
+
+    @ExportMessage
+    boolean isTimeZone() {
+        return true;
+    }
+
+    @ExportMessage
+    ZoneId asTimeZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @ExportMessage
+    Object toDisplayString(boolean allowSideEffects) {
+        return toString();
+    }
+}
\ No newline at end of file
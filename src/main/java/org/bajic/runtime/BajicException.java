@@ -0,0 +1,40 @@
+package org.bajic.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Error raised by a running script, located at the node that raised it.
+ */
+public class BajicException extends AbstractTruffleException {
+
+    private static final long serialVersionUID = 1L;
+
+    @TruffleBoundary
+    public BajicException(String message, Node location) {
+        super(message, location);
+    }
+
+    @TruffleBoundary
+    public static BajicException typeError(Node location, String operation, Object... values) {
+        StringBuilder message = new StringBuilder("Type error: ").append(operation).append(" is not defined for ");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                message.append(i == values.length - 1 ? " and " : ", ");
+            }
+            message.append(BajicValues.typeName(values[i])).append(' ').append(BajicValues.toDisplayString(values[i]));
+        }
+        return new BajicException(message.toString(), location);
+    }
+
+    public static BajicException outOfBounds(Node location, BajicArray array, long index) {
+        return outOfBounds(location, array, index, array.length());
+    }
+
+    @TruffleBoundary
+    public static BajicException outOfBounds(Node location, Object value, long index, long length) {
+        return new BajicException("Index " + index + " is out of bounds for " + BajicValues.typeName(value) + " of length "
+                + length, location);
+    }
+}
\ No newline at end of file
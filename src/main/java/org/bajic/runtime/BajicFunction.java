@@ -0,0 +1,69 @@
+package org.bajic.runtime;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.IndirectCallNode;
+
+/**
+ * A lambda. Its call target is fixed when the script is compiled, so calls to it are cached on that target. The frame
+ * of the script or lambda it was created in, when it uses its locals, is passed as the first argument of every call,
+ * before the actual arguments.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class BajicFunction implements TruffleObject {
+
+    public static final int ENCLOSING_FRAME_ARGUMENT = 0;
+    public static final int FIRST_ARGUMENT = 1;
+
+    private final RootCallTarget _callTarget;
+    private final int _arity;
+    private final MaterializedFrame _enclosingFrame;
+
+    public BajicFunction(RootCallTarget callTarget, int arity, MaterializedFrame enclosingFrame) {
+        _callTarget = callTarget;
+        _arity = arity;
+        _enclosingFrame = enclosingFrame;
+    }
+
+    public RootCallTarget getCallTarget() {
+        return _callTarget;
+    }
+
+    public int getArity() {
+        return _arity;
+    }
+
+    public MaterializedFrame getEnclosingFrame() {
+        return _enclosingFrame;
+    }
+
+    @Override
+    public String toString() {
+        return _callTarget.getRootNode().getName();
+    }
+
+    @ExportMessage
+    boolean isExecutable() {
+        return true;
+    }
+
+    @ExportMessage
+    Object execute(Object[] arguments, @Cached IndirectCallNode callNode) {
+        Object[] values = new Object[FIRST_ARGUMENT + arguments.length];
+        values[ENCLOSING_FRAME_ARGUMENT] = _enclosingFrame;
+        for (int i = 0; i < arguments.length; i++) {
+            values[FIRST_ARGUMENT + i] = BajicValues.fromForeign(arguments[i]);
+        }
+        return callNode.call(_callTarget, values);
+    }
+
+    @ExportMessage
+    Object toDisplayString(boolean allowSideEffects) {
+        return toString();
+    }
+}
\ No newline at end of file
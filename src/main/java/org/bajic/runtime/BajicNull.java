@@ -0,0 +1,32 @@
+package org.bajic.runtime;
+
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+/**
+ * The value of declared but unassigned variables and of statements that produce nothing.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class BajicNull implements TruffleObject {
+
+    public static final BajicNull INSTANCE = new BajicNull();
+
+    private BajicNull() {}
+
+    @Override
+    public String toString() {
+        return "Nothing";
+    }
+
+    @ExportMessage
+    boolean isNull() {
+        return true;
+    }
+
+    @ExportMessage
+    Object toDisplayString(boolean allowSideEffects) {
+        return "Nothing";
+    }
+}
\ No newline at end of file
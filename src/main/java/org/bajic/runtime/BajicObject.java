@@ -0,0 +1,122 @@
+package org.bajic.runtime;
+
+import org.bajic.compiler.parser.Symbol;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * An instance of a {@link BajicClass}, which is its dynamic type. Members are keyed by their interned {@link Symbol},
+ * and stored in the fields of the object as laid out by its {@link Shape}: nodes that keep seeing the same shapes read
+ * and write them with a shape check and a field access.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class BajicObject extends DynamicObject {
+
+    BajicObject(Shape shape) {
+        super(shape);
+    }
+
+    public BajicClass getBajicClass() {
+        return (BajicClass)getShape().getDynamicType();
+    }
+
+    /** The symbol of the member named {@code name}: members are builtin symbols, without sigil nor path. */
+    @TruffleBoundary
+    public static Symbol memberSymbol(String name) {
+        return Symbol.BuiltIn(name);
+    }
+
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        var objects = DynamicObjectLibrary.getUncached();
+        BajicClass type = getBajicClass();
+        var sb = new StringBuilder(type.getName()).append(" {");
+        Object[] keys = objects.getKeyArray(this);
+        for (int i = 0; i < keys.length; i++) {
+            sb.append(i == 0 ? " " : ", ").append(type.memberName((Symbol)keys[i])).append(": ")
+                .append(BajicValues.toDisplayString(objects.getOrDefault(this, keys[i], null)));
+        }
+        return sb.append(keys.length == 0 ? "}" : " }").toString();
+    }
+
+    @ExportMessage
+    boolean hasMembers() {
+        return true;
+    }
+
+    @ExportMessage
+    Object getMembers(boolean includeInternal, @CachedLibrary("this") DynamicObjectLibrary objects) {
+        BajicClass type = getBajicClass();
+        Object[] keys = objects.getKeyArray(this);
+        String[] names = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            names[i] = type.memberName((Symbol)keys[i]);
+        }
+        return new MemberNames(names);
+    }
+
+    @ExportMessage
+    boolean isMemberReadable(String member, @CachedLibrary("this") DynamicObjectLibrary objects) {
+        return objects.containsKey(this, memberSymbol(member));
+    }
+
+    @ExportMessage
+    Object readMember(String member, @CachedLibrary("this") DynamicObjectLibrary objects)
+            throws UnknownIdentifierException {
+        Object value = objects.getOrDefault(this, memberSymbol(member), null);
+        if (value == null) {
+            throw UnknownIdentifierException.create(member);
+        }
+        return value;
+    }
+
+    @ExportMessage
+    Object toDisplayString(boolean allowSideEffects) {
+        return toString();
+    }
+
+    /** The names of the members of an object, as an interop array of strings. */
+    @ExportLibrary(InteropLibrary.class)
+    static final class MemberNames implements TruffleObject {
+
+        private final String[] _names;
+
+        MemberNames(String[] names) {
+            _names = names;
+        }
+
+        @ExportMessage
+        boolean hasArrayElements() {
+            return true;
+        }
+
+        @ExportMessage
+        long getArraySize() {
+            return _names.length;
+        }
+
+        @ExportMessage
+        boolean isArrayElementReadable(long index) {
+            return index >= 0 && index < _names.length;
+        }
+
+        @ExportMessage
+        Object readArrayElement(long index) throws InvalidArrayIndexException {
+            if (!isArrayElementReadable(index)) {
+                throw InvalidArrayIndexException.create(index);
+            }
+            return _names[(int)index];
+        }
+    }
+}
\ No newline at end of file
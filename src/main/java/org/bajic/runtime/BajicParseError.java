@@ -0,0 +1,45 @@
+package org.bajic.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.exception.AbstractTruffleException;
+import com.oracle.truffle.api.interop.ExceptionType;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Error reported while compiling a script, before any of it runs.
+ */
+@ExportLibrary(InteropLibrary.class)
+public class BajicParseError extends AbstractTruffleException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Source _source;
+    private final int _offset;
+
+    @TruffleBoundary
+    public BajicParseError(Source source, int offset, String message) {
+        super(String.format("%s:%d:%d: %s", source.getName(), source.getLineNumber(offset), source.getColumnNumber(offset), message));
+        _source = source;
+        _offset = offset;
+    }
+
+    @ExportMessage
+    ExceptionType getExceptionType() {
+        return ExceptionType.PARSE_ERROR;
+    }
+
+    @ExportMessage
+    boolean hasSourceLocation() {
+        return _source != null;
+    }
+
+    @ExportMessage(name = "getSourceLocation")
+    @TruffleBoundary
+    SourceSection getSourceSection() {
+        return _source.createSection(_offset, 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package org.bajic.runtime;
+
+import java.util.ArrayDeque;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+/**
+ * A string built by {@code &} that has not been looked at yet: the two strings or ropes it concatenates, copied into
+ * a flat string only when something other than {@code &} needs its characters. Appending to a string in a loop thus
+ * costs one allocation per step instead of a copy of everything built so far.
+ * <p>
+ * Ropes are strings to scripts: {@link org.bajic.nodes.BajicTypes} casts them to {@code String} for the nodes that
+ * specialize on strings, which flattens them. The flat string is kept, so a rope is flattened at most once, and
+ * its children are dropped then, so that the ropes built by a loop of {@code &} are not kept alive beside it.
+ */
+@ExportLibrary(InteropLibrary.class)
+public final class BajicRope implements TruffleObject {
+
+    /** Concatenations shorter than this are copied right away, as copying them costs less than a rope. */
+    public static final int MIN_LENGTH = 256;
+
+    /** Null once {@link #_flat} is set, which is always written first. */
+    private volatile Object _left;
+    private volatile Object _right;
+    private final int _length;
+    private volatile String _flat;
+
+    private BajicRope(Object left, Object right, int length) {
+        _left = left;
+        _right = right;
+        _length = length;
+    }
+
+    public static boolean isText(Object value) {
+        return value instanceof String || value instanceof BajicRope;
+    }
+
+    /** The concatenation of two strings or ropes. */
+    @TruffleBoundary
+    public static Object concat(Object left, Object right) {
+        int leftLength = length(left);
+        int rightLength = length(right);
+        if (leftLength == 0) {
+            return right;
+        } else if (rightLength == 0) {
+            return left;
+        }
+        int length = Math.addExact(leftLength, rightLength);
+        if (length < MIN_LENGTH) {
+            return ((String)left).concat((String)right);
+        }
+        return new BajicRope(left, right, length);
+    }
+
+    private static int length(Object text) {
+        return text instanceof BajicRope rope ? rope._length : ((String)text).length();
+    }
+
+    public int length() {
+        return _length;
+    }
+
+    /** The characters of the rope, walked iteratively since ropes built in loops are as deep as they are long. */
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        String flat = _flat;
+        if (flat != null) {
+            return flat;
+        }
+        var sb = new StringBuilder(_length);
+        var pending = new ArrayDeque<Object>();
+        pending.push(this);
+        while (!pending.isEmpty()) {
+            Object text = pending.pop();
+            if (text instanceof String string) {
+                sb.append(string);
+                continue;
+            }
+            var rope = (BajicRope)text;
+            Object left = rope._left;
+            Object right = rope._right;
+            if (left == null || right == null) {
+                sb.append(rope._flat);
+            } else {
+                pending.push(right);
+                pending.push(left);
+            }
+        }
+        flat = sb.toString();
+        _flat = flat;
+        _left = null;
+        _right = null;
+        return flat;
+    }
+
+    @ExportMessage
+    boolean isString() {
+        return true;
+    }
+
+    @ExportMessage
+    String asString() {
+        return toString();
+    }
+
+    @ExportMessage
+    Object toDisplayString(boolean allowSideEffects) {
+        return toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package org.bajic.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.TruffleObject;
+
+/**
+ * How runtime values are shown to scripts, by {@code &} and in error messages. Foreign arrays, lists and buffers are
+ * shown as arrays.
+ */
+public final class BajicValues {
+
+    private BajicValues() {}
+
+    @TruffleBoundary
+    public static String toDisplayString(Object value) {
+        if (value instanceof Double number) {
+            double d = number;
+            if (d == Math.rint(d) && Math.abs(d) < 1e15) {
+                return Long.toString((long)d);
+            }
+            return Double.toString(d);
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? "True" : "False";
+        }
+        InteropLibrary values = isForeign(value) ? InteropLibrary.getUncached(value) : null;
+        if (values != null && ForeignElements.isIndexable(values, value)) {
+            var sb = new StringBuilder("[");
+            long size = ForeignElements.size(values, value);
+            for (long i = 0; i < size; i++) {
+                Object element = ForeignElements.read(values, InteropLibrary.getUncached(), value, i, null);
+                sb.append(i == 0 ? "" : ", ").append(toDisplayString(element));
+            }
+            return sb.append(']').toString();
+        }
+        return String.valueOf(value);
+    }
+
+    /** Whether {@code value} comes from outside of scripts, from the host or another language. */
+    public static boolean isForeign(Object value) {
+        return value instanceof TruffleObject && !(value instanceof BajicArray || value instanceof BajicObject
+            || value instanceof BajicRope || value instanceof BajicDate || value instanceof BajicFunction
+            || value instanceof BajicClass || value instanceof BajicNull);
+    }
+
+    /** Widens the boxed primitives hosts pass in to the {@code long} and {@code double} scripts compute with. */
+    @TruffleBoundary
+    public static Object fromForeign(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number)value).longValue();
+        } else if (value instanceof Float number) {
+            return number.doubleValue();
+        } else if (value instanceof Character c) {
+            return c.toString();
+        }
+        return value;
+    }
+
+    /** The {@code =} operator on values of any type, for the runtime code that compares values outside of nodes. */
+    @TruffleBoundary
+    public static boolean areEqual(Object left, Object right) {
+        if (left instanceof BajicRope rope) {
+            left = rope.toString();
+        }
+        if (right instanceof BajicRope rope) {
+            right = rope.toString();
+        }
+        if (left instanceof Long l && right instanceof Long r) {
+            return l.longValue() == r.longValue();
+        } else if (left instanceof Number l && right instanceof Number r) {
+            return l.doubleValue() == r.doubleValue();
+        } else if (left instanceof String || left instanceof Boolean || left instanceof BajicDate) {
+            return left.equals(right);
+        }
+        return left == right;
+    }
+
+    @TruffleBoundary
+    public static String typeName(Object value) {
+        if (value instanceof Long) {
+            return "Integer";
+        } else if (value instanceof Double) {
+            return "Double";
+        } else if (value instanceof Boolean) {
+            return "Boolean";
+        } else if (value instanceof String || value instanceof BajicRope) {
+            return "String";
+        } else if (value instanceof BajicDate) {
+            return "Date";
+        } else if (value instanceof BajicFunction) {
+            return "Function";
+        } else if (value instanceof BajicObject object) {
+            return object.getBajicClass().getName();
+        } else if (value instanceof BajicArray array) {
+            return array.isCollection() ? "Collection" : "Array";
+        } else if (value instanceof BajicClass) {
+            return "Class";
+        } else if (value == BajicNull.INSTANCE) {
+            return "Nothing";
+        }
+        InteropLibrary values = isForeign(value) ? InteropLibrary.getUncached(value) : null;
+        if (values != null && values.hasArrayElements(value)) {
+            return "Array";
+        } else if (values != null && values.hasBufferElements(value)) {
+            return "Buffer";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
\ No newline at end of file
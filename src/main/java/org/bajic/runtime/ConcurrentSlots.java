@@ -0,0 +1,60 @@
+package org.bajic.runtime;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Values indexed by dense ints, such as symbol ids or page-scope slots, read and written by any number of threads
+ * without locking.
+ * <p>
+ * The values are stored in pages of {@link #PAGE_SIZE}, allocated when one of their slots is first written. Growing
+ * only copies the directory of pages, never the pages themselves, so a write racing with a growth cannot be lost.
+ */
+public final class ConcurrentSlots {
+
+    private static final int PAGE_BITS = 7;
+    public static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private volatile Object[][] _pages = new Object[0][];
+
+    /** The value at {@code index}, or {@code null} when it was never written. */
+    public Object get(int index) {
+        Object[][] pages = _pages;
+        int page = index >>> PAGE_BITS;
+        if (page >= pages.length || pages[page] == null) {
+            return null;
+        }
+        return SLOTS.getAcquire(pages[page], index & (PAGE_SIZE - 1));
+    }
+
+    public void set(int index, Object value) {
+        Object[][] pages = _pages;
+        int page = index >>> PAGE_BITS;
+        Object[] slots = page < pages.length ? pages[page] : null;
+        if (slots == null) {
+            slots = allocate(page);
+        }
+        SLOTS.setRelease(slots, index & (PAGE_SIZE - 1), value);
+    }
+
+    @TruffleBoundary
+    private synchronized Object[] allocate(int page) {
+        Object[][] pages = _pages;
+        if (page >= pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(page + 1, pages.length * 2));
+        } else if (pages[page] != null) {
+            return pages[page];
+        } else {
+            pages = pages.clone();
+        }
+        Object[] slots = new Object[PAGE_SIZE];
+        pages[page] = slots;
+        _pages = pages;
+        return slots;
+    }
+}
\ No newline at end of file
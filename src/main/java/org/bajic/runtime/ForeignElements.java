@@ -0,0 +1,105 @@
+package org.bajic.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Elements of the values scripts get from outside, typically {@code %} context variables bound by the host: arrays
+ * and lists are indexed by element, buffers by unsigned byte, from 0 to 255. The elements are read from and written
+ * to the value itself, through the {@link InteropLibrary} of the node doing it, so that a host {@code double[]},
+ * {@code long[]}, {@code ByteBuffer} or {@code List} is never copied into a {@link BajicArray}.
+ * <p>
+ * Elements read are converted to the values scripts compute with, {@code long} for every integer, {@code double} for
+ * every other number. Writing an integer into a {@code double[]} is left to the conversions of the value's language.
+ */
+public final class ForeignElements {
+
+    private ForeignElements() {}
+
+    /** Whether {@code value} is indexed by this class: a {@link BajicValues#isForeign foreign} array or buffer. */
+    public static boolean isIndexable(InteropLibrary values, Object value) {
+        return BajicValues.isForeign(value) && (values.hasArrayElements(value) || values.hasBufferElements(value));
+    }
+
+    /** Number of elements, or of bytes for a buffer. */
+    public static long size(InteropLibrary values, Object value) {
+        try {
+            return values.hasArrayElements(value) ? values.getArraySize(value) : values.getBufferSize(value);
+        } catch (UnsupportedMessageException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    /** The element at {@code index}, converted by {@link #toBajic}. */
+    public static Object read(InteropLibrary values, InteropLibrary elements, Object value, long index, Node location) {
+        try {
+            if (values.hasArrayElements(value)) {
+                return toBajic(elements, values.readArrayElement(value, index));
+            }
+            return (long)(values.readBufferByte(value, index) & 0xff);
+        } catch (InvalidArrayIndexException | InvalidBufferOffsetException e) {
+            CompilerDirectives.transferToInterpreter();
+            throw BajicException.outOfBounds(location, value, index, size(values, value));
+        } catch (UnsupportedMessageException e) {
+            CompilerDirectives.transferToInterpreter();
+            throw BajicException.typeError(location, "[]", value, index);
+        }
+    }
+
+    /**
+     * Writes the element at {@code index}. Lists grow by writing just past their last element, as arrays of scripts
+     * do; host arrays and buffers have a fixed size, and buffers only hold bytes, from 0 to 255.
+     */
+    public static void write(InteropLibrary values, Object value, long index, Object element, Node location) {
+        try {
+            if (values.hasArrayElements(value)) {
+                values.writeArrayElement(value, index, element);
+            } else if (element instanceof Long b && b >= 0 && b <= 0xff) {
+                values.writeBufferByte(value, index, (byte)(long)b);
+            } else {
+                CompilerDirectives.transferToInterpreter();
+                throw BajicException.typeError(location, "[] :=", value, element);
+            }
+        } catch (InvalidArrayIndexException | InvalidBufferOffsetException e) {
+            CompilerDirectives.transferToInterpreter();
+            throw BajicException.outOfBounds(location, value, index, size(values, value));
+        } catch (UnsupportedMessageException | UnsupportedTypeException e) {
+            CompilerDirectives.transferToInterpreter();
+            throw BajicException.typeError(location, "[] :=", value, element);
+        }
+    }
+
+    /**
+     * A foreign element as scripts see it: integers of any width as {@code long}, other numbers as {@code double},
+     * characters and strings as {@code String}, null as Nothing. Anything else is kept as it is, so nested arrays are
+     * indexed in place too.
+     */
+    public static Object toBajic(InteropLibrary elements, Object element) {
+        if (element instanceof Long || element instanceof Double || element instanceof String || element instanceof Boolean) {
+            return element;
+        }
+        try {
+            if (elements.isNumber(element)) {
+                if (elements.fitsInLong(element)) {
+                    return elements.asLong(element);
+                } else if (elements.fitsInDouble(element)) {
+                    return elements.asDouble(element);
+                }
+            } else if (elements.isString(element)) {
+                return elements.asString(element);
+            } else if (elements.isBoolean(element)) {
+                return elements.asBoolean(element);
+            } else if (elements.isNull(element)) {
+                return BajicNull.INSTANCE;
+            }
+        } catch (UnsupportedMessageException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+        return element;
+    }
+}
\ No newline at end of file
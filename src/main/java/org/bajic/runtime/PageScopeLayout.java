@@ -0,0 +1,26 @@
+package org.bajic.runtime;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bajic.compiler.parser.Symbol;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Slot numbers of the {@code $} page-scope variables, given out as scripts are compiled and shared by every context of
+ * the language. A context stores the values in an array indexed by these numbers.
+ */
+public final class PageScopeLayout {
+
+    private final Map<Symbol, Integer> _indexes = new HashMap<>();
+
+    @TruffleBoundary
+    public synchronized int indexOf(Symbol symbol) {
+        return _indexes.computeIfAbsent(symbol, s -> _indexes.size());
+    }
+
+    public synchronized int size() {
+        return _indexes.size();
+    }
+}
\ No newline at end of file
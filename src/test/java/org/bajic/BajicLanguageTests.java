@@ -0,0 +1,154 @@
+package org.bajic;
+
+import java.util.Locale;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class BajicLanguageTests
+{
+    private static Context context;
+
+    @BeforeAll
+    public static void createContext()
+    {
+        context = Context.newBuilder(BajicLanguage.ID).option("engine.WarnInterpreterOnly", "false").build();
+    }
+
+    @AfterAll
+    public static void closeContext()
+    {
+        context.close();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "1 + 2 | 3",
+        "7 / 2 | 3.5",
+        "2 ^ 10 | 1024.0",
+        "1 + 2 * 3 - 4 | 3",
+        "1.5 * 2 | 3.0",
+        "9223372036854775807 + 1 | 9.223372036854776E18",
+        "-5 | -5",
+        "\"a\" + \"b\" | ab",
+        "\"a\" & 1 & True & 1.5 | a1True1.5",
+        "1 = 1.0 | true",
+        "1 <> 2 | true",
+        "\"a\" < \"b\" | true",
+        "2 >= 3 | false",
+        "5 BitAnd 3 | 1",
+        "5 BitOr 3 | 7",
+        "3 Or 4 | 7",
+        "True And False | false",
+        "Not True | false",
+        "\"b\" In \"abc\" | true",
+        "1 < 2 OrElse undefined | true",
+        "1 > 2 AndAlso undefined | false",
+        "1 > 2 OrElse 2 > 1 | true",
+        "x := 3 : x * x | 9",
+        "Dim s As String : s & \"x\" | x",
+        "((x) => x * 2)(21) | 42",
+        "f := (a, b) => a - b : f(10, 3) | 7",
+        "#10/30/1990# + 1 & \"\" | 10/31/1990",
+        "#10/30/1990# - #10/01/1990# | 29.0",
+        "#02/28/2000# + 1 & \"\" | 02/29/2000",
+        "#01/01/1970# - 0.5 & \"\" | 12/31/1969 12:00:00",
+        "#10/30/1990 12:00:00# > #10/30/1990# | true",
+        "x@ := 1 : x@ := x@ + 1.5 : x@ | 2.5",
+        "x@ := 1 : x@ := \"a\" : x@ | a",
+        "a$ := 5 : a$ + 1 | 6",
+        "Dim q@ As Integer : q@ + 1 | 1",
+        "f := (x) => (x := x + 1 : x) : f(1) | 2",
+        "f := (a, b) => b : f(1) = Nothing | true",
+        "y@ := 2 : f := (x) => x * y@ : f(21) | 42",
+        "n@ := 1 : inc := () => (n@ := n@ + 1) : inc() : inc() : n@ | 3",
+        "x@ := 1 : g := () => (Dim x@ : x@ := 10) : g() : x@ | 1",
+        "add := (a) => (b) => a + b : add(1)(2) | 3",
+        "Class Point(X, Y) : p := New Point(1, 2) : p.X + p.y | 3",
+        "Class Point(X, Y) : p := New Point(1, 2) : p.Z := 5 : p[\"z\"] * 10 + p[\"X\"] | 51",
+        "Class Item(Name) : i := New Item(\"a\") : i[\"Name\"] := i.Name & \"b\" : i & \"\" | Item { Name: ab }",
+        "Class Empty : New Empty & \"\" | Empty {}",
+        "Class P(A) : f := (v) => (New P(v)).A : f(1) + f(2.5) + f(3) | 6.5",
+        "Class Q(A, B, C, D) : f := (v) => New Q(v, v + 1, v + 2, v + 3) : f(1).D + f(2).A + f(3).B | 10",
+        "Class P(A, B) : Class R(B, A) : f := (c) => New c(1, 2) : f(P).A + f(R).A + f(P).B | 5",
+        "a := [1, 2, 3] : a[0] + a[2] | 4",
+        "a := [1, 2] : a[2] := 2.5 : a[0] := \"x\" : a & \"\" | [x, 2, 2.5]",
+        "a := [1.5, 2] : a[0] * a[1] | 3.0",
+        "Dim c As Collection : c[0] := 1 : c[1] := 2 : c & \"\" | {1, 2}",
+        "f := (a) => a[0] : f([1]) + f([2.5]) + f({3, \"s\"}) | 6.5",
+        "2 In [1, 2.0] | true",
+        "\"c\" In {\"a\", \"b\"} | false",
+        "s := \"0123456789\" : s := s & s : s := s & s : s := s & s : s := s & s : s := s & s : (s & 1) = (s & \"1\") | true",
+        "s := \"0123456789\" : s := s & s : s := s & s : s := s & s : s := s & s : s := s & s : \"91\" In (s & 1) | true",
+        "s := \"0123456789\" : s := s & s : s := s & s : s := s & s : s := s & s : s := s & s : s < (s & 0) | true",
+        "s := \"0123456789\" : s := s & s : s := s & s : s := s & s : s := s & s : s := s & s : (s & 2.5) + \"\" = s + \"2.5\" | true",
+        "s := \"0123456789\" : s := s & s : s := s & s : s := s & s : s := s & s : s := s & s : (1 & s) & \"\" = \"1\" & s | true",
+    })
+    public void EvaluatesScript(String script, String expected)
+    {
+        Assertions.assertEquals(expected, context.eval(BajicLanguage.ID, script).toString());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "undefined | Undefined variable undefined",
+        "x@ | Undefined variable x@",
+        "p$ | Undefined variable p$",
+        "f := () => z@ : f() | Undefined variable z@",
+        "\"a\" - 1 | Type error: - is not defined for String a and Integer 1",
+        "1 OrElse True | Type error: OrElse is not defined for Integer 1",
+        "Not \"a\" | Type error: Not is not defined for String a",
+        "1(2) | Type error: Calling is not defined for Integer 1",
+        "Class Missing(A) : (New Missing(1)).NoSuchMember | Missing has no member NoSuchMember",
+        "Class P(A) : New P(1, 2) | New P takes 1 arguments, not 2",
+        "New Undeclared | Undefined variable Undeclared",
+        "p := 1 : New p | Type error: New is not defined for Integer 1",
+        "1 .Member | Type error: .Member is not defined for Integer 1",
+        "Class Indexed(Field) : (New Indexed(1))[1] | Type error: [] is not defined for Indexed Indexed { Field: 1 } and Integer 1",
+        "a := [1] : a[1] | Index 1 is out of bounds for Array of length 1",
+        "Dim c As Collection : c[1] := 1 | Index 1 is out of bounds for Collection of length 0",
+        "[1][\"a\"] | Type error: [] is not defined for Array [1] and String a",
+    })
+    public void ReportsRuntimeErrors(String script, String message)
+    {
+        var error = Assertions.assertThrows(PolyglotException.class, () -> context.eval(BajicLanguage.ID, script));
+        Assertions.assertEquals(message, error.getMessage());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "1 + | Unnamed:1:4: Expected an expression",
+        "#13/01/2000# | Unnamed:1:1: Malformed date literal",
+    })
+    public void ReportsCompileErrors(String script, String message)
+    {
+        var error = Assertions.assertThrows(PolyglotException.class, () -> context.eval(BajicLanguage.ID, script));
+        Assertions.assertEquals(message, error.getMessage());
+    }
+
+    @Test
+    public void ShowsMembersAsDeclared()
+    {
+        context.eval(BajicLanguage.ID, "Class Lower(amount, total) : New Lower(1, 2)");
+        var value = context.eval(BajicLanguage.ID, "Class Upper(Amount, TOTAL) : New Upper(1, 2)");
+        Assertions.assertEquals("Upper { Amount: 1, TOTAL: 2 }", value.toString());
+    }
+
+    @Test
+    public void DeclaresTypesWhateverTheLocale()
+    {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            Assertions.assertEquals("0", context.eval(BajicLanguage.ID, "Dim i@ As INTEGER : i@").toString());
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+}
\ No newline at end of file
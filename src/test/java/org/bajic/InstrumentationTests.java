@@ -0,0 +1,42 @@
+package org.bajic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.management.ExecutionListener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class InstrumentationTests
+{
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "a := 1 : b := a + 2 : b * 3 | statements | a := 1;b := a + 2;b * 3",
+        "f := (x) => x + 1 : f(2) | roots | (x) => x + 1;f := (x) => x + 1 : f(2)",
+        "f := (x) => x + 1 : f(2) | calls | f(2)",
+        "a := 2 : 1 + a * 3 | expressions | 2;a := 2;1;a;3;a * 3;1 + a * 3",
+    })
+    public void ReportsTaggedSourceSections(String script, String tag, String expected)
+    {
+        List<String> entered = new ArrayList<>();
+        try (var context = Context.newBuilder(BajicLanguage.ID).option("engine.WarnInterpreterOnly", "false").build()) {
+            var builder = ExecutionListener.newBuilder().onReturn(event -> entered.add(event.getLocation().getCharacters().toString()));
+            switch (tag) {
+                case "statements" -> builder.statements(true);
+                case "roots" -> builder.roots(true);
+                case "calls" -> builder.expressions(true).onReturn(event -> {
+                    if (event.getLocation().getCharacters().toString().endsWith(")")) {
+                        entered.add(event.getLocation().getCharacters().toString());
+                    }
+                });
+                default -> builder.expressions(true);
+            }
+            try (var listener = builder.attach(context.getEngine())) {
+                context.eval(BajicLanguage.ID, script);
+            }
+        }
+        Assertions.assertEquals(expected, String.join(";", entered));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package org.bajic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MultiContextTests
+{
+    private static Engine engine()
+    {
+        return Engine.newBuilder(BajicLanguage.ID).option("engine.WarnInterpreterOnly", "false").build();
+    }
+
+    @Test
+    public void KeepsVariablesPerContext()
+    {
+        try (Engine engine = engine();
+             Context first = Context.newBuilder(BajicLanguage.ID).engine(engine).build();
+             Context second = Context.newBuilder(BajicLanguage.ID).engine(engine).build()) {
+            first.eval(BajicLanguage.ID, "Rateμ := 2 : Rows!Count£ := 3 : total$ := 4");
+            second.eval(BajicLanguage.ID, "Rateμ := 20");
+
+            Assertions.assertEquals(2, first.eval(BajicLanguage.ID, "Rateμ").asInt());
+            Assertions.assertEquals(20, second.eval(BajicLanguage.ID, "Rateμ").asInt());
+            Assertions.assertEquals(9, first.eval(BajicLanguage.ID, "Rateμ + Rows!Count£ + total$").asInt());
+            var error = Assertions.assertThrows(PolyglotException.class, () -> second.eval(BajicLanguage.ID, "total$"));
+            Assertions.assertEquals("Undefined variable total$", error.getMessage());
+        }
+    }
+
+    @Test
+    public void AcceptsContextsWithOtherOptions()
+    {
+        try (Engine engine = engine();
+             Context cached = Context.newBuilder(BajicLanguage.ID).engine(engine).build();
+             Context uncached = Context.newBuilder(BajicLanguage.ID).engine(engine)
+                 .option("bajic.ScriptCacheSize", "0").build()) {
+            Assertions.assertEquals(3, cached.eval(BajicLanguage.ID, "1 + 2").asInt());
+            Assertions.assertEquals(3, uncached.eval(BajicLanguage.ID, "1 + 2").asInt());
+        }
+    }
+
+    @Test
+    public void RunsScriptsOnManyThreads() throws Exception
+    {
+        int threads = 8;
+        int runs = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (Engine engine = engine(); Context context = Context.newBuilder(BajicLanguage.ID).engine(engine).build()) {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String names = "Value%1$dμ := %2$d : Rows!Count%1$d£ := %2$d : page%1$d$ := %2$d : "
+                    + "Value%1$dμ + Rows!Count%1$d£ + page%1$d$";
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < runs; i++) {
+                        String script = String.format(names, thread, i);
+                        Assertions.assertEquals(3 * i, context.eval(BajicLanguage.ID, script).asInt());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package org.bajic.builtins;
+
+import java.time.LocalDate;
+
+import org.bajic.BajicLanguage;
+import org.bajic.compiler.parser.Symbol;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class BuiltinTests
+{
+    private static Context context;
+
+    @BeforeAll
+    public static void createContext()
+    {
+        context = Context.newBuilder(BajicLanguage.ID).option("engine.WarnInterpreterOnly", "false").build();
+    }
+
+    @AfterAll
+    public static void closeContext()
+    {
+        context.close();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "Abs(-3) + Abs(2.5) | 5.5",
+        "Abs(-9223372036854775807 - 1) | 9.223372036854776E18",
+        "Sqrt(16) | 4.0",
+        "Round(2.5) + Round(3.5) + Floor(-1.5) | 4",
+        "Min(3, 1.5) + Max(2, 7) | 8.5",
+        "Len(\"abc\") + Len([1, 2]) + Len({}) | 5",
+        "UCase(\"ab\") & LCase(\"CD\") & Trim(\"  x \") | ABcdx",
+        "Left(\"hello\", 2) & Right(\"hello\", 3) & Left(\"a\", 5) | helloa",
+        "Year(#03/04/2021#) * 10000 + Month(#03/04/2021#) * 100 + Day(#03/04/2021#) | 20210304",
+        "Sum([1, 2, 3]) + Sum([0.5]) | 6.5",
+        "Sum([9223372036854775807, 1]) | 9.223372036854776E18",
+        "f := Len : f(\"abcd\") | 4",
+        "g := (Len) => Len(2) : g((x) => x * 10) | 20",
+        "LEN(\"ab\") | 2",
+        "HostRepeat(\"ab\", 2) & HostLength(\"abc\") | abab3",
+    })
+    public void CallsBuiltin(String script, String expected)
+    {
+        Assertions.assertEquals(expected, context.eval(BajicLanguage.ID, script).toString());
+    }
+
+    @Test
+    public void ReturnsHostObjectsOfHostFunctions()
+    {
+        var value = context.eval(BajicLanguage.ID, "d := HostDate() : d");
+        Assertions.assertTrue(value.isHostObject());
+        Assertions.assertEquals(LocalDate.of(2021, 3, 4), value.asHostObject());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "Len(1, 2) | Len takes 1 arguments, not 2",
+        "Len := 3 | Cannot assign the builtin Len",
+        "Dim Sum As Integer | Cannot assign the builtin Sum",
+        "Abs(\"a\") | Type error: Abs is not defined for String a",
+        "Sum([1, \"a\"]) | Type error: Sum is not defined for Array [1, a]",
+        "HostFail() | HostFail failed: no",
+    })
+    public void ReportsErrors(String script, String message)
+    {
+        var error = Assertions.assertThrows(PolyglotException.class, () -> context.eval(BajicLanguage.ID, script));
+        Assertions.assertTrue(error.getMessage().endsWith(message), error.getMessage());
+    }
+
+    @Test
+    public void RejectsInvalidDefinitions()
+    {
+        var builtins = new BuiltinRegistry.Builder().define("Twice", 1, arguments -> arguments[0]);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builtins.define("twice", 1, arguments -> null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builtins.define("Twice@", 1, arguments -> null));
+        Assertions.assertNotNull(builtins.build().lookup(Symbol.FromText("TWICE")));
+        Assertions.assertNull(BuiltinRegistry.getDefault().lookup(Symbol.FromText("Len@")));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.bajic.builtins;
+
+import java.time.LocalDate;
+
+/** Registered in the test resources, as a host application would register its builtins. */
+public class TestBuiltins implements BuiltinProvider
+{
+    @Override
+    public void registerBuiltins(BuiltinRegistry.Builder builtins)
+    {
+        builtins
+            .define("HostRepeat", 2, arguments -> ((String)arguments[0]).repeat(((Long)arguments[1]).intValue()))
+            .define("HostLength", 1, arguments -> ((String)arguments[0]).length())
+            .define("HostFail", 0, arguments -> { throw new IllegalStateException("no"); })
+            .define("HostDate", 0, arguments -> LocalDate.of(2021, 3, 4));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package org.bajic.compiler;
+
+import org.bajic.BajicLanguage;
+import org.bajic.nodes.bytecode.BytecodeNode;
+import org.bajic.runtime.BajicContext;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.source.Source;
+
+public class BytecodeTierTests
+{
+    private static Context ast;
+    private static Context bytecode;
+
+    private static Context createContext(String tier)
+    {
+        Context context = Context.newBuilder(BajicLanguage.ID)
+            .option("engine.WarnInterpreterOnly", "false")
+            .option("bajic.ExecutionTier", tier)
+            .build();
+        context.initialize(BajicLanguage.ID);
+        return context;
+    }
+
+    @BeforeAll
+    public static void createContexts()
+    {
+        ast = createContext("ast");
+        bytecode = createContext("bytecode");
+    }
+
+    @AfterAll
+    public static void closeContexts()
+    {
+        ast.close();
+        bytecode.close();
+    }
+
+    private static String evaluate(Context context, String script)
+    {
+        try
+        {
+            return context.eval(BajicLanguage.ID, script).toString();
+        }
+        catch (PolyglotException e)
+        {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    private static Node compile(Context context, String script)
+    {
+        context.enter();
+        try
+        {
+            var source = Source.newBuilder(BajicLanguage.ID, script, "test").build();
+            return new NodeFactory(BajicContext.get(null).getLanguage(), source).compile().getRootNode();
+        }
+        finally
+        {
+            context.leave();
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "1 + 2 * 3 - 4",
+        "x := 3 : y := 4 : x * x + y * y",
+        "x := 7 : x / 2",
+        "x := 2 : x ^ 10",
+        "x := 9223372036854775807 : x + 1",
+        "f := (a, b) => a + b : f(1, 2) & \" \" & f(1.5, 1) & \" \" & f(1, 2) & \" \" & f(\"a\", \"b\")",
+        "f := (a, b) => a * b : f(9223372036854775807, 2) & \" \" & f(2, 3)",
+        "f := (a, b) => a < b : f(1, 2) & f(2.5, 1) & f(\"a\", \"b\") & f(#10/30/1990#, #10/31/1990#)",
+        "f := (a, b) => a = b : f(1, 1.0) & f(True, True) & f(\"a\", 1) & f(Nothing, Nothing)",
+        "f := (a, b) => a Or b : f(3, 4) & f(True, False)",
+        "f := (a, b) => a BitAnd b : f(6, 3) & f(6, 1.5)",
+        "f := (a) => a - 1 : f(1) & f(\"a\")",
+        "x := 1 : x < 2 OrElse undefined",
+        "x := 1 : x > 2 AndAlso undefined",
+        "x := 1 : x > 2 OrElse x < 2",
+        "x := 1 : x OrElse True",
+        "x := True : x AndAlso 1",
+        "x := True : Not x",
+        "x := 2 : -x",
+        "x@ := 1 : x@ := x@ + 1.5 : x@",
+        "a$ := 5 : a$ + 1",
+        "%missing",
+        "g£ := 2 : gμ := 3 : g£ * gμ",
+        "Dim q@ As Integer : q@ + 1",
+        "Dim s As String : s & \"x\"",
+        "Dim c As Collection : c[0] := 1 : c & \"\"",
+        "f := (x) => (x := x + 1 : x) : f(1)",
+        "f := (a, b) => b : f(1) = Nothing",
+        "y@ := 2 : f := (x) => x * y@ : f(21)",
+        "n@ := 1 : inc := () => (n@ := n@ + 1) : inc() : inc() : n@",
+        "x@ := 1 : g := () => (Dim x@ : x@ := 10) : g() : x@",
+        "add := (a) => (b) => a + b : add(1)(2)",
+        "Class Point(X, Y) : p := New Point(1, 2) : p.Z := 5 : p.X + p.y + p[\"z\"]",
+        "a := [1, 2] : a[2] := 2.5 : a[0] := \"x\" : a & \"\"",
+        "x := 2 : x In [1, 2.0]",
+        "s := \"ab\" : Len(s) + Abs(-2)",
+        "f := Len : f(\"abc\")",
+        "x := 1 : x(2)",
+        "Len(1, 2)",
+        "Len := 1",
+        "x@",
+        "(New Undeclared).A",
+        "a := [1] : a[1]",
+        "()",
+    })
+    public void EvaluatesAsTheAstTier(String script)
+    {
+        Assertions.assertEquals(evaluate(ast, script), evaluate(bytecode, script));
+    }
+
+    @Test
+    public void CompilesToBytecodeOnlyWhenSelected()
+    {
+        String script = "f := (a) => a * 2 : f(21)";
+        Assertions.assertNull(NodeUtil.findFirstNodeInstance(compile(ast, script), BytecodeNode.class));
+        Assertions.assertNotNull(NodeUtil.findFirstNodeInstance(compile(bytecode, script), BytecodeNode.class));
+    }
+
+    @Test
+    public void KeepsFewerNodes()
+    {
+        String script = "a@ := 1 : b@ := 2 : c@ := a@ * 3 + b@ * 4 - 5 : d := (x) => x + c@ : d(a@) + d(b@) + Len(\"abc\")";
+        int astNodes = NodeUtil.countNodes(compile(ast, script));
+        int bytecodeNodes = NodeUtil.countNodes(compile(bytecode, script));
+        Assertions.assertTrue(bytecodeNodes * 3 < astNodes, bytecodeNodes + " nodes against " + astNodes);
+    }
+
+    @Test
+    public void RejectsUnknownTier()
+    {
+        var error = Assertions.assertThrows(IllegalArgumentException.class,
+            () -> Context.newBuilder(BajicLanguage.ID).option("bajic.ExecutionTier", "jit").build());
+        Assertions.assertTrue(error.getMessage().contains("Unknown execution tier jit"), error.getMessage());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package org.bajic.compiler;
+
+import java.util.List;
+
+import org.bajic.compiler.parser.Tokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.bajic.nodes.LiteralNode;
+import org.bajic.runtime.BajicValues;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.source.Source;
+
+public class ConstantFoldingTests
+{
+    private static Node compile(String script)
+    {
+        var source = Source.newBuilder("bajic", script, "test").build();
+        return new NodeFactory(null, source).compile().getRootNode();
+    }
+
+    private static List<String> literals(Node root)
+    {
+        return NodeUtil.findAllNodeInstances(root, LiteralNode.class).stream()
+            .map(literal -> BajicValues.toDisplayString(literal.getValue()))
+            .toList();
+    }
+
+    @Test
+    public void DecodesEachLiteralOnce()
+    {
+        var tokenizer = new Tokenizer("1 \"a\" 1 #10/30/1990# \"a\" 1.5 99999999999999999999 \"say \"\"hi\"\"\"");
+        var tokens = new TokensBuffer(0, 16);
+        tokenizer.tokenize(tokens);
+        var pool = ConstantPool.decode(tokenizer, tokens);
+
+        Assertions.assertEquals(6, pool.size());
+        Assertions.assertEquals(pool.indexOf(0), pool.indexOf(2));
+        Assertions.assertEquals(pool.indexOf(1), pool.indexOf(4));
+        Assertions.assertEquals(1L, pool.get(pool.indexOf(0)));
+        Assertions.assertEquals(1.5, pool.get(pool.indexOf(5)));
+        Assertions.assertEquals(1e20, pool.get(pool.indexOf(6)));
+        Assertions.assertEquals("say \"hi\"", pool.get(pool.indexOf(7)));
+        Assertions.assertEquals("10/30/1990", pool.get(pool.indexOf(3)).toString());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "1 + 2 * 3 | 7",
+        "7 / 2 | 3.5",
+        "-(2 ^ 3) | -8",
+        "\"a\" & 1 & \"b\" | a1b",
+        "#10/30/1990# + 1 | 10/31/1990",
+        "#10/30/1990# - #10/01/1990# | 29",
+        "Not (1 < 2) | False",
+        "1 < 2 AndAlso \"a\" <> \"b\" | True",
+        "(1 + 2) * (3 + 4) = 21 | True",
+    })
+    public void FoldsConstantExpressions(String script, String expected)
+    {
+        Assertions.assertEquals(List.of(expected), literals(compile(script)));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "x@ + 1 * 2 | 2",
+        "\"a\" - 1 | a, 1",
+        "x@ := 2 + 3 : x@ * x@ | 5",
+    })
+    public void KeepsWhatCannotBeFolded(String script, String expected)
+    {
+        Assertions.assertEquals(List.of(expected.split(", ")), literals(compile(script)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package org.bajic.compiler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.bajic.compiler.parser.Symbol;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ProjectCompilerTests
+{
+    private static long clock = 1_000_000;
+
+    /** Writes the file with a modification time later than any before, as a file system with a coarse clock would not. */
+    private static Path write(Path directory, String name, String text) throws IOException
+    {
+        Path file = directory.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, text);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(clock += 1000));
+        return file;
+    }
+
+    private static List<String> messages(ProjectCompiler.Report report)
+    {
+        return report.diagnostics().stream().map(d -> d.file().getFileName() + ":" + d.line() + ":" + d.column() + ": " + d.message()).toList();
+    }
+
+    @Test
+    public void ResolvesSymbolsAcrossFiles(@TempDir Path root) throws IOException
+    {
+        Path totals = write(root, "totals.bajic", "Total£ := 1 : Rateμ := 2");
+        Path lib = write(root, "shared/Lib.bajic", "Helper := (x) => x * Rateμ");
+        Path report = write(root, "reports/report.bajic", "Dim net£ As Number\nnet£ := Total£ * Lib!Helper(3)");
+        write(root, "notes.txt", "Missing£");
+
+        var compiler = new ProjectCompiler(root);
+        var result = compiler.build();
+
+        Assertions.assertEquals(List.of(), messages(result));
+        Assertions.assertEquals(Set.of(totals, lib, report), result.parsed());
+        Assertions.assertEquals(Set.of(totals, lib, report), compiler.files());
+        Assertions.assertEquals(Set.of(totals, lib), compiler.dependenciesOf(report));
+        Assertions.assertEquals(Set.of(totals), compiler.dependenciesOf(lib));
+        Assertions.assertEquals(Set.of(lib, report), compiler.dependentsOf(totals));
+        Assertions.assertEquals(Set.of(report), compiler.definersOf(Symbol.FromText("Net£")));
+        Assertions.assertNotNull(compiler.syntaxOf(report));
+    }
+
+    @Test
+    public void ReportsUnresolvedSymbolsAndSyntaxErrors(@TempDir Path root) throws IOException
+    {
+        write(root, "a.bajic", "x := Missing£ + Lib!Helper(1)\ny := (a) => a + Missingμ + Missing£");
+        write(root, "Lib.bajic", "Other := 1");
+        Path broken = write(root, "b.bajic", "Total£ := (1 +");
+
+        var compiler = new ProjectCompiler(root);
+        var result = compiler.build();
+
+        Assertions.assertEquals(3, messages(result).stream().filter(m -> m.startsWith("a.bajic")).count());
+        Assertions.assertEquals("a.bajic:1:6: Unresolved symbol Missing£", messages(result).get(0));
+        Assertions.assertEquals("a.bajic:1:17: Unresolved symbol Lib!Helper", messages(result).get(1));
+        Assertions.assertEquals("a.bajic:2:17: Unresolved symbol Missingμ", messages(result).get(2));
+        Assertions.assertTrue(messages(result).get(3).startsWith("b.bajic:1:"), messages(result).get(3));
+        Assertions.assertNull(compiler.syntaxOf(broken));
+    }
+
+    @Test
+    public void RebuildsOnlyAffectedFiles(@TempDir Path root) throws IOException
+    {
+        Path totals = write(root, "totals.bajic", "Total£ := 1");
+        Path user = write(root, "user.bajic", "x := Total£ + 1");
+        Path other = write(root, "other.bajic", "Countμ := 2");
+        Path lib = write(root, "Lib.bajic", "Helper := 1");
+        Path qualified = write(root, "qualified.bajic", "y := Lib!Helper");
+
+        var compiler = new ProjectCompiler(root);
+        compiler.build();
+
+        var unchanged = compiler.rebuild();
+        Assertions.assertEquals(Set.of(), unchanged.parsed());
+        Assertions.assertEquals(Set.of(), unchanged.resolved());
+
+        Files.setLastModifiedTime(other, FileTime.fromMillis(clock += 1000));
+        var touched = compiler.rebuild();
+        Assertions.assertEquals(Set.of(), touched.parsed());
+
+        write(root, "totals.bajic", "Total£ := 2");
+        var edited = compiler.rebuild();
+        Assertions.assertEquals(Set.of(totals), edited.parsed());
+        Assertions.assertEquals(Set.of(totals), edited.resolved());
+
+        write(root, "totals.bajic", "Renamed£ := 2");
+        var renamed = compiler.rebuild();
+        Assertions.assertEquals(Set.of(totals), renamed.parsed());
+        Assertions.assertEquals(Set.of(totals, user), renamed.resolved());
+        Assertions.assertEquals(List.of("user.bajic:1:6: Unresolved symbol Total£"), messages(renamed));
+        Assertions.assertEquals(Set.of(), compiler.dependentsOf(totals));
+
+        Path added = write(root, "more/added.bajic", "Total£ := 3");
+        var restored = compiler.rebuild();
+        Assertions.assertEquals(Set.of(added), restored.parsed());
+        Assertions.assertEquals(Set.of(added, user), restored.resolved());
+        Assertions.assertEquals(List.of(), messages(restored));
+        Assertions.assertEquals(Set.of(added), compiler.dependenciesOf(user));
+
+        Files.delete(lib);
+        var deleted = compiler.rebuild();
+        Assertions.assertEquals(Set.of(), deleted.parsed());
+        Assertions.assertEquals(Set.of(qualified), deleted.resolved());
+        Assertions.assertEquals(List.of("qualified.bajic:1:6: Unresolved symbol Lib!Helper"), messages(deleted));
+    }
+
+    @Test
+    public void BuildsTheSameOnAnyNumberOfWorkers(@TempDir Path root) throws IOException
+    {
+        for (int i = 0; i < 200; i++) {
+            write(root, "dir" + (i % 7) + "/sub" + (i % 3) + "/file" + i + ".bajic",
+                "Value" + i + "£ := Value" + (i + 1) + "£ * 2 : Dim total" + i + "@ As Integer");
+        }
+        ProjectCompiler.Report sequential;
+        ProjectCompiler.Report parallel;
+        var one = new ForkJoinPool(1);
+        var four = new ForkJoinPool(4);
+        try {
+            sequential = new ProjectCompiler(root, one).build();
+            parallel = new ProjectCompiler(root, four).build();
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+        Assertions.assertEquals(200, parallel.parsed().size());
+        Assertions.assertEquals(sequential, parallel);
+        Assertions.assertEquals(List.of("file199.bajic:1:14: Unresolved symbol Value200£"), messages(parallel));
+    }
+}
\ No newline at end of file
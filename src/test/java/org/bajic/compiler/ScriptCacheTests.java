@@ -0,0 +1,86 @@
+package org.bajic.compiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.Source;
+
+public class ScriptCacheTests
+{
+    private final List<String> compiled = new ArrayList<>();
+
+    private final Function<Source, CallTarget> compile = source -> {
+        compiled.add(source.getCharacters().toString());
+        return RootNode.createConstantNode(source.getCharacters().toString()).getCallTarget();
+    };
+
+    private static Source source(String text, String name)
+    {
+        return Source.newBuilder("bajic", text, name).build();
+    }
+
+    @Test
+    public void ReusesScriptsWithTheSameTextAndName()
+    {
+        var cache = new ScriptCache(4);
+        CallTarget first = cache.get(source("1 + 2", "a"), compile);
+        CallTarget second = cache.get(source("1 + 2", "a"), compile);
+        cache.get(source("1 + 3", "a"), compile);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(List.of("1 + 2", "1 + 3"), compiled);
+        Assertions.assertEquals(1, cache.hits());
+        Assertions.assertEquals(2, cache.misses());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void CompilesTheSameTextAgainForAnotherSource()
+    {
+        var cache = new ScriptCache(4);
+        CallTarget first = cache.get(source("1 + 2", "a"), compile);
+        CallTarget second = cache.get(source("1 + 2", "b"), compile);
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(List.of("1 + 2", "1 + 2"), compiled);
+        Assertions.assertEquals(0, cache.hits());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void EvictsLeastRecentlyUsedScripts()
+    {
+        var cache = new ScriptCache(2);
+        cache.get(source("a", "test"), compile);
+        cache.get(source("b", "test"), compile);
+        cache.get(source("a", "test"), compile);
+        cache.get(source("c", "test"), compile);
+        cache.get(source("a", "test"), compile);
+        cache.get(source("b", "test"), compile);
+
+        Assertions.assertEquals(List.of("a", "b", "c", "b"), compiled);
+        Assertions.assertEquals(2, cache.evictions());
+        Assertions.assertEquals(2, cache.size());
+
+        cache.setCapacity(1);
+        Assertions.assertEquals(3, cache.evictions());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void CompilesEveryScriptWhenDisabled()
+    {
+        var cache = new ScriptCache(0);
+        cache.get(source("a", "test"), compile);
+        cache.get(source("a", "test"), compile);
+
+        Assertions.assertEquals(List.of("a", "a"), compiled);
+        Assertions.assertEquals(0, cache.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,206 @@
+package org.bajic.compiler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.bajic.BajicLanguage;
+import org.bajic.compiler.parser.NodesBuffer;
+import org.bajic.compiler.parser.Parser;
+import org.bajic.compiler.parser.Tokenizer;
+import org.bajic.compiler.parser.TokensBuffer;
+import org.bajic.nodes.LiteralNode;
+import org.bajic.runtime.BajicContext;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.io.FileSystem;
+import org.graalvm.polyglot.io.IOAccess;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.source.Source;
+
+public class SyntaxCacheTests
+{
+    private static Context context;
+    private static Env env;
+
+    @BeforeAll
+    public static void enterContext()
+    {
+        context = Context.newBuilder(BajicLanguage.ID)
+            .option("engine.WarnInterpreterOnly", "false")
+            .allowIO(IOAccess.ALL)
+            .build();
+        context.initialize(BajicLanguage.ID);
+        context.enter();
+        env = BajicContext.get(null).getEnv();
+    }
+
+    @AfterAll
+    public static void closeContext()
+    {
+        context.leave();
+        context.close();
+    }
+
+    private static TruffleFile truffleFile(Path path)
+    {
+        return env.getPublicTruffleFile(path.toString());
+    }
+
+    private static SyntaxCache.Entry parse(String text)
+    {
+        var tokenizer = new Tokenizer(text);
+        var tokens = new TokensBuffer(0, 16);
+        tokenizer.tokenize(tokens);
+        var nodes = new NodesBuffer(16);
+        int root = new Parser(tokenizer, tokens, nodes).parse();
+        return new SyntaxCache.Entry(tokens, nodes, root);
+    }
+
+    private static void assertSameSyntax(SyntaxCache.Entry expected, SyntaxCache.Entry actual)
+    {
+        Assertions.assertEquals(expected.root(), actual.root());
+        Assertions.assertEquals(expected.tokens().length(), actual.tokens().length());
+        for (int i = 0; i < expected.tokens().length(); i++) {
+            Assertions.assertEquals(expected.tokens().getStart(i), actual.tokens().getStart(i));
+            Assertions.assertEquals(expected.tokens().getEnd(i), actual.tokens().getEnd(i));
+            Assertions.assertEquals(expected.tokens().getKind(i), actual.tokens().getKind(i));
+        }
+        Assertions.assertEquals(expected.nodes().length(), actual.nodes().length());
+        for (int i = 0; i < expected.nodes().length(); i++) {
+            Assertions.assertEquals(expected.nodes().getKind(i), actual.nodes().getKind(i));
+            Assertions.assertEquals(expected.nodes().getToken(i), actual.nodes().getToken(i));
+            Assertions.assertEquals(expected.nodes().getFirstChild(i), actual.nodes().getFirstChild(i));
+            Assertions.assertEquals(expected.nodes().getNextSibling(i), actual.nodes().getNextSibling(i));
+        }
+    }
+
+    @Test
+    public void LoadsWhatWasStored(@TempDir Path directory) throws IOException
+    {
+        TruffleFile file = truffleFile(directory.resolve("script" + SyntaxCache.EXTENSION));
+        String text = "x@ := #10/30/1990# + 1 : f := (a@) => a@ & \"s\" : f(x@)";
+        var entry = parse(text);
+        SyntaxCache.store(env, file, text, 42, entry);
+
+        assertSameSyntax(entry, SyntaxCache.load(file, text, 42));
+        Assertions.assertNull(SyntaxCache.load(file, text, 43));
+        Assertions.assertNull(SyntaxCache.load(file, text.replace('1', '2'), 42));
+        Assertions.assertNull(SyntaxCache.load(file.resolveSibling(file.getName() + ".missing"), text, 42));
+        Assertions.assertEquals(1, directory.toFile().list().length);
+    }
+
+    @Test
+    public void StoresEditedTokens(@TempDir Path directory) throws IOException
+    {
+        TruffleFile file = truffleFile(directory.resolve("script" + SyntaxCache.EXTENSION));
+        String text = "a := 1 + 2\nb := 3";
+        var tokenizer = new Tokenizer(text);
+        var tokens = new TokensBuffer(0, 16);
+        tokenizer.tokenize(tokens);
+        tokenizer = tokenizer.retokenize(tokens, 5, 6, "10");
+        String edited = "a := 10 + 2\nb := 3";
+        var nodes = new NodesBuffer(16);
+        int root = new Parser(tokenizer, tokens, nodes).parse();
+        SyntaxCache.store(env, file, edited, 0, new SyntaxCache.Entry(tokens, nodes, root));
+
+        assertSameSyntax(parse(edited), SyntaxCache.load(file, edited, 0));
+    }
+
+    @Test
+    public void RejectsPayloadsOutOfRange()
+    {
+        String text = "a := [1, 2] : a[0] + 1";
+        var entry = parse(text);
+        ByteBuffer valid = SyntaxCache.encode(text, 0, entry);
+        assertSameSyntax(entry, SyntaxCache.decode(valid.duplicate(), text, 0));
+
+        int nodes = valid.capacity() - entry.nodes().length() * NodesBuffer.BYTES_PER_NODE;
+        int tokens = nodes - entry.tokens().length() * Long.BYTES;
+        int last = nodes - Long.BYTES;
+        long lastToken = valid.order(ByteOrder.LITTLE_ENDIAN).getLong(last);
+        Assertions.assertNull(SyntaxCache.decode(patchLong(valid, last, lastToken + (1L << 33)), text, 0));
+        Assertions.assertNull(SyntaxCache.decode(patchLong(valid, tokens, lastToken | 31), text, 0));
+        Assertions.assertNull(SyntaxCache.decode(patchInt(valid, nodes, 1 << 20), text, 0));
+        Assertions.assertNull(SyntaxCache.decode(patchInt(valid, nodes + 4, entry.tokens().length()), text, 0));
+        Assertions.assertNull(SyntaxCache.decode(patchInt(valid, nodes + 8, entry.nodes().length()), text, 0));
+        Assertions.assertNull(SyntaxCache.decode(patchInt(valid, nodes + 12, -2), text, 0));
+    }
+
+    private static ByteBuffer patchLong(ByteBuffer bytes, int offset, long value)
+    {
+        var copy = ByteBuffer.allocate(bytes.capacity()).put(bytes.duplicate().clear()).clear();
+        return copy.order(ByteOrder.LITTLE_ENDIAN).putLong(offset, value);
+    }
+
+    private static ByteBuffer patchInt(ByteBuffer bytes, int offset, int value)
+    {
+        var copy = ByteBuffer.allocate(bytes.capacity()).put(bytes.duplicate().clear()).clear();
+        return copy.order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+    }
+
+    @Test
+    public void CompilesFromTheCacheFile(@TempDir Path directory) throws IOException
+    {
+        Path script = directory.resolve("script.bajic");
+        String text = "1 + 2 * 3";
+        Files.writeString(script, text);
+        var source = Source.newBuilder("bajic", text, script.toString()).build();
+        TruffleFile cacheFile = SyntaxCache.fileOf(truffleFile(script));
+
+        new NodeFactory(null, source, truffleFile(script)).compile();
+        long modified = Files.getLastModifiedTime(script).toMillis();
+        assertSameSyntax(parse(text), SyntaxCache.load(cacheFile, text, modified));
+
+        // A cache file that does not match the script is replaced.
+        Files.setLastModifiedTime(script, FileTime.fromMillis(modified + 1000));
+        var root = new NodeFactory(null, source, truffleFile(script)).compile().getRootNode();
+        Assertions.assertEquals(7L, NodeUtil.findFirstNodeInstance(root, LiteralNode.class).getValue());
+        Assertions.assertNotNull(SyntaxCache.load(cacheFile, text, modified + 1000));
+    }
+
+    @Test
+    public void UsesTheFileSystemOfTheContext(@TempDir Path directory) throws IOException
+    {
+        Path script = directory.resolve("script.bajic");
+        Files.writeString(script, "1 + 2");
+        var readOnlyFiles = FileSystem.newReadOnlyFileSystem(FileSystem.newDefaultFileSystem());
+        try (var readOnly = Context.newBuilder(BajicLanguage.ID)
+                .option("engine.WarnInterpreterOnly", "false")
+                .option("bajic.SyntaxCache", "true")
+                .allowIO(IOAccess.newBuilder().fileSystem(readOnlyFiles).build())
+                .build()) {
+            var source = org.graalvm.polyglot.Source.newBuilder(BajicLanguage.ID, script.toFile()).build();
+            Assertions.assertEquals(3, readOnly.eval(source).asInt());
+        }
+        Assertions.assertFalse(Files.exists(script.resolveSibling(script.getFileName() + SyntaxCache.EXTENSION)));
+        Assertions.assertEquals(1, directory.toFile().list().length);
+    }
+
+    @Test
+    public void CachesFilesWhicheverContextCompiledFirst(@TempDir Path directory) throws IOException
+    {
+        Path script = directory.resolve("script.bajic");
+        Files.writeString(script, "1 + 2");
+        var source = org.graalvm.polyglot.Source.newBuilder(BajicLanguage.ID, script.toFile()).build();
+        try (var engine = Engine.newBuilder(BajicLanguage.ID).option("engine.WarnInterpreterOnly", "false").build();
+                var uncached = Context.newBuilder(BajicLanguage.ID).engine(engine).allowIO(IOAccess.ALL).build();
+                var cached = Context.newBuilder(BajicLanguage.ID).engine(engine).allowIO(IOAccess.ALL)
+                    .option("bajic.SyntaxCache", "true").build()) {
+            Assertions.assertEquals(3, uncached.eval(source).asInt());
+            Assertions.assertEquals(3, cached.eval(source).asInt());
+        }
+        Assertions.assertTrue(Files.exists(script.resolveSibling(script.getFileName() + SyntaxCache.EXTENSION)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package org.bajic.compiler.parser;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class ParallelTokenizerTests
+{
+    private static final String SOURCE = """
+        ' a comment line
+        Dim total@ As Number
+        total@ := If(Amount$ > 100, Amount$ * 1.25, 0)
+        label@ := "a string
+        ' that looks like a comment
+        Dim spanning@ As Lines
+        " & #10/30/1990
+        09:42:00#
+        ' comment "with an opening quote
+        items@²[1] := New Item(42, Rows{U > 3}.Count)
+        """;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 5, 13, 40, 1 << 18 })
+    public void MatchesSequentialTokenize(int chunkSize)
+    {
+        var expected = new TokensBuffer(0, 16);
+        new Tokenizer(SOURCE).tokenize(expected);
+
+        var pool = new ForkJoinPool(4);
+        try {
+            var actual = new TokensBuffer(0, 1);
+            new ParallelTokenizer(SOURCE, pool, chunkSize).tokenize(actual);
+
+            Assertions.assertEquals(expected.length(), actual.length());
+            for (int i = 0; i < expected.length(); i++) {
+                Assertions.assertEquals(expected.getStart(i), actual.getStart(i));
+                Assertions.assertEquals(expected.getEnd(i), actual.getEnd(i));
+                Assertions.assertEquals(expected.getKind(i), actual.getKind(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
\ No newline at end of file
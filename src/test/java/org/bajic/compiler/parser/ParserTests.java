@@ -0,0 +1,98 @@
+package org.bajic.compiler.parser;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class ParserTests
+{
+    private record Parsed(Tokenizer tokenizer, TokensBuffer tokens, NodesBuffer nodes, Parser parser, int root) {}
+
+    private static Parsed parse(String source)
+    {
+        var tokenizer = new Tokenizer(source);
+        var tokens = new TokensBuffer(0, 16);
+        tokenizer.tokenize(tokens);
+        var nodes = new NodesBuffer(16);
+        var parser = new Parser(tokenizer, tokens, nodes);
+        return new Parsed(tokenizer, tokens, nodes, parser, parser.parse());
+    }
+
+    /** Prints leaves as their text and other nodes as {@code (kind children...)}, binary nodes by their operator. */
+    private static String print(Parsed parsed, int node)
+    {
+        var nodes = parsed.nodes();
+        String text = parsed.tokenizer().asRawString(parsed.tokens(), nodes.getToken(node));
+        var sb = new StringBuilder();
+        switch (nodes.getKind(node)) {
+            case Num, Str, Date, Sym:
+                return text;
+            case Binary:
+                sb.append('(').append(text);
+                break;
+            case Member, Dim, New, Class:
+                sb.append('(').append(nodes.getKind(node)).append(' ').append(text);
+                break;
+            default:
+                sb.append('(').append(nodes.getKind(node));
+                break;
+        }
+        for (int child = nodes.getFirstChild(node); child != NodesBuffer.NONE; child = nodes.getNextSibling(child)) {
+            sb.append(' ').append(print(parsed, child));
+        }
+        return sb.append(')').toString();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "1 + 2 * 3 | (Block (+ 1 (* 2 3)))",
+        "(1 + 2) * 3 | (Block (* (+ 1 2) 3))",
+        "1 - 2 - 3 | (Block (- (- 1 2) 3))",
+        "2 ^ 3 ^ 2 | (Block (^ (^ 2 3) 2))",
+        "-2 ^ 2 | (Block (Negate (^ 2 2)))",
+        "a = b = c | (Block (= a (= b c)))",
+        "Not a = b And c | (Block (And (Not (= a b)) c))",
+        "a OrElse b AndAlso c | (Block (OrElse a (AndAlso b c)))",
+        "x In [1, 2] | (Block (In x (Array 1 2)))",
+        "\"a\" & 1 <> b | (Block (<> (& \"a\" 1) b))",
+        "x@ := 1 : y@ := x@ | (Block (Assign x@ 1) (Assign y@ x@))",
+        "x@ := 1 y@ := 2 | (Block (Assign x@ 1) (Assign y@ 2))",
+        "If(0,1:2,3:4):5 | (Block (Call If 0 (Block 1 2) (Block 3 4)) 5)",
+        "f() | (Block (Call f))",
+        "T.Count{U>3} | (Block (Filter (Member Count T) (> U 3)))",
+        "papa²[world] := hello[1, 2] | (Block (Assign (SecondIndex papa world) (Index hello 1 2)))",
+        "(a@, b@) => a@ + b@ | (Block (Lambda a@ b@ (+ a@ b@)))",
+        "() => (1) | (Block (Lambda 1))",
+        "New Item(1, 2).Name | (Block (Member Name (New Item 1 2)))",
+        "Dim total@ As Number | (Block (Dim total@ Number))",
+        "(x) => (Dim t@ : t@ := x) | (Block (Lambda x (Block (Dim t@) (Assign t@ x))))",
+        "{1, 2} | (Block (Collection 1 2))",
+        "Class Point(X, Y) : p := New Point(1, 2) | (Block (Class Point X Y) (Assign p (New Point 1 2)))",
+        "Class Empty | (Block (Class Empty))",
+        "d@ := #10/30/1990# + 1 | (Block (Assign d@ (+ #10/30/1990# 1)))",
+    })
+    public void ParsesExpression(String source, String expected)
+    {
+        var parsed = parse(source);
+        Assertions.assertTrue(parsed.parser().errors().isEmpty(), parsed.parser().errors().toString());
+        Assertions.assertEquals(expected, print(parsed, parsed.root()));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "1 + ",
+        "(1",
+        "f(1,",
+        "1 := 2",
+        "Dim 1",
+        "a. := 1",
+        ") a",
+        "Class 1",
+        "Class P(X Y)",
+    })
+    public void ReportsErrors(String source)
+    {
+        var parsed = parse(source);
+        Assertions.assertFalse(parsed.parser().errors().isEmpty());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package org.bajic.compiler.parser;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class RetokenizeTests
+{
+    private static void assertSameTokens(TokensBuffer expected, TokensBuffer actual)
+    {
+        Assertions.assertEquals(expected.length(), actual.length());
+        for (int i = 0; i < expected.length(); i++) {
+            Assertions.assertEquals(expected.getStart(i), actual.getStart(i));
+            Assertions.assertEquals(expected.getEnd(i), actual.getEnd(i));
+            Assertions.assertEquals(expected.getKind(i), actual.getKind(i));
+        }
+    }
+
+    private static TokensBuffer tokenize(String source)
+    {
+        var buffer = new TokensBuffer(0, 4);
+        new Tokenizer(source).tokenize(buffer);
+        return buffer;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'a := 1 + 2', 5, 6, 42",
+        "'a := 1 + 2', 1, 1, bc",
+        "'a := 1 + 2', 0, 10, ''",
+        "'a := b', 6, 6, ' & \"x\"'",
+        "'x@ := \"one\\ntwo\" & y@\\nz@ := 3', 7, 7, '\"'",
+        "'x@ := 1 '' comment\\ny@ := 2\\nz@ := 3', 8, 8, '\\n'",
+        "'x@ := 1 '' comment\\ny@ := 2', 7, 8, ''",
+        "'d@ := #10/30/1990# + 1\\ne@ := 2', 6, 7, ''",
+        "'d@ := #10/30/1990# + 1\\ne@ := #2', 20, 20, '#'",
+        "'If(a, b, c)', 3, 3, 'Not '",
+        "'a Or b', 3, 3, 'Else'",
+    })
+    public void MatchesFullTokenize(String source, int editStart, int editEnd, String replacement)
+    {
+        source = source.replace("\\n", "\n");
+        replacement = replacement.replace("\\n", "\n");
+        String edited = source.substring(0, editStart) + replacement + source.substring(editEnd);
+
+        var buffer = tokenize(source);
+        new Tokenizer(source).retokenize(buffer, editStart, editEnd, replacement);
+
+        assertSameTokens(tokenize(edited), buffer);
+    }
+
+    @Test
+    void SuccessiveEditsKeepOffsetsInSync()
+    {
+        var sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("total@ := If(Amount$ > ").append(i).append(", \"a\" & x@, #10/30/1990#) ' note\n");
+        }
+        String source = sb.toString();
+        var tokenizer = new Tokenizer(source);
+        var buffer = tokenize(source);
+        for (int i = 0; i < 200; i++) {
+            int at = (i * 7919) % source.length();
+            String replacement = i % 3 == 0 ? "\"" : i % 3 == 1 ? "x " : "";
+            int end = Math.min(source.length(), at + i % 4);
+            source = source.substring(0, at) + replacement + source.substring(end);
+            tokenizer = tokenizer.retokenize(buffer, at, end, replacement);
+        }
+        assertSameTokens(tokenize(source), buffer);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package org.bajic.compiler.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class StreamingTokenizerTests
+{
+    private static final String SOURCE = """
+        ' header comment
+        Dim total@ As Number
+        total@ := If(Customer!Amount£ > 100 AndAlso Not Blocked%, Customer!Amount£ * 1.25, 0)
+        label@ := "multi
+        line ""quoted"" string" & #10/30/1990 09:42:00#
+        items@²[1] := New Item(42, Rows{U > 3}.Count) ' trailing comment""";
+
+    private record Collected(TokensBuffer tokens, StringBuilder texts) {}
+
+    private static Collected expected()
+    {
+        return expected(SOURCE);
+    }
+
+    private static Collected expected(String source)
+    {
+        var tokens = new TokensBuffer(0, 16);
+        var tokenizer = new Tokenizer(source);
+        tokenizer.tokenize(tokens);
+        var texts = new StringBuilder();
+        for (int i = 0; i < tokens.length(); i++) {
+            texts.append(tokenizer.asRawString(tokens, i)).append('\n');
+        }
+        return new Collected(tokens, texts);
+    }
+
+    private static StreamingTokenizer.BatchHandler collectInto(Collected collected, int batchSize)
+    {
+        return (window, batch) -> {
+            Assertions.assertTrue(batch.length() <= batchSize);
+            for (int i = 0; i < batch.length(); i++) {
+                collected.tokens().push(batch.getStart(i), batch.getEnd(i), batch.getKind(i));
+                collected.texts().append(window.asRawString(batch, i)).append('\n');
+            }
+        };
+    }
+
+    private static void assertSameTokens(Collected expected, Collected actual)
+    {
+        Assertions.assertEquals(expected.tokens().length(), actual.tokens().length());
+        for (int i = 0; i < expected.tokens().length(); i++) {
+            Assertions.assertEquals(expected.tokens().getStart(i), actual.tokens().getStart(i));
+            Assertions.assertEquals(expected.tokens().getEnd(i), actual.tokens().getEnd(i));
+            Assertions.assertEquals(expected.tokens().getKind(i), actual.tokens().getKind(i));
+        }
+        Assertions.assertEquals(expected.texts().toString(), actual.texts().toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 3, 7, 16, 1024 })
+    public void ReaderMatchesTokenize(int chunkSize) throws IOException
+    {
+        var actual = new Collected(new TokensBuffer(0, 16), new StringBuilder());
+        new StreamingTokenizer(chunkSize, 3).tokenize(new StringReader(SOURCE), collectInto(actual, 3));
+        assertSameTokens(expected(), actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 5, 64 })
+    public void CharBufferMatchesTokenize(int chunkSize)
+    {
+        var actual = new Collected(new TokensBuffer(0, 16), new StringBuilder());
+        new StreamingTokenizer(chunkSize, 4).tokenize(CharBuffer.wrap(SOURCE), collectInto(actual, 4));
+        assertSameTokens(expected(), actual);
+    }
+
+    @Test
+    void MappedFileMatchesTokenize(@TempDir Path directory) throws IOException
+    {
+        Path file = directory.resolve("script.bjc");
+        Files.writeString(file, SOURCE);
+        var actual = new Collected(new TokensBuffer(0, 16), new StringBuilder());
+        new StreamingTokenizer(8, 5).tokenize(file, collectInto(actual, 5));
+        assertSameTokens(expected(), actual);
+    }
+
+    @Test
+    void MappedFileDecodesSurrogatePairsAcrossChunks(@TempDir Path directory) throws IOException
+    {
+        Path file = directory.resolve("script.bjc");
+        for (int offset = 0; offset < 20; offset++) {
+            String source = "a".repeat(offset) + "\uD83D\uDE00 x";
+            Files.writeString(file, source);
+            var actual = new Collected(new TokensBuffer(0, 16), new StringBuilder());
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> new StreamingTokenizer(16, 5).tokenize(file, collectInto(actual, 5)), "offset " + offset);
+            assertSameTokens(expected(source), actual);
+        }
+    }
+}
\ No newline at end of file
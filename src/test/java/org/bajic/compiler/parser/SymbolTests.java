@@ -0,0 +1,127 @@
+package org.bajic.compiler.parser;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class SymbolTests
+{
+    @ParameterizedTest
+    @CsvSource({
+        "a, Builtin, '', a",
+        "total@, Local, '', total",
+        "Customer!Amount$, PageScope, customer, amount",
+        "Pi#, Constant, '', pi",
+        "Blocked%, Context, '', blocked",
+        "Rows!Count£, Family, rows, count",
+        "Rateμ, Global, '', rate",
+        "Rateµ, Global, '', rate",
+        "a!b!c, Builtin, '', a!b!c",
+        "a!, Builtin, '', a!",
+    })
+    public void ParsesKindPathAndName(String text, SymKind kind, String path, String name)
+    {
+        var symbol = Symbol.FromText(text);
+        Assertions.assertEquals(kind, symbol.Kind());
+        Assertions.assertEquals(path, symbol.Path());
+        Assertions.assertEquals(name, symbol.Name());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "Amount@, amount@",
+        "Customer!Amount$, CUSTOMER!amount$",
+        "Rateμ, rateµ",
+        "!Amount@, amount@",
+    })
+    public void InternsEqualSymbolsOnce(String first, String second)
+    {
+        var symbol = Symbol.FromText(first);
+        Assertions.assertSame(symbol, Symbol.FromText(second));
+        Assertions.assertEquals(symbol.hashCode(), Symbol.FromText(second).hashCode());
+        Assertions.assertSame(symbol, Symbol.FromId(symbol.Id()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "amount@, amount$",
+        "amount@, amount",
+        "a!b@, b@",
+        "ab@, a@",
+    })
+    public void KeepsDistinctSymbolsApart(String first, String second)
+    {
+        Assertions.assertNotSame(Symbol.FromText(first), Symbol.FromText(second));
+    }
+
+    @Test
+    public void FindsSymbolsInsideSource()
+    {
+        String source = "x := Customer!Amount$ + total@";
+        Assertions.assertSame(Symbol.FromText("customer!amount$"), Symbol.FromChars(source, 5, 21));
+        Assertions.assertSame(Symbol.Local("Total"), Symbol.FromChars(source, 24, 30));
+    }
+
+    @Test
+    public void LookupDoesNotAllocate()
+    {
+        var threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        String source = "Customer!Amount$ total@ If Rows!Count£";
+        int[] bounds = { 0, 16, 17, 23, 24, 26, 27, 38 };
+        for (int i = 0; i < bounds.length; i += 2) {
+            Symbol.FromChars(source, bounds[i], bounds[i + 1]);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int hash = 0;
+        for (int round = 0; round < 10_000; round++) {
+            for (int i = 0; i < bounds.length; i += 2) {
+                hash += Symbol.FromChars(source, bounds[i], bounds[i + 1]).hashCode();
+            }
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        Assertions.assertTrue(allocated < 1024, "allocated " + allocated + " bytes for 40000 lookups (" + hash + ")");
+    }
+
+    @Test
+    public void InternsConcurrentlyOnce() throws Exception
+    {
+        int threads = 4;
+        int names = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Symbol[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                boolean upper = t % 2 == 0;
+                Callable<Symbol[]> task = () -> {
+                    var symbols = new Symbol[names];
+                    for (int i = 0; i < names; i++) {
+                        String name = "concurrent" + i + "@";
+                        symbols[i] = Symbol.FromText(upper ? name.toUpperCase() : name);
+                    }
+                    return symbols;
+                };
+                results.add(executor.submit(task));
+            }
+            Symbol[] expected = results.get(0).get();
+            for (Future<Symbol[]> result : results) {
+                Symbol[] symbols = result.get();
+                for (int i = 0; i < names; i++) {
+                    Assertions.assertSame(expected[i], symbols[i]);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package org.bajic.compiler.parser;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TokenizerAllocationTests
+{
+    private static String source;
+
+    @BeforeAll
+    static void generateSource()
+    {
+        var sb = new StringBuilder();
+        for (int i = 0; sb.length() < 1 << 20; i++) {
+            sb.append("' computes the total for row ").append(i).append('\n');
+            sb.append("Dim total@ As Number\n");
+            sb.append("total@ := If(Customer!Amount$ > 100 AndAlso Not Blocked%, Customer!Amount$ * 1.25, 0) & \"EUR \"\"net\"\"\"\n");
+            sb.append("due@ := #10/30/1990 09:42:00# : items@[").append(i).append("] := New Item(").append(i).append(", Rows{U > 3}.Count)\n");
+        }
+        source = sb.toString();
+    }
+
+    private static int tokenize(TokensBuffer buffer)
+    {
+        new Tokenizer(source).tokenize(buffer);
+        return buffer.length();
+    }
+
+    @Test
+    void DoesNotAllocatePerToken()
+    {
+        var threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        var buffer = new TokensBuffer(0, source.length());
+        tokenize(buffer);
+
+        buffer = new TokensBuffer(0, source.length());
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int tokens = tokenize(buffer);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        Assertions.assertTrue(allocated < 1024, "allocated " + allocated + " bytes for " + tokens + " tokens");
+    }
+}
\ No newline at end of file
@@ -30,6 +30,14 @@ public class TokenizerTests
 
         "#10/30/1990#, Date, 0, 12",
         "#10/30/1990 09:42:00#, Date, 0, 21",
+        "#02/29/2000#, Date, 0, 12",
+        "#02/29/2001#, Err, 0, 12",
+        "#13/01/2000#, Err, 0, 12",
+        "#10/30/19x0#, Err, 0, 12",
+        "#10/30/abcd#, Err, 0, 12",
+        "#10/30/1990 24:00:00#, Err, 0, 21",
+        "#10/30/90#, Err, 0, 10",
+        "#10/30/1990, Err, 0, 11",
 
         "+, Operator, 0, 1",
         "<, Operator, 0, 1",
@@ -37,10 +45,16 @@ public class TokenizerTests
         "and, Operator, 0, 3",
         "AND, Operator, 0, 3",
         "And, Operator, 0, 3",
+        "OrElse, Operator, 0, 6",
+        "bitand, Operator, 0, 6",
+        "andalso, Operator, 0, 7",
+        "ands, Sym, 0, 4",
 
         "=>, FatArrow, 0, 2",
         ":=, Assign, 0, 2",
         "not, Not, 0, 3",
+        "Dim, Dim, 0, 3",
+        "as, As, 0, 2",
         "., Dot, 0, 1",
         "New, New, 0, 3",
         "class, Class, 0, 5",
@@ -0,0 +1,63 @@
+package org.bajic.compiler.parser;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TokensBufferTests
+{
+    @ParameterizedTest
+    @CsvSource({
+        "0, 0, Num",
+        "7, 12, Eof",
+        "2147483000, 2147483600, Str",
+        "100, 268435555, Str",
+    })
+    public void PacksTokensLosslessly(int start, int end, TokenKind kind)
+    {
+        var tokens = new TokensBuffer(0, 1);
+        tokens.push(1, 2, TokenKind.Sep);
+        tokens.push(start, end, kind);
+        Assertions.assertEquals(start, tokens.getStart(1));
+        Assertions.assertEquals(end, tokens.getEnd(1));
+        Assertions.assertEquals(end - start, tokens.getLength(1));
+        Assertions.assertEquals(kind, tokens.getKind(1));
+        Assertions.assertEquals(TokenKind.Sep, tokens.getKind(0));
+        Assertions.assertEquals(2 * Long.BYTES, tokens.sizeInBytes());
+    }
+
+    @Test
+    public void RejectsTokensTooLongToPack()
+    {
+        var tokens = new TokensBuffer(0, 1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> tokens.push(0, TokensBuffer.MAX_TOKEN_LENGTH + 1, TokenKind.Str));
+    }
+
+    @Test
+    public void WalksTokensBothWays()
+    {
+        var text = "a := f(1, \"b\")";
+        var tokens = new TokensBuffer(0, 4);
+        new Tokenizer(text).tokenize(tokens);
+        var cursor = tokens.cursor();
+
+        Assertions.assertEquals(TokenKind.Eof, cursor.peek(-1));
+        Assertions.assertEquals(TokenKind.Sym, cursor.kind());
+        Assertions.assertEquals(TokenKind.Assign, cursor.peek(1));
+        Assertions.assertEquals(0, cursor.advance());
+        Assertions.assertEquals(1, cursor.advance());
+        Assertions.assertEquals("f", text.substring(cursor.start(), cursor.end()));
+
+        cursor.seek(tokens.length() - 1);
+        Assertions.assertEquals(TokenKind.CloseParens, cursor.kind());
+        Assertions.assertEquals(TokenKind.Eof, cursor.peek(1));
+        cursor.retreat();
+        Assertions.assertEquals("\"b\"", text.substring(cursor.start(), cursor.end()));
+        Assertions.assertEquals(3, cursor.length());
+        Assertions.assertFalse(cursor.atEnd());
+        cursor.seek(tokens.length());
+        Assertions.assertTrue(cursor.atEnd());
+        Assertions.assertEquals(TokenKind.Eof, cursor.kind());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package org.bajic.embedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.bajic.BajicLanguage;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ScriptExecutorTests
+{
+    private static Engine engine;
+
+    @BeforeAll
+    public static void createEngine()
+    {
+        engine = Engine.newBuilder(BajicLanguage.ID).option("engine.WarnInterpreterOnly", "false").build();
+    }
+
+    @AfterAll
+    public static void closeEngine()
+    {
+        engine.close();
+    }
+
+    @Test
+    public void BindsParametersForOneInvocation() throws Exception
+    {
+        try (var executor = new ScriptExecutor(engine, 1, 10, Duration.ofSeconds(5))) {
+            Assertions.assertEquals(42L, executor.submit("Rows!Count% * 2 + base%", Map.of("Rows!Count", 20, "Base", 2)).get());
+            Assertions.assertEquals("a1", executor.submit("out% := \"a\" & base% : out%", Map.of("base", 1)).get());
+
+            var error = Assertions.assertThrows(ExecutionException.class, () -> executor.submit("out%", Map.of()).get());
+            Assertions.assertTrue(error.getCause() instanceof PolyglotException);
+            Assertions.assertEquals("Undefined variable out%", error.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void KeepsVariablesOfTheContextAcrossInvocations() throws Exception
+    {
+        try (var executor = new ScriptExecutor(engine, 1, 10, Duration.ofSeconds(5))) {
+            executor.submit("Total£ := 5 : Countμ := 1 : page$ := \"p\"", Map.of()).get();
+            Assertions.assertEquals("6p", executor.submit("(Total£ + Countμ) & page$", Map.of()).get());
+        }
+        try (var executor = new ScriptExecutor(engine, 1, 10, Duration.ofSeconds(5))) {
+            var error = Assertions.assertThrows(ExecutionException.class, () -> executor.submit("Total£", Map.of()).get());
+            Assertions.assertEquals("Undefined variable Total£", error.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void RunsConcurrentInvocations() throws Exception
+    {
+        int invocations = 1000;
+        try (var executor = new ScriptExecutor(engine, 4, invocations, Duration.ofSeconds(5))) {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int i = 0; i < invocations; i++) {
+                results.add(executor.submit("n% * 2 + 1", Map.of("n", i)));
+            }
+            for (int i = 0; i < invocations; i++) {
+                Assertions.assertEquals(2L * i + 1, results.get(i).get());
+            }
+        }
+    }
+
+    @Test
+    public void ReportsLoad() throws Exception
+    {
+        try (var executor = new ScriptExecutor(engine, 2, 100, Duration.ofSeconds(5))) {
+            var report = LoadGenerator.run(executor, "n% + 1", i -> Map.of("n", i), 500, 50);
+            Assertions.assertEquals(500, report.invocations());
+            Assertions.assertEquals(0, report.failed() + report.rejected());
+            Assertions.assertEquals(500, report.sortedLatencyNanos().length);
+            Assertions.assertTrue(report.percentile(50).compareTo(report.percentile(99)) <= 0);
+        }
+    }
+
+    @Test
+    public void ReportsTheLatencyOfFailedInvocations() throws Exception
+    {
+        try (var executor = new ScriptExecutor(engine, 2, 100, Duration.ofSeconds(5))) {
+            var report = LoadGenerator.run(executor, "-n%", i -> Map.of("n", i % 2 == 0 ? i : "a"), 100, 10);
+            Assertions.assertEquals(50, report.failed());
+            Assertions.assertEquals(100, report.completed());
+            Assertions.assertTrue(report.throughput() > 0);
+        }
+    }
+}
\ No newline at end of file
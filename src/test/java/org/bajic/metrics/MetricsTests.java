@@ -0,0 +1,109 @@
+package org.bajic.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.bajic.BajicLanguage;
+import org.bajic.compiler.ScriptCache;
+import org.bajic.runtime.BajicContext;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MetricsTests
+{
+    @Test
+    public void PublishesMetricsOverJmx() throws Exception
+    {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try (var context = Context.newBuilder(BajicLanguage.ID)
+            .option("engine.WarnInterpreterOnly", "false")
+            .option("bajic.Metrics", "true")
+            .build()) {
+            var source = Source.create(BajicLanguage.ID, "f := (x) => x * 2 : f(1) + f(2) + f(3)");
+            for (int i = 0; i < 5; i++) {
+                Assertions.assertEquals(12, context.eval(source).asLong());
+            }
+
+            Set<ObjectName> names = server.queryNames(new ObjectName("org.bajic:type=Metrics,*"), null);
+            Assertions.assertEquals(1, names.size());
+            ObjectName name = names.iterator().next();
+            Assertions.assertEquals(1L, server.getAttribute(name, "ScriptCacheMisses"));
+
+            var scripts = (CompositeData[])server.getAttribute(name, "Scripts");
+            Assertions.assertEquals(1, scripts.length);
+            Assertions.assertEquals(1L, scripts[0].get("compilations"));
+            Assertions.assertTrue((Long)scripts[0].get("parseNanos") > 0);
+
+            var callTargets = (CompositeData[])server.getAttribute(name, "CallTargets");
+            Assertions.assertEquals(2, callTargets.length);
+            Assertions.assertEquals("lambda:1:10", callTargets[0].get("name"));
+            Assertions.assertEquals(15L, callTargets[0].get("invocations"));
+            Assertions.assertEquals(5L, callTargets[1].get("invocations"));
+            Assertions.assertEquals(64, ((long[])callTargets[0].get("latencyHistogram")).length);
+
+            server.invoke(name, "reset", null, null);
+            callTargets = (CompositeData[])server.getAttribute(name, "CallTargets");
+            Assertions.assertEquals(0L, callTargets[0].get("invocations"));
+        }
+        Assertions.assertTrue(server.queryNames(new ObjectName("org.bajic:type=Metrics,*"), null).isEmpty());
+    }
+
+    @Test
+    public void AddsUpTheCallTargetsOfRecompiledScripts()
+    {
+        try (var context = Context.newBuilder(BajicLanguage.ID)
+            .option("engine.WarnInterpreterOnly", "false")
+            .option("bajic.Metrics", "true")
+            .option("bajic.ScriptCacheSize", "0")
+            .build()) {
+            var source = Source.create(BajicLanguage.ID, "f := (x) => x * 2 : f(1) + f(2) + f(3)");
+            for (int i = 0; i < 5; i++) {
+                Assertions.assertEquals(12, context.eval(source).asLong());
+            }
+            context.enter();
+            try {
+                var callTargets = BajicContext.get(null).getLanguage().getMetrics().getCallTargets();
+                Assertions.assertEquals(2, callTargets.size());
+                Assertions.assertEquals(15L, callTargets.get(0).getInvocations());
+                Assertions.assertEquals(5L, callTargets.get(1).getInvocations());
+            } finally {
+                context.leave();
+            }
+        }
+    }
+
+    @Test
+    public void ForgetsTheCallTargetsCompiledLeastRecently()
+    {
+        var metrics = new BajicMetrics(new ScriptCache(0));
+        var first = metrics.callTarget("main", "first");
+        for (int i = 0; i < 2 * BajicMetrics.MAX_CALL_TARGETS; i++) {
+            Assertions.assertSame(first, metrics.callTarget("main", "first"));
+            metrics.callTarget("main", "script" + i);
+        }
+        Assertions.assertEquals(BajicMetrics.MAX_CALL_TARGETS, metrics.getCallTargets().size());
+        Assertions.assertTrue(metrics.getCallTargets().contains(first));
+    }
+
+    @Test
+    public void BoundsPercentilesByPowersOfTwo()
+    {
+        var histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.percentileNanos(50));
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+        Assertions.assertEquals(100, histogram.count());
+        Assertions.assertEquals(128, histogram.percentileNanos(50));
+        Assertions.assertEquals(128, histogram.percentileNanos(99));
+        Assertions.assertEquals(8192, histogram.percentileNanos(100));
+        Assertions.assertEquals(99 * 100 + 5000, histogram.totalNanos());
+    }
+}
\ No newline at end of file
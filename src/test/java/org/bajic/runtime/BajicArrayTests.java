@@ -0,0 +1,109 @@
+package org.bajic.runtime;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BajicArrayTests
+{
+    @Test
+    public void PicksTheMostSpecificStore()
+    {
+        Assertions.assertTrue(BajicArray.of(new Object[] { 1L, 2L }, false).isLongStore());
+        Assertions.assertTrue(BajicArray.of(new Object[] { 1L, 2.5 }, false).isDoubleStore());
+        Assertions.assertTrue(BajicArray.of(new Object[] { 1L, "a" }, false).isObjectStore());
+        Assertions.assertTrue(BajicArray.of(new Object[0], true).isLongStore());
+    }
+
+    @Test
+    public void GeneralizesOnFirstIncompatibleWrite()
+    {
+        var array = BajicArray.of(new Object[] { 1L, 2L }, false);
+        array.set(1, 3L);
+        Assertions.assertTrue(array.isLongStore());
+
+        array.set(0, 0.5);
+        Assertions.assertTrue(array.isDoubleStore());
+        Assertions.assertEquals(0.5, array.getDouble(0));
+        Assertions.assertEquals(3.0, array.getDouble(1));
+
+        array.set(2, BajicNull.INSTANCE);
+        Assertions.assertTrue(array.isObjectStore());
+        Assertions.assertEquals(3, array.length());
+        Assertions.assertEquals("[0.5, 3, Nothing]", array.toString());
+
+        array.set(0, 1L);
+        Assertions.assertTrue(array.isObjectStore());
+    }
+
+    @Test
+    public void AppendsPastTheLastElement()
+    {
+        var collection = BajicArray.of(new Object[0], true);
+        for (long i = 0; i < 100; i++) {
+            Assertions.assertTrue(collection.canWrite(i));
+            Assertions.assertFalse(collection.canWrite(i + 1));
+            collection.setLong((int)i, i);
+        }
+        Assertions.assertEquals(100, collection.length());
+        Assertions.assertEquals(99L, collection.getLong(99));
+        Assertions.assertFalse(collection.inBounds(100));
+        Assertions.assertTrue(collection.contains(42L));
+        Assertions.assertTrue(collection.contains(42.0));
+        Assertions.assertFalse(collection.contains("42"));
+    }
+
+    @Test
+    public void KeepsTheWritesOfEveryThread() throws Exception
+    {
+        int threads = 8;
+        int perThread = 2_000;
+        for (int round = 0; round < 20; round++) {
+            var array = BajicArray.of(new Object[] { 0L }, false);
+            var tasks = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                tasks.add(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        int index = thread + i * threads;
+                        synchronized (array) {
+                            while (array.length() <= index) {
+                                array.setLong(array.length(), -1L);
+                            }
+                        }
+                        if (thread == 0 && i == perThread / 2) {
+                            array.set(index, 0.5);
+                        } else if (thread == 1 && i == perThread / 2) {
+                            array.set(index, "a");
+                        } else {
+                            array.setLong(index, index);
+                        }
+                        try {
+                            array.getLong(index);
+                        } catch (BajicArray.StoreChangedException e) {
+                            array.get(index);
+                        }
+                    }
+                    return null;
+                });
+            }
+            try (var executor = Executors.newFixedThreadPool(threads)) {
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            }
+            Assertions.assertTrue(array.isObjectStore());
+            Assertions.assertEquals(threads * perThread, array.length());
+            for (int index = 0; index < array.length(); index++) {
+                Object element = array.get(index);
+                Assertions.assertTrue(element.equals((long)index) || element.equals((double)index)
+                        || element.equals(0.5) || element.equals("a"),
+                        "Lost write at " + index + ": " + element);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package org.bajic.runtime;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BajicRopeTests
+{
+    @Test
+    public void CopiesShortConcatenations()
+    {
+        Assertions.assertEquals("ab", BajicRope.concat("a", "b"));
+        Assertions.assertEquals("a", BajicRope.concat("a", ""));
+        Assertions.assertTrue(BajicRope.concat("a".repeat(200), "b".repeat(100)) instanceof BajicRope);
+    }
+
+    @Test
+    public void FlattensDeepRopesOnce()
+    {
+        Object text = "";
+        var expected = new StringBuilder();
+        for (int i = 0; i < 1_000_000; i++) {
+            String piece = Integer.toString(i % 10);
+            text = BajicRope.concat(text, piece);
+            expected.append(piece);
+        }
+        var rope = (BajicRope)text;
+        Assertions.assertEquals(expected.length(), rope.length());
+        Assertions.assertEquals(expected.toString(), rope.toString());
+        Assertions.assertSame(rope.toString(), rope.toString());
+
+        Object extended = BajicRope.concat("<", BajicRope.concat(rope, ">"));
+        Assertions.assertEquals("<" + expected + ">", extended.toString());
+    }
+
+    @Test
+    public void FlattensSharedRopesConcurrently() throws Exception
+    {
+        Object inner = "";
+        for (int i = 0; i < 10_000; i++) {
+            inner = BajicRope.concat(inner, "x".repeat(30));
+        }
+        var shared = inner;
+        var outers = new ArrayList<Callable<String>>();
+        for (int i = 0; i < 8; i++) {
+            Object outer = BajicRope.concat(BajicRope.concat("<", shared), Integer.toString(i).repeat(300));
+            boolean flattensShared = i % 2 == 0;
+            outers.add(() -> {
+                if (flattensShared) {
+                    shared.toString();
+                }
+                return outer.toString();
+            });
+        }
+        var pool = Executors.newFixedThreadPool(8);
+        try {
+            var results = pool.invokeAll(outers);
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertEquals("<" + "x".repeat(300_000) + Integer.toString(i).repeat(300), results.get(i).get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        Assertions.assertEquals("x".repeat(300_000), shared.toString());
+    }
+}
\ No newline at end of file
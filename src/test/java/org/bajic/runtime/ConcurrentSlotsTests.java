@@ -0,0 +1,57 @@
+package org.bajic.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentSlotsTests
+{
+    @Test
+    public void ReadsWhatWasWritten()
+    {
+        var slots = new ConcurrentSlots();
+        Assertions.assertNull(slots.get(0));
+        Assertions.assertNull(slots.get(1_000_000));
+
+        slots.set(3, "a");
+        slots.set(ConcurrentSlots.PAGE_SIZE * 10 + 1, "b");
+        slots.set(3, "c");
+
+        Assertions.assertEquals("c", slots.get(3));
+        Assertions.assertEquals("b", slots.get(ConcurrentSlots.PAGE_SIZE * 10 + 1));
+        Assertions.assertNull(slots.get(ConcurrentSlots.PAGE_SIZE * 10));
+    }
+
+    @Test
+    public void LosesNoWriteWhileGrowing() throws Exception
+    {
+        int threads = 8;
+        int count = ConcurrentSlots.PAGE_SIZE * 64;
+        var slots = new ConcurrentSlots();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = thread; i < count; i += threads) {
+                        slots.set(i, i);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals(i, slots.get(i));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package org.bajic.runtime;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bajic.BajicLanguage;
+import org.bajic.embedding.ScriptExecutor;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ForeignElementsTests
+{
+    private Context context;
+    private double[] prices;
+    private long[] ids;
+    private byte[] bytes;
+    private List<Object> items;
+
+    @BeforeEach
+    public void bindHostData()
+    {
+        context = Context.newBuilder(BajicLanguage.ID)
+            .option("engine.WarnInterpreterOnly", "false")
+            .allowPolyglotAccess(PolyglotAccess.newBuilder().allowBindingsAccess(BajicLanguage.ID).build())
+            .allowHostAccess(ScriptExecutor.HOST_ACCESS)
+            .build();
+        prices = new double[] { 1.5, 2.5 };
+        ids = new long[] { 1, 2 };
+        bytes = new byte[] { 1, -2, 3 };
+        items = new ArrayList<>(List.of(1, "a"));
+        var bindings = context.getPolyglotBindings();
+        bindings.putMember(BajicContext.bindingKey("Prices"), prices);
+        bindings.putMember(BajicContext.bindingKey("Ids"), ids);
+        bindings.putMember(BajicContext.bindingKey("Bytes"), ByteBuffer.wrap(bytes));
+        bindings.putMember(BajicContext.bindingKey("Items"), items);
+    }
+
+    @AfterEach
+    public void closeContext()
+    {
+        context.close();
+    }
+
+    private String eval(String script)
+    {
+        try
+        {
+            return context.eval(BajicLanguage.ID, script).toString();
+        }
+        catch (PolyglotException e)
+        {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    @Test
+    public void ReadsHostDataInPlace()
+    {
+        Assertions.assertEquals("3.5", eval("Prices%[1] + Ids%[0]"));
+        Assertions.assertEquals("257", eval("Bytes%[1] + Len(Bytes%)"));
+        Assertions.assertEquals("a1", eval("Items%[1] & Items%[0]"));
+        Assertions.assertEquals("4.0", eval("Sum(Prices%)"));
+        Assertions.assertEquals("3", eval("Sum(Ids%)"));
+        Assertions.assertEquals("true", eval("(2.5 In Prices%) AndAlso (\"a\" In Items%) AndAlso Not (5 In Ids%)"));
+        Assertions.assertEquals("[1.5, 2.5] [1, a] [1, 254, 3]", eval("Prices% & \" \" & Items% & \" \" & Bytes%"));
+    }
+
+    @Test
+    public void WritesHostDataInPlace()
+    {
+        eval("Prices%[0] := 4 : Ids%[1] := 7 : Bytes%[0] := 255 : Items%[2] := 3.5 : Items%[0] := \"b\"");
+        Assertions.assertEquals(4.0, prices[0]);
+        Assertions.assertEquals(7L, ids[1]);
+        Assertions.assertEquals((byte)-1, bytes[0]);
+        Assertions.assertEquals("255", eval("Bytes%[0]"));
+        Assertions.assertEquals(List.of("b", "a", 3.5), items);
+    }
+
+    @Test
+    public void ReportsInvalidAccesses()
+    {
+        Assertions.assertEquals("error: Index 2 is out of bounds for Array of length 2", eval("Prices%[2]"));
+        Assertions.assertEquals("error: Index 3 is out of bounds for Buffer of length 3", eval("Bytes%[3] := 1"));
+        Assertions.assertEquals("error: Type error: [] := is not defined for Array [1.5, 2.5] and String x", eval("Prices%[0] := \"x\""));
+        Assertions.assertEquals("error: Type error: [] := is not defined for Buffer [1, 254, 3] and Integer 256", eval("Bytes%[0] := 256"));
+        Assertions.assertEquals("error: Type error: [] := is not defined for Buffer [1, 254, 3] and Integer -1", eval("Bytes%[0] := -1"));
+        Assertions.assertEquals("error: Type error: Sum is not defined for Array [1, a]", eval("Sum(Items%)"));
+    }
+
+    @Test
+    public void ReturnsHostDataAsItIs()
+    {
+        Assertions.assertSame(prices, ScriptExecutor.toHost(context.eval(BajicLanguage.ID, "Prices%")));
+        Assertions.assertSame(items, ScriptExecutor.toHost(context.eval(BajicLanguage.ID, "x := Items% : x")));
+    }
+}
\ No newline at end of file